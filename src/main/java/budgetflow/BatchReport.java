@@ -0,0 +1,75 @@
+package budgetflow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts what a batch run of commands did, and keeps the error of every line that failed
+ */
+public class BatchReport {
+    private int commandCount;
+    private int commitCount;
+    private long elapsedNanos;
+    private final List<String> errors = new ArrayList<>();
+
+    void recordSuccess() {
+        commandCount++;
+    }
+
+    void recordError(int lineNumber, String message) {
+        commandCount++;
+        errors.add("Line " + lineNumber + ": " + message);
+    }
+
+    void recordCommit() {
+        commitCount++;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Get the number of commands run per second, including the time taken to persist their changes
+     */
+    public long getCommandsPerSecond() {
+        if (elapsedNanos <= 0) {
+            return commandCount;
+        }
+        return commandCount * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Get the errors of the failed lines, in the order the lines were run
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Batch finished: ").append(commandCount).append(" commands, ")
+                .append(commandCount - errors.size()).append(" succeeded, ")
+                .append(errors.size()).append(" failed").append(System.lineSeparator());
+        sb.append(String.format("Time: %.3f s (%d commands/s), %d commits",
+                elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1), getCommandsPerSecond(), commitCount));
+        for (String error : errors) {
+            sb.append(System.lineSeparator()).append(error);
+        }
+        return sb.toString();
+    }
+}
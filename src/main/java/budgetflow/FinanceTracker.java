@@ -3,34 +3,55 @@ package budgetflow;
 import budgetflow.command.Command;
 import budgetflow.command.CommandType;
 import budgetflow.exception.FinanceException;
+import budgetflow.exception.PersistenceException;
 import budgetflow.command.ListIncomeCommand;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
 import budgetflow.parser.Parser;
+import budgetflow.storage.JournalRecord;
+import budgetflow.storage.PersistenceWriter;
 import budgetflow.storage.SavingGoalManager;
 import budgetflow.storage.Storage;
 import budgetflow.ui.Ui;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class FinanceTracker {
+    private static final String BATCH_COMMENT_PREFIX = "#";
+
     private final List<Income> incomes;
     private final ExpenseList expenseList;
     private final Storage storage;
     private final SavingGoalManager savingGoalManager; // Add SavingGoalManager instance
+    private final PersistenceWriter persistenceWriter;
     private final Ui ui;
 
     public FinanceTracker() {
-        this.incomes = new ArrayList<>();
+        this(new Storage(), new Ui());
+    }
+
+    /**
+     * Creates a finance tracker that persists to the given storage and prints through the given user interface
+     */
+    FinanceTracker(Storage storage, Ui ui) {
+        this.incomes = new IncomeList();
         this.expenseList = new ExpenseList();
-        this.storage = new Storage();
+        this.storage = storage;
         this.savingGoalManager = new SavingGoalManager(); // Initialize SavingGoalManager
-        this.ui = new Ui();
+        this.ui = ui;
         if (!Boolean.getBoolean("skipPersistentLoad")) {
             this.storage.loadData(incomes, this.expenseList);
             this.savingGoalManager.loadSavingGoal(); // Load saving goal
         }
+        this.persistenceWriter = new PersistenceWriter(storage, savingGoalManager, incomes, expenseList);
+        if (storage.isSegmented()) {
+            // Months older than the resident ones are loaded when a command first needs them
+            this.expenseList.setMonthLoader(persistenceWriter);
+        }
     }
 
     /**
@@ -38,27 +59,117 @@ public class FinanceTracker {
      */
     public void run() {
         ui.showWelcome();
-        while (true) {
-            try {
-                String input = ui.readCommand();
-                Command c = Parser.getCommandFromInput(input);
-                c.execute(incomes, expenseList);
-                savingGoalManager.saveSavingGoal(ListIncomeCommand.getSavingGoal()); // Save saving goal
-                // Save data and saving goal for specific commands
-                if (c.isExit()) {
-                    ui.printCommandMessage(c.getOutputMessage());
-                    break;
+        try {
+            while (true) {
+                try {
+                    String input = ui.readCommand();
+                    Command c = Parser.getCommandFromInput(input);
+                    synchronized (persistenceWriter.getDataLock()) {
+                        c.execute(incomes, expenseList);
+                    }
+                    if (c.isExit()) {
+                        closeStorage();
+                        ui.printCommandMessage(c.getOutputMessage());
+                        break;
+                    }
+                    if (c.getCommandType() == CommandType.CREATE || c.getCommandType() == CommandType.DELETE) {
+                        ui.printCommandMessage("Saving goal retrieved: " + ListIncomeCommand.getSavingGoal());
+                    }
+                    ui.printCommandOutput(c);
+                    // Data and saving goal changes are persisted by the writer thread
+                    persistenceWriter.submit(c.getJournalRecords());
+                } catch (FinanceException e) {
+                    ui.printError(e.getMessage());
                 }
-                if (c.getCommandType() == CommandType.CREATE || c.getCommandType() == CommandType.DELETE) {
-                    storage.saveData(incomes, expenseList);
-
-                    System.out.println("Saving goal retrieved: " + ListIncomeCommand.getSavingGoal());
+            }
+        } finally {
+            // Output is otherwise only flushed when the next command is prompted for
+            ui.flush();
+        }
+    }
 
+    /**
+     * Run every command of a script without prompting, as if each line had been entered in turn.
+     * Blank lines and lines starting with # are skipped, and the script ends at its last line or at exit.
+     * <p>
+     * The changes made by the commands are held back and persisted together, once every
+     * {@code commitInterval} commands and once more at the end, instead of after every command.
+     * A line that fails does not stop the script, and its error is listed in the summary printed at the end.
+     * Command output is buffered throughout and only flushed once the script has finished.
+     *
+     * @param script the commands to run, one per line
+     * @param commitInterval number of commands run between commits, or 0 to commit only at the end
+     * @return what the batch did
+     * @throws IOException if the script cannot be read
+     */
+    public BatchReport runBatch(BufferedReader script, int commitInterval) throws IOException {
+        assert commitInterval >= 0 : "Commit interval cannot be negative";
+        BatchReport report = new BatchReport();
+        List<JournalRecord> pendingRecords = new ArrayList<>();
+        long start = System.nanoTime();
+        int lineNumber = 0;
+        int commandsSinceCommit = 0;
+        try {
+            String line;
+            while ((line = script.readLine()) != null) {
+                lineNumber++;
+                String input = line.trim();
+                if (input.isEmpty() || input.startsWith(BATCH_COMMENT_PREFIX)) {
+                    continue;
+                }
+                try {
+                    Command c = Parser.getCommandFromInput(input);
+                    if (c.getCommandType() == CommandType.EXIT) {
+                        break;
+                    }
+                    synchronized (persistenceWriter.getDataLock()) {
+                        c.execute(incomes, expenseList);
+                    }
+                    pendingRecords.addAll(c.getJournalRecords());
+                    ui.printCommandOutput(c);
+                    report.recordSuccess();
+                } catch (FinanceException e) {
+                    report.recordError(lineNumber, e.getMessage());
+                }
+                commandsSinceCommit++;
+                if (commitInterval > 0 && commandsSinceCommit >= commitInterval) {
+                    commit(pendingRecords, report);
+                    commandsSinceCommit = 0;
                 }
-                ui.printCommandMessage(c.getOutputMessage());
-            } catch (FinanceException e) {
-                ui.printError(e.getMessage());
             }
+        } finally {
+            commit(pendingRecords, report);
+            closeStorage();
+            report.setElapsedNanos(System.nanoTime() - start);
+            ui.flush();
+        }
+        ui.printCommandMessage(report.toString());
+        ui.flush();
+        return report;
+    }
+
+    private void commit(List<JournalRecord> pendingRecords, BatchReport report) {
+        if (pendingRecords.isEmpty()) {
+            return;
+        }
+        try {
+            persistenceWriter.submit(pendingRecords);
+        } catch (PersistenceException e) {
+            ui.printError(e.getMessage());
+        }
+        pendingRecords.clear();
+        report.recordCommit();
+    }
+
+    /**
+     * Persists everything still queued and releases the storage files
+     */
+    private void closeStorage() {
+        try {
+            persistenceWriter.close();
+        } catch (PersistenceException e) {
+            ui.printError(e.getMessage());
         }
+        storage.close();
     }
 }
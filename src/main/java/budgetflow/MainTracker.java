@@ -1,14 +1,99 @@
 package budgetflow;
+import budgetflow.ui.Ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class MainTracker {
+    private static final String OPTION_SCRIPT = "--script";
+    private static final String OPTION_BATCH = "--batch";
+    private static final String OPTION_COMMIT_EVERY = "--commit-every";
+    static final String USAGE = "Usage: MainTracker [--script FILE | --batch] [--commit-every N]";
+
+    /**
+     * The options of a batch run, read from the command line arguments
+     */
+    static final class BatchOptions {
+        private String scriptFile;
+        private boolean isStandardInput;
+        private int commitInterval;
+
+        /**
+         * Reads the batch options from the command line arguments
+         *
+         * @param args the command line arguments
+         * @return the options
+         * @throws IllegalArgumentException if an option is unknown or has no valid value, if there is not exactly
+         *     one script source, or if the commit interval is negative
+         */
+        static BatchOptions parse(String[] args) {
+            BatchOptions options = new BatchOptions();
+            try {
+                for (int i = 0; i < args.length; i++) {
+                    switch (args[i]) {
+                    case OPTION_SCRIPT -> options.scriptFile = args[++i];
+                    case OPTION_BATCH -> options.isStandardInput = true;
+                    case OPTION_COMMIT_EVERY -> options.commitInterval = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException(USAGE);
+                    }
+                }
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            boolean hasOneSource = (options.scriptFile != null) != options.isStandardInput;
+            if (!hasOneSource || options.commitInterval < 0) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            return options;
+        }
+
+        /** Get the script file to run, or null if the script is read from standard input */
+        String getScriptFile() {
+            return scriptFile;
+        }
+
+        int getCommitInterval() {
+            return commitInterval;
+        }
+    }
+
     public static void main(String[] args) {
         Logger rootLogger = Logger.getLogger("");
         rootLogger.setLevel(Level.WARNING);
         Logger parserLogger = Logger.getLogger("budgetflow.parser.Parser");
         parserLogger.setLevel(Level.WARNING);
-        FinanceTracker financeTracker = new FinanceTracker();
-        financeTracker.run();
+        if (args.length == 0) {
+            FinanceTracker financeTracker = new FinanceTracker();
+            financeTracker.run();
+            return;
+        }
+        runBatch(args);
+        Ui.flushConsole();
+    }
+
+    /**
+     * Runs the commands of a script file, or of standard input with --batch, without prompting
+     */
+    private static void runBatch(String[] args) {
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            Ui.printStatus(e.getMessage());
+            return;
+        }
+
+        try (BufferedReader script = options.getScriptFile() != null
+                ? Files.newBufferedReader(Paths.get(options.getScriptFile()))
+                : new BufferedReader(new InputStreamReader(System.in))) {
+            new FinanceTracker().runBatch(script, options.getCommitInterval());
+        } catch (IOException e) {
+            Ui.printStatus("Error reading script: " + e.getMessage());
+        }
     }
 }
@@ -7,8 +7,15 @@ import budgetflow.exception.MissingCategoryException;
 import budgetflow.exception.MissingIncomeException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.money.Money;
+import budgetflow.storage.JournalRecord;
 import java.util.List;
+import java.util.regex.Matcher;
 import java.util.logging.Logger;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.ArgumentTokenizer;
+import budgetflow.parser.ArgumentTokenizer.Field;
+import budgetflow.parser.CommandArguments;
 import budgetflow.parser.DateValidator;
 
 //@@author thienkimtranhoang
@@ -46,9 +53,11 @@ public class AddIncomeCommand extends Command {
             InvalidNumberFormatException, MissingAmountException, MissingCategoryException,
             MissingIncomeException {
         Income income = extractIncome(input);
+        expenseList.loadMonthOf(income.getDate());
         incomes.add(income);
+        journalRecords.add(JournalRecord.addIncome(income));
         this.outputMessage = "Income added: " + income.getCategory() + ", Amount: $" +
-                String.format("%.2f", income.getAmount()) + ", Date: " + income.getDate();
+                Money.format(income.getCents()) + ", Date: " + income.getDate();
         logger.info("Income added successfully: " + income);
     }
 
@@ -57,45 +66,14 @@ public class AddIncomeCommand extends Command {
             MissingCategoryException, MissingAmountException,
             MissingDateException, MissingIncomeException {
         assert input.startsWith(ADD_COMMAND_PREFIX) : "Invalid add income format";
-        input = input.substring(ADD_COMMAND_PREFIX_LENGTH).trim();
-        if (input.isEmpty()) {
+        if (input.substring(ADD_COMMAND_PREFIX_LENGTH).isBlank()) {
             throw new MissingIncomeException("Income should not be empty");
         }
 
-        String category = null;
-        Double amount = null;
-        String date = null;
-
-        String categoryPattern = "category/(.*?) (amt/|d/|$)";
-        String amtPattern = "amt/([0-9]+(\\.[0-9]*)?)";
-        String datePattern = "d/(\\d{2}-\\d{2}-\\d{4})";
-
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(categoryPattern);
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            category = matcher.group(1).trim();
-        }
-        pattern = java.util.regex.Pattern.compile(amtPattern);
-        matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            try {
-                amount = Double.parseDouble(matcher.group(1));
-            } catch (NumberFormatException e) {
-                logger.warning("Invalid amount format: " + input);
-                throw new InvalidNumberFormatException();
-            }
-        }
-        pattern = java.util.regex.Pattern.compile(datePattern);
-        matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            date = matcher.group(1).trim();
-            if (!DateValidator.isValidDate(date)) {
-                logger.warning("Invalid date input: " + date);
-                throw new MissingDateException(ERROR_INVALID_DATE);
-            }
-        } else {
-            verifyMissingOrIncorrect(input);
-        }
+        CommandArguments arguments = ArgumentTokenizer.tokenize(input, ADD_COMMAND_PREFIX_LENGTH);
+        String category = arguments.get(Field.CATEGORY);
+        Double amount = parseAmount(arguments);
+        String date = parseDate(arguments);
 
         if (category == null || category.isEmpty()) {
             logger.warning("Invalid income input: " + input);
@@ -108,17 +86,46 @@ public class AddIncomeCommand extends Command {
         return new Income(category, amount, date);
     }
 
-    private static void verifyMissingOrIncorrect(String input) throws MissingDateException {
-        String invalidDatePattern = "d/(\\S+)";
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(invalidDatePattern);
-        java.util.regex.Matcher matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            String invalidDate = matcher.group(1).trim();
-            logger.warning("Invalid date input: " + invalidDate);
-            throw new MissingDateException(ERROR_INCORRECT_INCOME_DATE);
-        } else {
+    /**
+     * Parses the amount of the income
+     *
+     * @return the amount, or null if it is missing or does not start with a valid amount
+     */
+    private static Double parseAmount(CommandArguments arguments) throws InvalidNumberFormatException {
+        String amount = arguments.get(Field.AMOUNT);
+        if (amount == null) {
+            return null;
+        }
+        // As before the tokenizer, the amount is the number the value starts with, so amt/12abc is 12
+        Matcher matcher = ArgumentPatterns.AMOUNT_VALUE.matcher(amount);
+        if (!matcher.lookingAt()) {
+            logger.warning("Invalid amount input at column " + arguments.columnOf(Field.AMOUNT) + ": " + amount);
+            return null;
+        }
+        try {
+            return Double.parseDouble(matcher.group());
+        } catch (NumberFormatException e) {
+            logger.warning("Invalid amount format: " + amount);
+            throw new InvalidNumberFormatException();
+        }
+    }
+
+    private static String parseDate(CommandArguments arguments) throws MissingDateException {
+        String date = arguments.get(Field.DATE);
+        if (date == null || date.isEmpty()) {
             logger.warning("Missing date input");
             throw new MissingDateException(ERROR_MISSING_INCOME_DATE);
         }
+        Matcher matcher = ArgumentPatterns.DATE_VALUE.matcher(date);
+        if (!matcher.lookingAt()) {
+            logger.warning("Invalid date input at column " + arguments.columnOf(Field.DATE) + ": " + date);
+            throw new MissingDateException(ERROR_INCORRECT_INCOME_DATE);
+        }
+        date = matcher.group();
+        if (!DateValidator.isValidDate(date)) {
+            logger.warning("Invalid date input at column " + arguments.columnOf(Field.DATE) + ": " + date);
+            throw new MissingDateException(ERROR_INVALID_DATE);
+        }
+        return date;
     }
 }
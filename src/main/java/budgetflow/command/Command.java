@@ -3,7 +3,11 @@ package budgetflow.command;
 import budgetflow.exception.FinanceException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.storage.JournalRecord;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Command {
@@ -11,6 +15,7 @@ public abstract class Command {
     protected String input;
     protected String outputMessage;
     protected boolean isExit = false;
+    protected final List<JournalRecord> journalRecords = new ArrayList<>();
 
     public Command() {}
 
@@ -29,7 +34,42 @@ public abstract class Command {
         return outputMessage;
     }
 
+    /**
+     * Writes the output of the last execution of this command. Commands that list many rows override this to
+     * write each row straight to the output instead of building the whole message first.
+     *
+     * @param out where to write the output
+     * @throws IOException if the output cannot be written
+     */
+    public void writeOutput(Appendable out) throws IOException {
+        out.append(getOutputMessage());
+    }
+
+    /**
+     * Collects what {@link #writeOutput} writes into a string, for commands that stream their output
+     *
+     * @return the output of the last execution
+     */
+    protected String renderOutput() {
+        StringBuilder output = new StringBuilder();
+        try {
+            writeOutput(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
     public CommandType getCommandType() {
         return commandType;
     }
+
+    /**
+     * Returns the mutations made by the last execution of this command, for the storage to persist
+     *
+     * @return the journal records in the order they were applied
+     */
+    public List<JournalRecord> getJournalRecords() {
+        return journalRecords;
+    }
 }
@@ -2,32 +2,37 @@ package budgetflow.command;
 
 import budgetflow.exception.FinanceException;
 import budgetflow.exception.MissingExpenseException;
-import budgetflow.expense.Expense;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
 import budgetflow.parser.DateValidator;
 
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 /**
- * Represents a command to compare expenses between two months.
- * It calculates and displays the total expenses for each month.
+ * Represents a command to compare expenses between months.
+ * It displays the total expenses for each of two or more given months, or for every month of a given year
+ * followed by the total for the year. Monthly totals are kept up to date by the expense list, so each month
+ * costs a single lookup.
  */
 public class CompareExpenseCommand extends Command {
     private static final String ERROR_INVALID_MONTH_FORMAT = "Invalid input format. Usage: compare MM-YYYY MM-YYYY";
 
     private static final int EMPTY_EXPENSE_LIST = 0;
     private static final int KEYWORD_POSITION = 0;
-    private static final int MONTH_FIRST_DAY = 0;
-
     private static final int FIRST_MONTH_POSITION = 1;
-    private static final int MONTH_LAST_DAY = 1;
-
-    private static final int SECOND_MONTH_POSITION = 2;
+    private static final int YEAR_POSITION = 1;
 
+    private static final int PARTS_FOR_YEAR = 2;
     private static final int MINIMUM_PARTS_FOR_COMPARE = 3;
+    private static final Pattern YEAR_PATTERN = ArgumentPatterns.YEAR_VALUE;
     private static final String ERROR_NO_EXPENSE_IN_RANGE = "No expenses in range";
     private static final Logger logger = Logger.getLogger(CompareExpenseCommand.class.getName());
 
@@ -43,7 +48,7 @@ public class CompareExpenseCommand extends Command {
     }
 
     /**
-     * Executes the compare command by calculating the total expenses for two specified months
+     * Executes the compare command by looking up the total expenses for each specified month
      * and logging the results.
      *
      * @param incomes      List of user incomes (not used in this command).
@@ -61,14 +66,17 @@ public class CompareExpenseCommand extends Command {
         }
 
         String[] parts = parseAndValidateInput(input);
-        LocalDate[] range1 = getValidatedDateRange(parts[FIRST_MONTH_POSITION]);
-        LocalDate[] range2 = getValidatedDateRange(parts[SECOND_MONTH_POSITION]);
-
-        double totalMonth1 = calculateTotalExpenses(expenseList, range1[MONTH_FIRST_DAY], range1[MONTH_LAST_DAY]);
-        double totalMonth2 = calculateTotalExpenses(expenseList, range2[MONTH_FIRST_DAY], range2[MONTH_LAST_DAY]);
-
-        this.outputMessage = getCompareMessage(parts[FIRST_MONTH_POSITION], totalMonth1,
-                parts[SECOND_MONTH_POSITION], totalMonth2);
+        if (parts.length == PARTS_FOR_YEAR) {
+            this.outputMessage = getYearMessage(expenseList, parts[YEAR_POSITION]);
+        } else {
+            StringBuilder message = new StringBuilder();
+            for (int i = FIRST_MONTH_POSITION; i < parts.length; i++) {
+                YearMonth month = getValidatedMonth(parts[i]);
+                expenseList.loadMonths(month.atDay(1), month.atEndOfMonth());
+                appendTotal(message, parts[i], expenseList.getMonthTotalCents(month));
+            }
+            this.outputMessage = message.toString();
+        }
         logger.info("Expense totals calculated: " + this.outputMessage);
     }
 
@@ -80,61 +88,60 @@ public class CompareExpenseCommand extends Command {
      * @throws FinanceException If the input format is invalid.
      */
     private String[] parseAndValidateInput(String input) throws FinanceException {
-        String[] parts = input.split("\\s+");
-        if (parts.length < MINIMUM_PARTS_FOR_COMPARE || !parts[KEYWORD_POSITION].equalsIgnoreCase("compare")) {
+        String[] parts = ArgumentPatterns.WHITESPACE.split(input.trim());
+        boolean isYear = parts.length == PARTS_FOR_YEAR && YEAR_PATTERN.matcher(parts[YEAR_POSITION]).matches()
+                && Integer.parseInt(parts[YEAR_POSITION]) > 0;
+        if ((parts.length < MINIMUM_PARTS_FOR_COMPARE && !isYear)
+                || !parts[KEYWORD_POSITION].equalsIgnoreCase("compare")) {
             throw new FinanceException(ERROR_INVALID_MONTH_FORMAT);
         }
         return parts;
     }
 
     /**
-     * Retrieves and validates the date range for a given month-year string.
+     * Retrieves and validates the month for a given month-year string.
      *
      * @param monthYear The month and year in the format MM-YYYY.
-     * @return An array containing the start and end dates for the specified month.
+     * @return The specified month.
      * @throws FinanceException If the date format is invalid.
      */
-    private LocalDate[] getValidatedDateRange(String monthYear) throws FinanceException {
+    private YearMonth getValidatedMonth(String monthYear) throws FinanceException {
         if (!DateValidator.isValidMonthYear(monthYear)) {
             throw new FinanceException(ERROR_INVALID_MONTH_FORMAT);
         }
-        return DateValidator.getMonthRange(monthYear);
+        return YearMonth.from(DateValidator.parseMonthYear(monthYear));
     }
 
     /**
-     * Generates a message comparing the total expenses between two months.
+     * Generates a message with the total expenses of every month of a year, followed by the total for the year.
      *
-     * @param monthYear1 The first month in the format MM-YYYY.
-     * @param totalMonth1 The total expenses for the first month.
-     * @param monthYear2 The second month in the format MM-YYYY.
-     * @param totalMonth2 The total expenses for the second month.
+     * @param expenseList The list of recorded expenses.
+     * @param year The year in the format YYYY.
      * @return A formatted string displaying the expense comparison.
      */
-    private static String getCompareMessage(String monthYear1, double totalMonth1,
-                                            String monthYear2, double totalMonth2) {
-        return "Total expenses for " + monthYear1 + ": $" +
-                String.format("%.2f", totalMonth1) + System.lineSeparator() +
-                "Total expenses for " + monthYear2 + ": $" +
-                String.format("%.2f", totalMonth2) + System.lineSeparator();
+    private static String getYearMessage(ExpenseList expenseList, String year) {
+        Year parsedYear = Year.of(Integer.parseInt(year));
+        LocalDate firstDay = parsedYear.atDay(1);
+        LocalDate lastDay = parsedYear.atMonth(Month.DECEMBER).atEndOfMonth();
+        expenseList.loadMonths(firstDay, lastDay);
+        StringBuilder message = new StringBuilder();
+        for (Month month : Month.values()) {
+            long totalMonth = expenseList.getMonthTotalCents(parsedYear.atMonth(month));
+            appendTotal(message, String.format("%02d-%s", month.getValue(), year), totalMonth);
+        }
+        appendTotal(message, year, expenseList.getTotalCentsBetween(firstDay, lastDay));
+        return message.toString();
     }
 
     /**
-     * Calculates the total expenses within a given date range.
+     * Appends one line of the comparison.
      *
-     * @param expenseList The list of all expenses.
-     * @param startDate   The start date of the range (inclusive).
-     * @param endDate     The end date of the range (inclusive).
-     * @return The total amount of expenses within the date range.
+     * @param message The message to append to.
+     * @param period The month or year the total is for, as the user would write it.
+     * @param totalCents The total expenses for the period, in cents.
      */
-    private double calculateTotalExpenses(ExpenseList expenseList, LocalDate startDate, LocalDate endDate) {
-        double total = 0.0;
-        for (int i = 0; i < expenseList.getSize(); i++) {
-            Expense expense = expenseList.get(i);
-            LocalDate expenseDate = LocalDate.parse(expense.getDate(), DateValidator.getFullDateFormatter());
-            if (!expenseDate.isBefore(startDate) && !expenseDate.isAfter(endDate)) {
-                total += expense.getAmount();
-            }
-        }
-        return total;
+    private static void appendTotal(StringBuilder message, String period, long totalCents) {
+        message.append("Total expenses for ").append(period).append(": $")
+                .append(Money.format(totalCents)).append(System.lineSeparator());
     }
 }
@@ -3,6 +3,7 @@ package budgetflow.command;
 import budgetflow.exception.UnfoundExpenseException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.storage.JournalRecord;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -41,19 +42,16 @@ public class DeleteExpenseCommand extends Command{
     public void execute(List<Income> incomes, ExpenseList expenseList) throws UnfoundExpenseException {
         assert input.startsWith(COMMAND_DELETE_EXPENSE) : ASSERT_INVALID_COMMAND;
         String expenseDesc = input.substring(COMMAND_DELETE_EXPENSE.length()).trim();
-        boolean found = false;
-        for (int i = 0; i < expenseList.getSize(); i++) {
-            assert expenseList.get(i) != null : ASSERT_NULL_ENTRY;
-            assert expenseList.get(i).getDescription() != null : ASSERT_NULL_DESCRIPTION;
-            if (expenseList.get(i).getDescription().equalsIgnoreCase(expenseDesc)) {
-                expenseList.delete(i);
-                this.outputMessage = "Expense deleted: " + expenseDesc;
-                found = true;
-                logger.info("Expense deleted: " + expenseDesc);
-                break;
-            }
-        }
-        if (!found) {
+        expenseList.loadAllMonths();
+        int index = expenseList.indexOfDescription(expenseDesc);
+        if (index >= 0) {
+            assert expenseList.get(index) != null : ASSERT_NULL_ENTRY;
+            assert expenseList.get(index).getDescription() != null : ASSERT_NULL_DESCRIPTION;
+            expenseList.delete(index);
+            journalRecords.add(JournalRecord.deleteExpense(index));
+            this.outputMessage = "Expense deleted: " + expenseDesc;
+            logger.info("Expense deleted: " + expenseDesc);
+        } else {
             logger.warning("Attempted to delete non-existent expense: " + expenseDesc);
             throw new UnfoundExpenseException(ERROR_EXPENSE_NOT_FOUND + expenseDesc);
         }
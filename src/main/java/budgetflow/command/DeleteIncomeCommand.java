@@ -3,6 +3,8 @@ package budgetflow.command;
 import budgetflow.exception.UnfoundIncomeException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
+import budgetflow.storage.JournalRecord;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -45,19 +47,16 @@ public class DeleteIncomeCommand extends Command {
     public void execute(List<Income> incomes, ExpenseList expenseList) throws UnfoundIncomeException {
         assert input.startsWith(COMMAND_DELETE_INCOME) : ASSERT_INVALID_COMMAND;
         String incomeCategory = input.substring(COMMAND_DELETE_INCOME.length()).trim();
-        boolean found = false;
-        for (int i = 0; i < incomes.size(); i++) {
-            assert incomes.get(i) != null : ASSERT_NULL_ENTRY;
-            assert incomes.get(i).getCategory() != null : ASSERT_NULL_CATEGORY;
-            if (incomes.get(i).getCategory().equalsIgnoreCase(incomeCategory)) {
-                incomes.remove(i);
-                this.outputMessage = "Income deleted: " + incomeCategory;
-                found = true;
-                logger.info("Income deleted: " + incomeCategory);
-                break;
-            }
-        }
-        if (!found) {
+        expenseList.loadAllMonths();
+        int index = IncomeList.indexOfCategory(incomes, incomeCategory);
+        if (index >= 0) {
+            assert incomes.get(index) != null : ASSERT_NULL_ENTRY;
+            assert incomes.get(index).getCategory() != null : ASSERT_NULL_CATEGORY;
+            incomes.remove(index);
+            journalRecords.add(JournalRecord.deleteIncome(index));
+            this.outputMessage = "Income deleted: " + incomeCategory;
+            logger.info("Income deleted: " + incomeCategory);
+        } else {
             logger.warning("Attempted to delete non-existent income: " + incomeCategory);
             throw new UnfoundIncomeException(ERROR_INCOME_NOT_FOUND + incomeCategory);
         }
@@ -3,9 +3,13 @@ package budgetflow.command;
 import budgetflow.exception.FinanceException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
 
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
 
 /**
  * Filters incomes based on a given amount range.
@@ -43,10 +47,8 @@ public class FilterIncomeByAmountCommand extends Command {
     public void execute(List<Income> incomes, ExpenseList expenseList) throws FinanceException {
         String params = input.substring(COMMAND_PREFIX.length()).trim();
         // Expected parameters: "from/<minAmount> to/<maxAmount>"
-        java.util.regex.Pattern fromPattern = java.util.regex.Pattern.compile("from/([0-9]+(\\.[0-9]+)?)");
-        java.util.regex.Matcher fromMatcher = fromPattern.matcher(params);
-        java.util.regex.Pattern toPattern = java.util.regex.Pattern.compile("to/([0-9]+(\\.[0-9]+)?)");
-        java.util.regex.Matcher toMatcher = toPattern.matcher(params);
+        Matcher fromMatcher = ArgumentPatterns.FROM_AMOUNT.matcher(params);
+        Matcher toMatcher = ArgumentPatterns.TO_AMOUNT.matcher(params);
 
         if (!fromMatcher.find() || !toMatcher.find()) {
             throw new FinanceException("Invalid amount filter format. Usage: filter-income amount " +
@@ -59,18 +61,17 @@ public class FilterIncomeByAmountCommand extends Command {
             throw new FinanceException("Minimum amount should not be greater than maximum amount.");
         }
 
+        expenseList.loadAllMonths();
         StringBuilder sb = new StringBuilder();
         sb.append("Filtered Incomes by Amount (").append(minAmount)
                 .append(" to ").append(maxAmount).append("):\n");
         boolean found = false;
-        for (Income income : incomes) {
-            double amount = income.getAmount();
-            if (amount >= minAmount && amount <= maxAmount) {
-                sb.append(income.getCategory())
-                        .append(" | $").append(String.format("%.2f", amount))
-                        .append(" | ").append(income.getDate()).append("\n");
-                found = true;
-            }
+        for (Income income : IncomeList.getByAmountRange(incomes,
+                Money.toCents(minAmount), Money.toCents(maxAmount))) {
+            sb.append(income.getCategory())
+                    .append(" | $").append(Money.format(income.getCents()))
+                    .append(" | ").append(income.getDate()).append("\n");
+            found = true;
         }
         if (!found) {
             sb.append("No incomes found in the specified amount range.");
@@ -3,6 +3,8 @@ package budgetflow.command;
 import budgetflow.exception.FinanceException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
+import budgetflow.money.Money;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -47,16 +49,15 @@ public class FilterIncomeByCategoryCommand extends Command {
             throw new FinanceException("Invalid category filter format. Usage: filter-income category/<category>");
         }
 
+        expenseList.loadAllMonths();
         StringBuilder sb = new StringBuilder();
         sb.append("Filtered Incomes by Category (").append(category).append("):\n");
         boolean found = false;
-        for (Income income : incomes) {
-            if (income.getCategory().equalsIgnoreCase(category)) {
-                sb.append(income.getCategory())
-                        .append(" | $").append(String.format("%.2f", income.getAmount()))
-                        .append(" | ").append(income.getDate()).append("\n");
-                found = true;
-            }
+        for (Income income : IncomeList.getByCategory(incomes, category)) {
+            sb.append(income.getCategory())
+                    .append(" | $").append(Money.format(income.getCents()))
+                    .append(" | ").append(income.getDate()).append("\n");
+            found = true;
         }
         if (!found) {
             sb.append("No incomes found under the specified category.");
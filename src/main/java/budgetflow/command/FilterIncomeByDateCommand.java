@@ -3,11 +3,14 @@ package budgetflow.command;
 import budgetflow.exception.FinanceException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
-import budgetflow.parser.DateValidator;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.DateParser;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
 
 /**
  * Filters incomes based on a given date range.
@@ -46,10 +49,8 @@ public class FilterIncomeByDateCommand extends Command {
         // Remove the command prefix and trim remaining parameters.
         String params = input.substring(COMMAND_PREFIX.length()).trim();
         // Use non-space tokens to extract parameters.
-        java.util.regex.Pattern fromPattern = java.util.regex.Pattern.compile("from/(\\S+)");
-        java.util.regex.Matcher fromMatcher = fromPattern.matcher(params);
-        java.util.regex.Pattern toPattern = java.util.regex.Pattern.compile("to/(\\S+)");
-        java.util.regex.Matcher toMatcher = toPattern.matcher(params);
+        Matcher fromMatcher = ArgumentPatterns.FROM.matcher(params);
+        Matcher toMatcher = ArgumentPatterns.TO.matcher(params);
 
         if (!fromMatcher.find() || !toMatcher.find()) {
             throw new FinanceException("Invalid date filter format. Usage: filter-income date " +
@@ -59,31 +60,28 @@ public class FilterIncomeByDateCommand extends Command {
         String fromDateStr = fromMatcher.group(1);
         String toDateStr = toMatcher.group(1);
 
-        if (!DateValidator.isValidDate(fromDateStr) || !DateValidator.isValidDate(toDateStr)) {
+        int fromDay = DateParser.parseDate(fromDateStr);
+        int toDay = DateParser.parseDate(toDateStr);
+        if (fromDay == DateParser.INVALID || toDay == DateParser.INVALID) {
             throw new FinanceException("One or both dates are invalid. Please use DD-MM-YYYY format.");
         }
-
-        LocalDate fromDate = LocalDate.parse(fromDateStr, DateValidator.getFullDateFormatter());
-        LocalDate toDate = LocalDate.parse(toDateStr, DateValidator.getFullDateFormatter());
-        if (fromDate.isAfter(toDate)) {
+        if (fromDay > toDay) {
             throw new FinanceException("Start date must be before or equal to end date.");
         }
+        expenseList.loadMonths(LocalDate.ofEpochDay(fromDay), LocalDate.ofEpochDay(toDay));
 
         StringBuilder sb = new StringBuilder();
         sb.append("Filtered Incomes by Date (").append(fromDateStr)
                 .append(" to ").append(toDateStr).append("):\n");
         boolean found = false;
         for (Income income : incomes) {
-            String incomeDateStr = income.getDate();
-            if (DateValidator.isValidDate(incomeDateStr)) {
-                LocalDate incomeDate = LocalDate.parse(incomeDateStr, DateValidator.getFullDateFormatter());
-                if ((incomeDate.isEqual(fromDate) || incomeDate.isAfter(fromDate)) &&
-                        (incomeDate.isEqual(toDate) || incomeDate.isBefore(toDate))) {
-                    sb.append(income.getCategory())
-                            .append(" | $").append(String.format("%.2f", income.getAmount()))
-                            .append(" | ").append(income.getDate()).append("\n");
-                    found = true;
-                }
+            // An invalid date parses to DateParser.INVALID, which lies before every valid date
+            int incomeDay = income.getEpochDay();
+            if (incomeDay >= fromDay && incomeDay <= toDay) {
+                sb.append(income.getCategory())
+                        .append(" | $").append(Money.format(income.getCents()))
+                        .append(" | ").append(income.getDate()).append("\n");
+                found = true;
             }
         }
         if (!found) {
@@ -7,9 +7,16 @@ import budgetflow.exception.InvalidNumberFormatException;
 import budgetflow.exception.InvalidDateException;
 
 import budgetflow.expense.ExpenseList;
+import budgetflow.expense.ExpenseQuery;
+import budgetflow.expense.ExpenseView;
 import budgetflow.income.Income;
+import budgetflow.parser.ArgumentPatterns;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -18,10 +25,20 @@ import java.util.regex.Pattern;
 /**
  * Represents a command to find expenses based on a given keyword.
  * If no matching expenses are found, an exception is thrown.
+ * <p>
+ * Several tags can be combined with AND and OR, for example
+ * <code>find-expense /category food AND /drange 01-03-2025 31-03-2025 AND /amtrange 20 1000</code>.
+ * Such searches run through an {@link ExpenseQuery}, and prefixing them with <code>/explain</code> also shows
+ * the plan it chose and the rows it scanned.
+ * <p>
+ * Like the fields of {@link budgetflow.parser.ArgumentTokenizer}, a tag is only recognised as a whole word at the
+ * boundary of an argument. A description or category keyword is free text that runs until AND or OR followed by a
+ * tag, so <code>find-expense /desc pay /amt later</code> searches for the description <code>pay /amt later</code>.
+ * Other keywords run until the next tag, which is then combined with AND.
  */
 public class FindExpenseCommand extends Command {
-    private static final String AMT_PATTERN = "[0-9]+(\\.[0-9]*)?";
-    private static final String DATE_PATTERN = "\\d{2}-\\d{2}-\\d{4}";
+    private static final Pattern AMT_PATTERN = ArgumentPatterns.AMOUNT_VALUE;
+    private static final Pattern DATE_PATTERN = ArgumentPatterns.DATE_VALUE;
     private static final Logger logger = Logger.getLogger(FindExpenseCommand.class.getName());
     private static final String COMMAND_FIND_EXPENSE = "find-expense";
     private static final String ERROR_MISSING_KEYWORD = "Error: Missing keyword";
@@ -29,7 +46,7 @@ public class FindExpenseCommand extends Command {
     private static final String MATCHING_EXPENSES_MESSAGE = "Here are all matching expenses:";
 
     private static final Pattern COMMAND_PATTERN = Pattern.compile(
-            "find-expense\s+(/desc|/d|/amt|/category|/amtrange|/drange)\s+(.+)");
+            "find-expense\s+(/desc|/d|/amt|/category|/amtrange|/drange|/top)\s+(.+)");
     private static final String ERROR_INVALID_KEYWORD_FORMAT = "Please enter correct keyword format for tag ";
     private static final String ERROR_NO_TAG_OR_KEYWORD = "Invalid or missing tag/keyword in find-expense command";
     private static final String ERROR_INVALID_TAG = "Please enter valid tag for query";
@@ -40,12 +57,30 @@ public class FindExpenseCommand extends Command {
     private static final String TAG_CATEGORY = "/category";
     private static final String TAG_AMOUNT_RANGE = "/amtrange";
     private static final String TAG_DATE_RANGE = "/drange";
+    private static final String TAG_TOP = "/top";
+    private static final Pattern TOP_COUNT_PATTERN = ArgumentPatterns.COUNT_VALUE;
     private static final int AMT_RANGE_LENGTH = 2;
     private static final int DATE_RANGE_LENGTH = 2;
     private static final int START_AMT_PART = 0;
     private static final int END_AMT_PART = 1;
     private static final int START_DATE_PART = 0;
     private static final int END_DATE_PART = 1;
+    private static final String TAG_EXPLAIN = "/explain";
+    private static final String CONNECTOR_AND = "AND";
+    private static final String CONNECTOR_OR = "OR";
+    private static final int CONNECTOR_PART = 0;
+    private static final int TAG_PART = 1;
+    private static final int KEYWORD_PART = 2;
+    private static final Set<String> TAGS = Set.of(TAG_DESCRIPTION, TAG_DATE, TAG_AMOUNT, TAG_CATEGORY,
+            TAG_AMOUNT_RANGE, TAG_DATE_RANGE, TAG_TOP);
+    private static final Set<String> FREE_TEXT_TAGS = Set.of(TAG_DESCRIPTION, TAG_CATEGORY);
+    private static final String ERROR_INVALID_QUERY = "Please combine tags as: find-expense [/explain] /TAG KEYWORD "
+            + "[AND|OR /TAG KEYWORD]...";
+    private static final String QUERY_PLAN_MESSAGE = "Query plan:";
+    private static final String NO_MATCHING_EXPENSES_MESSAGE = "No matching expenses.";
+
+    private ExpenseView matchingExpenses;
+    private String queryPlan;
 
     /**
      * Constructs a FindExpenseCommand with the given input.
@@ -73,26 +108,178 @@ public class FindExpenseCommand extends Command {
     public void execute(List<Income> incomes, ExpenseList expenseList) throws UnfoundExpenseException,
             MissingKeywordException, InvalidTagException, InvalidKeywordException {
         assert input.startsWith(COMMAND_FIND_EXPENSE) : ASSERTION_FAIL_INVALID_FIND_COMMAND;
+        this.matchingExpenses = null;
+        this.queryPlan = null;
+        String[] tokens = ArgumentPatterns.WHITESPACE.split(input.substring(COMMAND_FIND_EXPENSE.length()).trim());
+        boolean isExplain = tokens[0].equals(TAG_EXPLAIN);
+        if (isConnector(tokens[0])) {
+            throw new InvalidKeywordException(ERROR_INVALID_QUERY);
+        }
+        if (isExplain || TAGS.contains(tokens[0])) {
+            List<String[]> conditions = splitConditions(tokens, isExplain ? 1 : 0);
+            if (isExplain || conditions.size() > 1) {
+                executeQuery(expenseList, tokens, conditions, isExplain);
+                return;
+            }
+        }
+
         String[] parsedTagAndKeyword = extractTagAndKeyword();
         String tag = parsedTagAndKeyword[START_DATE_PART];
         String keyword = parsedTagAndKeyword[END_DATE_PART];
-        ExpenseList matchingExpenses = getMatchingExpenses(expenseList, tag, keyword);
+        ExpenseView matchingExpenses = getMatchingExpenses(expenseList, tag, keyword);
 
-        if (matchingExpenses.getSize() == START_DATE_PART) {
+        if (matchingExpenses.isEmpty()) {
             logger.warning("No expenses found for " + tag + " with keyword: " + keyword);
             throw new UnfoundExpenseException(ERROR_UNFOUNDED_KEYWORD + keyword);
         } else {
-            this.outputMessage = MATCHING_EXPENSES_MESSAGE + System.lineSeparator() +
-                    matchingExpenses;
-            logger.info("Matching found: " + matchingExpenses);
+            // The matches are read from the expense list when the output is written
+            this.matchingExpenses = matchingExpenses;
+            logger.info("Matching found: " + matchingExpenses.size() + " expenses");
         }
     }
 
-    private ExpenseList getMatchingExpenses(ExpenseList expenseList, String tag, String keyword)
+    @Override
+    public String getOutputMessage() {
+        return matchingExpenses == null ? outputMessage : renderOutput();
+    }
+
+    @Override
+    public void writeOutput(Appendable out) throws IOException {
+        if (matchingExpenses == null) {
+            out.append(outputMessage);
+            return;
+        }
+        if (queryPlan != null) {
+            out.append(queryPlan);
+        }
+        if (matchingExpenses.isEmpty()) {
+            out.append(NO_MATCHING_EXPENSES_MESSAGE).append(System.lineSeparator());
+            return;
+        }
+        out.append(MATCHING_EXPENSES_MESSAGE).append(System.lineSeparator());
+        matchingExpenses.writeTo(out);
+    }
+
+    /**
+     * Runs a search of several tags combined with AND and OR.
+     *
+     * @param expenseList The list of expenses to search within.
+     * @param tokens The words after the command keyword.
+     * @param conditions The conditions of the search, as split by {@link #splitConditions}.
+     * @param isExplain Whether to show the plan of the search along with its result.
+     * @throws UnfoundExpenseException If nothing matches and the search is not being explained.
+     * @throws MissingKeywordException If a tag has no keyword.
+     * @throws InvalidTagException If /top is combined with other tags.
+     * @throws InvalidKeywordException If a keyword or the way the tags are combined is invalid.
+     */
+    private void executeQuery(ExpenseList expenseList, String[] tokens, List<String[]> conditions,
+                              boolean isExplain) throws UnfoundExpenseException, InvalidTagException,
+            InvalidKeywordException {
+        ExpenseQuery query = buildQuery(conditions);
+        ExpenseView matches;
+        if (isExplain) {
+            StringBuilder plan = new StringBuilder(QUERY_PLAN_MESSAGE).append(System.lineSeparator());
+            matches = query.explain(expenseList, plan);
+            this.queryPlan = plan.toString();
+        } else {
+            matches = query.run(expenseList);
+        }
+        if (matches.isEmpty() && !isExplain) {
+            String keywords = String.join(" ", tokens);
+            logger.warning("No expenses found for query: " + keywords);
+            throw new UnfoundExpenseException(ERROR_UNFOUNDED_KEYWORD + keywords);
+        }
+        this.matchingExpenses = matches;
+        logger.info("Query matched " + matches.size() + " expenses");
+    }
+
+    /**
+     * Splits words of the form <code>/TAG KEYWORD [AND|OR /TAG KEYWORD]...</code> into their conditions.
+     *
+     * @param tokens The words after the command keyword.
+     * @param start The index of the first word of the search.
+     * @return The connector joining each condition to the previous one, or null for the first, its tag and
+     *     its keyword.
+     * @throws MissingKeywordException If there is no tag or a tag has no keyword.
+     * @throws InvalidKeywordException If a word that should start a condition is not a tag.
+     */
+    private static List<String[]> splitConditions(String[] tokens, int start) throws MissingKeywordException,
+            InvalidKeywordException {
+        if (start >= tokens.length || tokens[start].isEmpty()) {
+            throw new MissingKeywordException(ERROR_MISSING_KEYWORD);
+        }
+        List<String[]> conditions = new ArrayList<>();
+        String connector = null;
+        int i = start;
+        while (i < tokens.length) {
+            String tag = tokens[i];
+            if (!TAGS.contains(tag)) {
+                throw new InvalidKeywordException(ERROR_INVALID_QUERY);
+            }
+            boolean isFreeText = FREE_TEXT_TAGS.contains(tag);
+            int end = i + 1;
+            while (end < tokens.length && !isConditionStart(tokens, end)
+                    && (isFreeText || !TAGS.contains(tokens[end]))) {
+                end++;
+            }
+            if (end == i + 1) {
+                throw new MissingKeywordException(ERROR_MISSING_KEYWORD);
+            }
+            conditions.add(new String[] {connector, tag, String.join(" ", Arrays.copyOfRange(tokens, i + 1, end))});
+            i = end;
+            connector = CONNECTOR_AND;
+            if (i < tokens.length && isConnector(tokens[i])) {
+                connector = tokens[i];
+                i++;
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * Checks whether the word at the index is AND or OR followed by a tag, which ends any keyword
+     */
+    private static boolean isConditionStart(String[] tokens, int index) {
+        return isConnector(tokens[index]) && index + 1 < tokens.length && TAGS.contains(tokens[index + 1]);
+    }
+
+    /**
+     * Builds a search from its conditions.
+     *
+     * @param conditions The conditions, as split by {@link #splitConditions}.
+     * @return The search.
+     */
+    private static ExpenseQuery buildQuery(List<String[]> conditions) throws InvalidTagException,
+            InvalidKeywordException {
+        ExpenseQuery query = new ExpenseQuery();
+        for (String[] condition : conditions) {
+            String tag = condition[TAG_PART];
+            String keyword = condition[KEYWORD_PART];
+            if (!isValidKeywordPattern(tag, keyword)) {
+                throw new InvalidKeywordException(ERROR_INVALID_KEYWORD_FORMAT + tag);
+            }
+            try {
+                if (CONNECTOR_OR.equals(condition[CONNECTOR_PART])) {
+                    query.or(tag, keyword);
+                } else {
+                    query.and(tag, keyword);
+                }
+            } catch (InvalidDateException | InvalidNumberFormatException e) {
+                throw new InvalidKeywordException(e.getMessage());
+            }
+        }
+        return query;
+    }
+
+    private static boolean isConnector(String token) {
+        return token.equals(CONNECTOR_AND) || token.equals(CONNECTOR_OR);
+    }
+
+    private ExpenseView getMatchingExpenses(ExpenseList expenseList, String tag, String keyword)
             throws InvalidTagException, InvalidKeywordException {
-        ExpenseList matchingExpenses;
+        ExpenseView matchingExpenses;
         try {
-            matchingExpenses = expenseList.getByTag(tag, keyword);
+            matchingExpenses = expenseList.findByTag(tag, keyword);
         } catch (InvalidDateException | InvalidNumberFormatException e) {
             throw new InvalidKeywordException(e.getMessage());
         }
@@ -118,30 +305,27 @@ public class FindExpenseCommand extends Command {
     }
 
     private static boolean isValidKeywordPattern(String tag, String keyword) throws InvalidTagException {
-        String categoryPattern = ".+";
-        String descPattern = ".+";
-
-        // Validate keyword format based on the tag
+        // Validate keyword format based on the tag; descriptions and categories accept any keyword
         return switch (tag) {
-        case TAG_DESCRIPTION -> keyword.matches(descPattern);
-        case TAG_DATE -> keyword.matches(DATE_PATTERN);
-        case TAG_AMOUNT -> keyword.matches(AMT_PATTERN);
-        case TAG_CATEGORY -> keyword.matches(categoryPattern);
+        case TAG_DESCRIPTION, TAG_CATEGORY -> !keyword.isEmpty();
+        case TAG_DATE -> DATE_PATTERN.matcher(keyword).matches();
+        case TAG_AMOUNT -> AMT_PATTERN.matcher(keyword).matches();
         case TAG_AMOUNT_RANGE -> isValidAmtRange(keyword);
         case TAG_DATE_RANGE -> isValidDateRange(keyword);
+        case TAG_TOP -> TOP_COUNT_PATTERN.matcher(keyword).matches();
         default -> throw new InvalidTagException(ERROR_INVALID_TAG);
         };
     }
 
     private static boolean isValidAmtRange(String keyword) {
-        String[] parts = keyword.split("\\s+");
-        return parts.length == AMT_RANGE_LENGTH && parts[START_AMT_PART].matches(AMT_PATTERN)
-                && parts[END_AMT_PART].matches(AMT_PATTERN);
+        String[] parts = ArgumentPatterns.WHITESPACE.split(keyword);
+        return parts.length == AMT_RANGE_LENGTH && AMT_PATTERN.matcher(parts[START_AMT_PART]).matches()
+                && AMT_PATTERN.matcher(parts[END_AMT_PART]).matches();
     }
 
     private static boolean isValidDateRange(String keyword) {
-        String[] parts = keyword.split("\\s+");
-        return parts.length == DATE_RANGE_LENGTH && parts[START_DATE_PART].matches(DATE_PATTERN)
-                && parts[END_DATE_PART].matches(DATE_PATTERN);
+        String[] parts = ArgumentPatterns.WHITESPACE.split(keyword);
+        return parts.length == DATE_RANGE_LENGTH && DATE_PATTERN.matcher(parts[START_DATE_PART]).matches()
+                && DATE_PATTERN.matcher(parts[END_DATE_PART]).matches();
     }
 }
@@ -20,13 +20,19 @@ public class HelpCommand extends Command {
         helpMessage.append("To add an Income: add category/[CATEGORY] amt/[AMOUNT] d/[DD-MM-YYYY]\n");
         helpMessage.append("To add an Expense: log-expense category/[CATEGORY] desc/[DESCRIPTION] amt/[AMOUNT]" +
                 " d/[DD-MM-YYYY]\n");
-        helpMessage.append("To View all expenses: view-all-expense\n");
-        helpMessage.append("To view all Income: list income\n");
+        helpMessage.append("To View all expenses: view-all-expense [page/PAGE [size/SIZE] | head/COUNT "
+                + "| tail/COUNT]\n");
+        helpMessage.append("To view all Income: list income [page/PAGE [size/SIZE] | head/COUNT | tail/COUNT]\n");
+        helpMessage.append("To view saving goal progress: saving-progress\n");
         helpMessage.append("To delete an Expense: delete-expense [DESCRIPTION]\n");
         helpMessage.append("To delete an Income: delete-income [CATEGORY]\n");
         helpMessage.append("To find an Expense: find-expense /desc [DESCRIPTION] OR /d [DD-MM-YYYY] OR /amt [AMOUNT] "
-                + "OR /category [CATEGORY] OR /amtrange [AMOUNT 1] [AMOUNT 2] OR /drange [DATE 1] [DATE 2]\n");
-        helpMessage.append("To compare expenses from 2 months: compare [MM-YYYY] [MM-YYYY]\n");
+                + "OR /category [CATEGORY] OR /amtrange [AMOUNT 1] [AMOUNT 2] OR /drange [DATE 1] [DATE 2] "
+                + "OR /top [N]\n");
+        helpMessage.append("To find Expenses matching several tags: find-expense [/explain] /TAG [KEYWORD] "
+                + "AND|OR /TAG [KEYWORD] ...\n");
+        helpMessage.append("To compare expenses between months: compare [MM-YYYY] [MM-YYYY] ... OR compare [YYYY]\n");
+        helpMessage.append("To total expenses between two dates: total-expense from/DD-MM-YYYY to/DD-MM-YYYY\n");
         helpMessage.append("To Update an expense: update-expense category/[CATEGORY] OR amt/[AMOUNT] OR " +
                 "desc/[DESCRIPTION] d/[DD-MM-YYYY]\n");
         helpMessage.append("To Update an Income : update-income category/[CATEGORY] OR amt/[AMOUNT] " +
@@ -1,113 +1,185 @@
 package budgetflow.command;
 
+import budgetflow.exception.FinanceException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
+import budgetflow.money.Money;
+
+import java.io.IOException;
 import java.util.List;
 import java.util.logging.Logger;
 
 /**
- * Represents a command to list all recorded incomes and display saving goal progress.
+ * Represents a command to list all recorded incomes, or one page, the first or the last rows of them,
+ * and display saving goal progress.
+ * <p>
+ * Like {@link ViewAllExpensesCommand}, the rows are written straight to the output when it is printed.
  */
 public class ListIncomeCommand extends Command {
     private static final Logger logger = Logger.getLogger(ListIncomeCommand.class.getName());
+    private static final String COMMAND_PREFIX = "list income";
     private static final String EMPTY_INCOME_LIST_MESSAGE = "No incomes have been added yet.";
+    private static final String ERROR_INVALID_FORMAT = "Invalid input format. Usage: list income "
+            + RowRange.OPTIONS_USAGE;
+
+    // Static variable to store the saving goal across command instances, in cents
+    private static long savingGoalCents = 0;
 
-    // Static variable to store the saving goal across command instances
-    private static double savingGoal = 0.0;
+    private List<Income> incomes;
+    private long totalExpenseCents;
+    private RowRange rowRange;
 
     /**
      * Constructs a ListIncomeCommand.
      * This command is used to display all recorded incomes and saving goal progress.
      */
     public ListIncomeCommand() {
-        super();
+        this(COMMAND_PREFIX);
+    }
+
+    /**
+     * Constructs a ListIncomeCommand that may display only some of the incomes.
+     *
+     * @param input The user input, optionally followed by <code>page/P size/S</code>, <code>head/N</code>
+     *     or <code>tail/N</code>.
+     */
+    public ListIncomeCommand(String input) {
+        super(input);
         this.commandType = CommandType.READ;
     }
 
     /**
      * Sets the saving goal for all income listings.
      *
-     * @param amount The amount to set as the saving goal
+     * @param amount The amount to set as the saving goal, in dollars
      */
     public static void setSavingGoal(double amount) {
-        if (amount < 0) {
+        setSavingGoalCents(Money.toCents(amount));
+    }
+
+    /**
+     * Sets the saving goal for all income listings.
+     *
+     * @param cents The amount to set as the saving goal, in cents
+     */
+    public static void setSavingGoalCents(long cents) {
+        if (cents < 0) {
             throw new IllegalArgumentException("Saving goal amount cannot be negative");
         }
-        savingGoal = amount;
+        savingGoalCents = cents;
     }
 
     /**
      * Retrieves the current saving goal.
      *
-     * @return The current saving goal amount
+     * @return The current saving goal amount, in dollars
      */
     public static double getSavingGoal() {
-        return savingGoal;
+        return Money.toDollars(savingGoalCents);
+    }
+
+    /**
+     * Retrieves the current saving goal.
+     *
+     * @return The current saving goal amount, in cents
+     */
+    public static long getSavingGoalCents() {
+        return savingGoalCents;
     }
 
     /**
      * Calculates the progress towards the saving goal.
      *
-     * @param totalIncome The total income
-     * @param totalExpenses The total expenses
+     * @param savingsCents The total income minus the total expenses, in cents
      * @return The progress percentage towards the saving goal
      */
-    private double calculateSavingProgress(double totalIncome, double totalExpenses) {
-        if (savingGoal == 0) {
+    private static double calculateSavingProgress(long savingsCents) {
+        if (savingGoalCents == 0) {
             return 0.0;
         }
 
-        double savings = totalIncome - totalExpenses;
-        double progressPercentage = (savings / savingGoal) * 100;
+        double progressPercentage = savingsCents * 100.0 / savingGoalCents;
         return Math.min(progressPercentage, 100.0);
     }
 
     /**
-     * Executes the command to list all incomes and show saving goal progress.
+     * Builds the saving goal, current savings and progress lines from the running totals.
+     *
+     * @param totalIncomeCents The total income, in cents
+     * @param totalExpenseCents The total expenses, in cents
+     * @return The saving goal progress, one item per line
+     */
+    static String getSavingProgressMessage(long totalIncomeCents, long totalExpenseCents) {
+        long savingsCents = totalIncomeCents - totalExpenseCents;
+        return "Saving Goal: $" + Money.format(savingGoalCents) + System.lineSeparator()
+                + "Current Savings: $" + Money.format(savingsCents) + System.lineSeparator()
+                + "Progress: " + String.format("%.2f", calculateSavingProgress(savingsCents)) + "%"
+                + System.lineSeparator();
+    }
+
+    /**
+     * Executes the command to list the incomes and show saving goal progress.
      *
      * @param incomes The list of incomes to be displayed.
      * @param expenseList The list of expenses used for calculating savings.
+     * @throws FinanceException If the paging options are invalid.
      */
     @Override
-    public void execute(List<Income> incomes, ExpenseList expenseList) {
-        // Calculate total income
-        double totalIncome = 0.0;
-        String message = "Income Log:" + System.lineSeparator();
-
+    public void execute(List<Income> incomes, ExpenseList expenseList) throws FinanceException {
+        this.rowRange = RowRange.parse(input.substring(COMMAND_PREFIX.length()), ERROR_INVALID_FORMAT);
+        this.incomes = null;
+        this.outputMessage = null;
+        // Rows are numbered by their index in the whole list, and the totals cover every month
+        expenseList.loadAllMonths();
         if (incomes.isEmpty()) {
             logger.info("Reading empty income list");
             this.outputMessage = EMPTY_INCOME_LIST_MESSAGE + System.lineSeparator();
             return;
         }
+        this.incomes = incomes;
+        this.totalExpenseCents = expenseList.getTotalCents();
+        logger.info("Reading non-empty income list with potential saving goal");
+    }
 
-        // Calculate total income
-        for (Income income : incomes) {
-            message += income.getCategory() + " | $" +
-                    String.format("%.2f", income.getAmount()) + " | " +
-                    income.getDate() + System.lineSeparator();
-            totalIncome += income.getAmount();
-        }
+    @Override
+    public String getOutputMessage() {
+        return incomes == null ? outputMessage : renderOutput();
+    }
 
-        // Calculate total expenses
-        double totalExpenses = expenseList.getTotalExpenses();
+    @Override
+    public void writeOutput(Appendable out) throws IOException {
+        if (incomes == null) {
+            out.append(outputMessage);
+            return;
+        }
+        int size = incomes.size();
+        int start = rowRange.start(size);
+        int end = rowRange.end(size);
+        out.append("Income Log:").append(System.lineSeparator());
+        for (int i = start; i < end; i++) {
+            Income income = incomes.get(i);
+            out.append(income.getCategory()).append(" | $").append(Money.format(income.getCents()))
+                    .append(" | ").append(income.getDate()).append(System.lineSeparator());
+        }
+        if (!rowRange.isAll()) {
+            out.append(getShownMessage(start, end, size)).append(System.lineSeparator());
+        }
 
-        // Add total income to message
-        message += "Total Income: $" + String.format("%.2f", totalIncome) ;
+        // The totals are kept up to date by the lists, so they are not summed here
+        long totalIncomeCents = IncomeList.getTotalCents(incomes);
+        out.append("Total Income: $").append(Money.format(totalIncomeCents));
 
         // Add saving goal information if set
-        if (savingGoal > 0) {
-            double savings = totalIncome - totalExpenses;
-            double progress = calculateSavingProgress(totalIncome, totalExpenses);
-
-            message += System.lineSeparator() + "Saving Goal: $" + String.format("%.2f", savingGoal) +
-                    System.lineSeparator() +
-                    "Current Savings: $" + String.format("%.2f", savings) +
-                    System.lineSeparator() +
-                    "Progress: " + String.format("%.2f", progress) + "%" +
-                    System.lineSeparator();
+        if (savingGoalCents > 0) {
+            out.append(System.lineSeparator()).append(getSavingProgressMessage(totalIncomeCents, totalExpenseCents));
         }
+    }
 
-        this.outputMessage = message;
-        logger.info("Reading non-empty income list with potential saving goal");
+    private static String getShownMessage(int start, int end, int size) {
+        if (start == end) {
+            return "No incomes on this page (" + size + " in total)";
+        }
+        return "Showing incomes " + (start + 1) + "-" + end + " of " + size;
     }
 }
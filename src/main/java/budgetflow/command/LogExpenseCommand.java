@@ -9,11 +9,16 @@ import budgetflow.exception.MissingExpenseException;
 import budgetflow.expense.Expense;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.ArgumentTokenizer;
+import budgetflow.parser.ArgumentTokenizer.Field;
+import budgetflow.parser.CommandArguments;
 import budgetflow.parser.DateValidator;
+import budgetflow.storage.JournalRecord;
 
 import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.logging.Logger;
 
 //@@author thienkimtranhoang
@@ -51,9 +56,11 @@ public class LogExpenseCommand extends Command{
             InvalidNumberFormatException, MissingAmountException, MissingCategoryException,
             MissingDescriptionException, MissingExpenseException {
         Expense expense = extractExpense(input);
+        expenseList.loadMonthOf(expense.getDate());
         expenseList.add(expense);
+        journalRecords.add(JournalRecord.addExpense(expense));
         this.outputMessage = "Expense logged: " + expense.getCategory() + " | " + expense.getDescription() +
-                " | $" + String.format("%.2f", expense.getAmount()) + " | " + expense.getDate();
+                " | $" + Money.format(expense.getCents()) + " | " + expense.getDate();
     }
 
     //@@author dariusyawningwhiz
@@ -63,55 +70,15 @@ public class LogExpenseCommand extends Command{
         assert input != null && !input.isEmpty() : "Expense input should not be empty";
         assert input.startsWith(LOG_EXPENSE_COMMAND_PREFIX) : "Invalid log expense format";
 
-        input = input.substring(LOG_EXPENSE_COMMAND_PREFIX_LENGTH).trim();
-
-        if (input.isEmpty()) {
+        if (input.substring(LOG_EXPENSE_COMMAND_PREFIX_LENGTH).isBlank()) {
             throw new MissingExpenseException(ERROR_EMPTY_EXPENSE);
         }
 
-        String category = null;
-        String description = null;
-        Double amount = null;
-        String date = null;
-
-        String categoryPattern = "category/(.*?) (desc/|amt/|d/|$)";
-        String descPattern = "desc/(.*?) (amt/|d/|$)";
-        String amtPattern = "amt/([0-9]+(\\.[0-9]*)?)";
-        String datePattern = "d/(\\d{2}-\\d{2}-\\d{4})";
-
-        java.util.regex.Pattern pattern;
-        java.util.regex.Matcher matcher;
-
-        pattern = java.util.regex.Pattern.compile(categoryPattern);
-        matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            category = matcher.group(1).trim();
-        }
-        pattern = java.util.regex.Pattern.compile(descPattern);
-        matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            description = matcher.group(1).trim();
-        }
-        pattern = java.util.regex.Pattern.compile(amtPattern);
-        matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            try {
-                amount = Double.parseDouble(matcher.group(1));
-            } catch (NumberFormatException e) {
-                throw new InvalidNumberFormatException();
-            }
-        }
-        pattern = java.util.regex.Pattern.compile(datePattern);
-        matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            date = matcher.group(1).trim();
-            if (!DateValidator.isValidDate(date)) {
-                logger.warning("Invalid date input: " + date);
-                throw new MissingDateException(ERROR_INVALID_DATE);
-            }
-        } else {
-            verifyMissingOrIncorrect(input);
-        }
+        CommandArguments arguments = ArgumentTokenizer.tokenize(input, LOG_EXPENSE_COMMAND_PREFIX_LENGTH);
+        String category = arguments.get(Field.CATEGORY);
+        String description = arguments.get(Field.DESCRIPTION);
+        Double amount = parseAmount(arguments);
+        String date = parseDate(arguments);
 
         if (category == null || category.isEmpty()) {
             throw new MissingCategoryException(ERROR_MISSING_EXPENSE_CATEGORY);
@@ -122,32 +89,49 @@ public class LogExpenseCommand extends Command{
         if (amount == null) {
             throw new MissingAmountException(ERROR_MISSING_EXPENSE_AMOUNT);
         }
-        if (date == null) {
-            throw new MissingDateException(ERROR_MISSING_EXPENSE_DATE);
-        }
         return new Expense(category, description, amount, date);
     }
 
-    private String extractPattern(String input, String regex) {
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(input);
-        return matcher.find() ? matcher.group(1).trim() : null;
+    /**
+     * Parses the amount of the expense
+     *
+     * @return the amount, or null if it is missing or does not start with a valid amount
+     */
+    private static Double parseAmount(CommandArguments arguments) throws InvalidNumberFormatException {
+        String amount = arguments.get(Field.AMOUNT);
+        if (amount == null) {
+            return null;
+        }
+        // As before the tokenizer, the amount is the number the value starts with, so amt/12abc is 12
+        Matcher matcher = ArgumentPatterns.AMOUNT_VALUE.matcher(amount);
+        if (!matcher.lookingAt()) {
+            logger.warning("Invalid amount input at column " + arguments.columnOf(Field.AMOUNT) + ": " + amount);
+            return null;
+        }
+        try {
+            return Double.parseDouble(matcher.group());
+        } catch (NumberFormatException e) {
+            throw new InvalidNumberFormatException();
+        }
     }
 
-    private static void verifyMissingOrIncorrect(String input) throws MissingDateException {
-        java.util.regex.Pattern pattern;
-        java.util.regex.Matcher matcher;
-        String invalidDatePattern = "d/(\\S+)";
-        pattern = java.util.regex.Pattern.compile(invalidDatePattern);
-        matcher = pattern.matcher(input);
-        if (matcher.find()) {
-            String invalidDate = matcher.group(1).trim();
-            logger.warning("Invalid date input: " + invalidDate);
-            throw new MissingDateException(ERROR_INCORRECT_EXPENSE_DATE);
-        } else {
+    private static String parseDate(CommandArguments arguments) throws MissingDateException {
+        String date = arguments.get(Field.DATE);
+        if (date == null || date.isEmpty()) {
             logger.warning("Missing date input");
             throw new MissingDateException(ERROR_MISSING_EXPENSE_DATE);
         }
+        Matcher matcher = ArgumentPatterns.DATE_VALUE.matcher(date);
+        if (!matcher.lookingAt()) {
+            logger.warning("Invalid date input at column " + arguments.columnOf(Field.DATE) + ": " + date);
+            throw new MissingDateException(ERROR_INCORRECT_EXPENSE_DATE);
+        }
+        date = matcher.group();
+        if (!DateValidator.isValidDate(date)) {
+            logger.warning("Invalid date input at column " + arguments.columnOf(Field.DATE) + ": " + date);
+            throw new MissingDateException(ERROR_INVALID_DATE);
+        }
+        return date;
     }
 
 }
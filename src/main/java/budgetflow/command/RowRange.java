@@ -0,0 +1,111 @@
+package budgetflow.command;
+
+import budgetflow.exception.FinanceException;
+import budgetflow.parser.ArgumentPatterns;
+
+/**
+ * The rows of a listing that a listing command should display, given as <code>page/P size/S</code>,
+ * <code>head/N</code> or <code>tail/N</code> after the command keyword. With none of these every row is shown.
+ */
+class RowRange {
+    static final String OPTIONS_USAGE = "[page/PAGE [size/SIZE] | head/COUNT | tail/COUNT]";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final RowRange ALL = new RowRange(Kind.ALL, 0, 0);
+
+    private enum Kind { ALL, PAGE, HEAD, TAIL }
+
+    private final Kind kind;
+    private final int page;
+    private final int count;
+
+    private RowRange(Kind kind, int page, int count) {
+        this.kind = kind;
+        this.page = page;
+        this.count = count;
+    }
+
+    /**
+     * Parses the options following the command keyword
+     *
+     * @param options the text after the command keyword, may be null or blank
+     * @param usage usage of the command, shown if the options are invalid
+     * @return the rows to display
+     * @throws FinanceException if an option is unknown, repeated or not a positive whole number
+     */
+    static RowRange parse(String options, String usage) throws FinanceException {
+        if (options == null || options.isBlank()) {
+            return ALL;
+        }
+        int page = 0;
+        int size = 0;
+        int head = 0;
+        int tail = 0;
+        for (String option : ArgumentPatterns.WHITESPACE.split(options.trim())) {
+            int separator = option.indexOf('/');
+            if (separator < 0) {
+                throw new FinanceException(usage);
+            }
+            int value = parsePositive(option.substring(separator + 1), usage);
+            String key = option.substring(0, separator);
+            if (key.equals("page") && page == 0) {
+                page = value;
+            } else if (key.equals("size") && size == 0) {
+                size = value;
+            } else if (key.equals("head") && head == 0) {
+                head = value;
+            } else if (key.equals("tail") && tail == 0) {
+                tail = value;
+            } else {
+                // Unknown or repeated option
+                throw new FinanceException(usage);
+            }
+        }
+        int chosen = (page > 0 ? 1 : 0) + (head > 0 ? 1 : 0) + (tail > 0 ? 1 : 0);
+        if (chosen != 1 || (size > 0 && page == 0)) {
+            throw new FinanceException(usage);
+        }
+        if (page > 0) {
+            return new RowRange(Kind.PAGE, page, size > 0 ? size : DEFAULT_PAGE_SIZE);
+        }
+        return head > 0 ? new RowRange(Kind.HEAD, 0, head) : new RowRange(Kind.TAIL, 0, tail);
+    }
+
+    private static int parsePositive(String value, String usage) throws FinanceException {
+        if (value.isEmpty() || value.length() > 9 || !value.chars().allMatch(Character::isDigit)
+                || Integer.parseInt(value) == 0) {
+            throw new FinanceException(usage);
+        }
+        return Integer.parseInt(value);
+    }
+
+    boolean isAll() {
+        return kind == Kind.ALL;
+    }
+
+    /**
+     * Returns the index of the first row to display
+     *
+     * @param size number of rows in the listing
+     */
+    int start(int size) {
+        return switch (kind) {
+        case ALL, HEAD -> 0;
+        case PAGE -> (int) Math.min((long) (page - 1) * count, size);
+        case TAIL -> Math.max(0, size - count);
+        };
+    }
+
+    /**
+     * Returns the index after the last row to display
+     *
+     * @param size number of rows in the listing
+     */
+    int end(int size) {
+        return switch (kind) {
+        case ALL, TAIL -> size;
+        case PAGE -> (int) Math.min((long) page * count, size);
+        case HEAD -> Math.min(count, size);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package budgetflow.command;
+
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Represents a command to display the progress towards the saving goal without listing every income.
+ * The savings are read from the running totals of the income and expense lists.
+ */
+public class SavingProgressCommand extends Command {
+    private static final Logger logger = Logger.getLogger(SavingProgressCommand.class.getName());
+    private static final String NO_SAVING_GOAL_MESSAGE = "No saving goal has been set. "
+            + "Use set-saving-goal [AMOUNT] to set one.";
+
+    /**
+     * Constructs a SavingProgressCommand.
+     */
+    public SavingProgressCommand() {
+        super();
+        this.commandType = CommandType.READ;
+    }
+
+    /**
+     * Executes the command to show the saving goal, current savings and progress.
+     *
+     * @param incomes The list of incomes used for calculating savings.
+     * @param expenseList The list of expenses used for calculating savings.
+     */
+    @Override
+    public void execute(List<Income> incomes, ExpenseList expenseList) {
+        if (ListIncomeCommand.getSavingGoalCents() <= 0) {
+            logger.info("No saving goal set");
+            this.outputMessage = NO_SAVING_GOAL_MESSAGE + System.lineSeparator();
+            return;
+        }
+        expenseList.loadAllMonths();
+        this.outputMessage = ListIncomeCommand.getSavingProgressMessage(IncomeList.getTotalCents(incomes),
+                expenseList.getTotalCents());
+        logger.info("Saving progress calculated: " + this.outputMessage);
+    }
+}
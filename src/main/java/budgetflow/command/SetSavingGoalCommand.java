@@ -2,6 +2,8 @@ package budgetflow.command;
 
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.money.Money;
+import budgetflow.storage.JournalRecord;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -10,7 +12,7 @@ import java.util.logging.Logger;
  */
 public class SetSavingGoalCommand extends Command {
     private static final Logger logger = Logger.getLogger(SetSavingGoalCommand.class.getName());
-    private double savingGoalAmount;
+    private long savingGoalCents;
 
     /**
      * Constructs a SetSavingGoalCommand by parsing the input.
@@ -25,19 +27,19 @@ public class SetSavingGoalCommand extends Command {
         // Expected input format: "set-saving-goal amount"
         try {
             String amountStr = input.replace("set-saving-goal", "").trim();
-            this.savingGoalAmount = Double.parseDouble(amountStr);
+            this.savingGoalCents = Money.parseCents(amountStr);
 
             // Validate the amount
-            if (this.savingGoalAmount < 0) {
+            if (this.savingGoalCents < 0) {
                 throw new IllegalArgumentException("Saving goal amount cannot be negative");
             }
 
             // Set the saving goal in ListIncomeCommand
-            ListIncomeCommand.setSavingGoal(this.savingGoalAmount);
+            ListIncomeCommand.setSavingGoalCents(this.savingGoalCents);
         } catch (NumberFormatException e) {
             logger.warning("Invalid saving goal amount format");
             this.outputMessage = "Invalid saving goal amount. Please enter a valid number.";
-            this.savingGoalAmount = 0.0;
+            this.savingGoalCents = 0;
         }
     }
 
@@ -49,10 +51,11 @@ public class SetSavingGoalCommand extends Command {
      */
     @Override
     public void execute(List<Income> incomes, ExpenseList expenseList) {
-        if (savingGoalAmount > 0) {
-            this.outputMessage = "Saving goal set to: $" + String.format("%.2f", savingGoalAmount);
-            logger.info("Saving goal set to: " + savingGoalAmount);
+        if (savingGoalCents > 0) {
+            this.outputMessage = "Saving goal set to: $" + Money.format(savingGoalCents);
+            logger.info("Saving goal set to: " + Money.format(savingGoalCents));
         }
+        journalRecords.add(JournalRecord.setSavingGoal(ListIncomeCommand.getSavingGoalCents()));
     }
 
     /**
@@ -61,6 +64,6 @@ public class SetSavingGoalCommand extends Command {
      * @return The saving goal amount
      */
     public double getSavingGoalAmount() {
-        return this.savingGoalAmount;
+        return Money.toDollars(this.savingGoalCents);
     }
 }
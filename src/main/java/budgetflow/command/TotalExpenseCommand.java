@@ -0,0 +1,80 @@
+package budgetflow.command;
+
+import budgetflow.exception.FinanceException;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.DateParser;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Displays the total expenses between two dates.
+ * <p>
+ * Expected input format:
+ * <code>total-expense from/DD-MM-YYYY to/DD-MM-YYYY</code>
+ * <p>
+ * Both dates are included. The expense list keeps running totals per day, so the total is looked up
+ * without going through the expenses in the range.
+ */
+public class TotalExpenseCommand extends Command {
+    private static final Logger logger = Logger.getLogger(TotalExpenseCommand.class.getName());
+    private static final String COMMAND_PREFIX = "total-expense";
+    private static final Pattern FROM_PATTERN = ArgumentPatterns.FROM;
+    private static final Pattern TO_PATTERN = ArgumentPatterns.TO;
+    private static final String ERROR_INVALID_FORMAT = "Invalid input format. Usage: total-expense "
+            + "from/DD-MM-YYYY to/DD-MM-YYYY";
+    private static final String ERROR_INVALID_DATE = "One or both dates are invalid. Please use DD-MM-YYYY format.";
+    private static final String ERROR_DATE_ORDER = "Start date must be before or equal to end date.";
+
+    /**
+     * Constructs a TotalExpenseCommand with the specified user input.
+     *
+     * @param input the user command input string.
+     */
+    public TotalExpenseCommand(String input) {
+        super(input);
+        this.commandType = CommandType.READ;
+    }
+
+    /**
+     * Executes the command to total the expenses in the provided date range.
+     *
+     * @param incomes     list of incomes (unused in this command).
+     * @param expenseList the list of recorded expenses.
+     * @throws FinanceException if the format is invalid or the dates are incorrect.
+     */
+    @Override
+    public void execute(List<Income> incomes, ExpenseList expenseList) throws FinanceException {
+        String params = input.substring(COMMAND_PREFIX.length()).trim();
+        Matcher fromMatcher = FROM_PATTERN.matcher(params);
+        Matcher toMatcher = TO_PATTERN.matcher(params);
+        if (!fromMatcher.find() || !toMatcher.find()) {
+            throw new FinanceException(ERROR_INVALID_FORMAT);
+        }
+
+        String fromDateStr = fromMatcher.group(1);
+        String toDateStr = toMatcher.group(1);
+        int fromDay = DateParser.parseDate(fromDateStr);
+        int toDay = DateParser.parseDate(toDateStr);
+        if (fromDay == DateParser.INVALID || toDay == DateParser.INVALID) {
+            throw new FinanceException(ERROR_INVALID_DATE);
+        }
+        if (fromDay > toDay) {
+            throw new FinanceException(ERROR_DATE_ORDER);
+        }
+
+        LocalDate fromDate = LocalDate.ofEpochDay(fromDay);
+        LocalDate toDate = LocalDate.ofEpochDay(toDay);
+        expenseList.loadMonths(fromDate, toDate);
+        long totalCents = expenseList.getTotalCentsBetween(fromDate, toDate);
+        this.outputMessage = "Total expenses from " + fromDateStr + " to " + toDateStr + ": $"
+                + Money.format(totalCents) + System.lineSeparator();
+        logger.info("Total expenses calculated: " + this.outputMessage);
+    }
+}
@@ -9,12 +9,17 @@ import budgetflow.exception.MissingDescriptionException;
 import budgetflow.expense.Expense;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
-import budgetflow.storage.Storage;
+import budgetflow.money.Money;
+import budgetflow.storage.JournalRecord;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.ArgumentTokenizer;
+import budgetflow.parser.ArgumentTokenizer.Field;
+import budgetflow.parser.CommandArguments;
 import budgetflow.parser.DateValidator;
 
 import java.util.List;
-import java.util.regex.Pattern;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.logging.Logger;
 
 public class UpdateExpenseCommand extends Command {
@@ -31,15 +36,12 @@ public class UpdateExpenseCommand extends Command {
     private static final String ERROR_INVALID_AMOUNT = "Error: Invalid amount format.";
     private static final String ERROR_INVALID_CATEGORY = "Error: Invalid category.";
     private static final String ERROR_INVALID_DESCRIPTION = "Error: Invalid description.";
-    private static final Pattern CATEGORY_PATTERN = Pattern.compile("category/([^ ]+)");
-    private static final Pattern AMT_PATTERN = Pattern.compile("amt/([0-9]+(\\.[0-9]*)?)");
-    private static final Pattern DESC_PATTERN = Pattern.compile("desc/([^ ]+)");
-    private static final Pattern DATE_PATTERN = Pattern.compile("d/(\\d{2}-\\d{2}-\\d{4})");
+    private static final Pattern AMT_PATTERN = ArgumentPatterns.AMOUNT_VALUE;
+    private static final Pattern DATE_PATTERN = ArgumentPatterns.DATE_VALUE;
 
     private static final String EMPTY_SPACE = " ";
 
     private static final int MINIMUM_INDEX = 0;
-    private static final int UPDATE_PARAMETER_GROUP = 1;
 
     public UpdateExpenseCommand(String input) {
         super(input);
@@ -65,6 +67,8 @@ public class UpdateExpenseCommand extends Command {
             throw new InvalidNumberFormatException(ERROR_MISSING_INDEX);
         }
 
+        // The index refers to the whole list, so every month must be in memory before it is resolved
+        expenseList.loadAllMonths();
         if (expenseList.getSize() == MINIMUM_INDEX) {
             throw new InvalidNumberFormatException(ERROR_EMPTY_EXPENSE_LIST);
         }
@@ -83,38 +87,35 @@ public class UpdateExpenseCommand extends Command {
         Expense existingExpense = expenseList.get(index);
 
         if (parts.length > 1) {
-            extractUpdatedExpense(parts[1], existingExpense);
+            existingExpense = extractUpdatedExpense(input, existingExpense);
         }
 
-        expenseList.updateTotalExpenses();
-        updateStorage(incomes, expenseList);
+        // Replace rather than modify the expense so the list can update its indexes
+        expenseList.set(index, existingExpense);
+        journalRecords.add(JournalRecord.updateExpense(index, existingExpense));
 
         this.outputMessage = "Expense updated: " + existingExpense.getCategory() + ", Description: " +
-                existingExpense.getDescription() + ", Amount: $" + String.format("%.2f", existingExpense.getAmount()) +
+                existingExpense.getDescription() + ", Amount: $" + Money.format(existingExpense.getCents()) +
                 ", Date: " + existingExpense.getDate();
         logger.info("Expense updated successfully: " + existingExpense);
     }
 
-    private static void updateStorage(List<Income> incomes, ExpenseList expenseList) {
-        Storage storage = new Storage();
-        storage.saveData(incomes, expenseList);
-    }
-
-    private void extractUpdatedExpense(String input, Expense existingExpense)
+    private Expense extractUpdatedExpense(String input, Expense existingExpense)
             throws MissingAmountException, MissingDateException, MissingCategoryException, MissingDescriptionException,
             InvalidDateException, InvalidNumberFormatException {
 
-        existingExpense.setCategory(getUpdatedCategory(input, existingExpense.getCategory()));
-        existingExpense.setAmount(getUpdatedAmount(input, existingExpense.getAmount()));
-        existingExpense.setDescription(getUpdatedDescription(input, existingExpense.getDescription()));
-        existingExpense.setDate(getUpdatedDate(input, existingExpense.getDate()));
+        CommandArguments arguments = ArgumentTokenizer.tokenize(input, UPDATE_EXPENSE_COMMAND_PREFIX_LENGTH);
+        String category = getUpdatedCategory(arguments, existingExpense.getCategory());
+        Double amount = getUpdatedAmount(arguments, existingExpense.getAmount());
+        String description = getUpdatedDescription(arguments, existingExpense.getDescription());
+        String date = getUpdatedDate(arguments, existingExpense.getDate());
+        return new Expense(category, description, amount, date);
     }
 
-    private static String getUpdatedCategory(String input, String currentCategory)
+    private static String getUpdatedCategory(CommandArguments arguments, String currentCategory)
             throws MissingCategoryException {
-        Matcher matcher = CATEGORY_PATTERN.matcher(input);
-        if (matcher.find()) {
-            String extractedCategory = matcher.group(UPDATE_PARAMETER_GROUP).trim();
+        String extractedCategory = arguments.get(Field.CATEGORY);
+        if (extractedCategory != null) {
             if (extractedCategory.isEmpty()) {
                 throw new MissingCategoryException(ERROR_INVALID_CATEGORY);
             }
@@ -128,11 +129,10 @@ public class UpdateExpenseCommand extends Command {
         return currentCategory;
     }
 
-    private static String getUpdatedDescription(String input, String currentDescription)
+    private static String getUpdatedDescription(CommandArguments arguments, String currentDescription)
             throws MissingDescriptionException {
-        Matcher matcher = DESC_PATTERN.matcher(input);
-        if (matcher.find()) {
-            String extractedDescription = matcher.group(UPDATE_PARAMETER_GROUP).trim();
+        String extractedDescription = arguments.get(Field.DESCRIPTION);
+        if (extractedDescription != null) {
             if (extractedDescription.isEmpty()) {
                 throw new MissingDescriptionException(ERROR_INVALID_DESCRIPTION);
             }
@@ -146,29 +146,33 @@ public class UpdateExpenseCommand extends Command {
         return currentDescription;
     }
 
-    private static String getUpdatedDate(String input, String currentDate)
+    private static String getUpdatedDate(CommandArguments arguments, String currentDate)
             throws InvalidDateException {
-        Matcher matcher = DATE_PATTERN.matcher(input);
-        if (matcher.find()) {
-            String extractedDate = matcher.group(UPDATE_PARAMETER_GROUP).trim();
-            if (!DateValidator.isValidDate(extractedDate)) {
+        String extractedDate = arguments.get(Field.DATE);
+        if (extractedDate != null) {
+            Matcher matcher = DATE_PATTERN.matcher(extractedDate);
+            if (!matcher.lookingAt() || !DateValidator.isValidDate(matcher.group())) {
+                logger.warning("Invalid date input at column " + arguments.columnOf(Field.DATE) + ": "
+                        + extractedDate);
                 throw new InvalidDateException(ERROR_WRONG_DATE_FORMAT);
             }
-            return extractedDate;
+            return matcher.group();
         }
         return currentDate;
     }
 
-    private static Double getUpdatedAmount(String input, Double currentAmount)
+    private static Double getUpdatedAmount(CommandArguments arguments, Double currentAmount)
             throws InvalidNumberFormatException {
-        Matcher matcher = AMT_PATTERN.matcher(input);
-        if (matcher.find()) {
-            try {
-                return Double.parseDouble(matcher.group(UPDATE_PARAMETER_GROUP).trim());
-            } catch (NumberFormatException e) {
-                throw new InvalidNumberFormatException(ERROR_INVALID_AMOUNT);
-            }
+        String extractedAmount = arguments.get(Field.AMOUNT);
+        if (extractedAmount == null) {
+            return currentAmount;
+        }
+        Matcher matcher = AMT_PATTERN.matcher(extractedAmount);
+        if (!matcher.lookingAt()) {
+            logger.warning("Invalid amount input at column " + arguments.columnOf(Field.AMOUNT) + ": "
+                    + extractedAmount);
+            throw new InvalidNumberFormatException(ERROR_INVALID_AMOUNT);
         }
-        return currentAmount;
+        return Double.parseDouble(matcher.group());
     }
 }
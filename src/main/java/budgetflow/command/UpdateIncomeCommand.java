@@ -5,8 +5,13 @@ import budgetflow.exception.InvalidNumberFormatException;
 import budgetflow.exception.MissingAmountException;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.ArgumentTokenizer;
+import budgetflow.parser.ArgumentTokenizer.Field;
+import budgetflow.parser.CommandArguments;
 import budgetflow.parser.DateValidator;
-import budgetflow.storage.Storage;
+import budgetflow.storage.JournalRecord;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -18,7 +23,7 @@ import java.util.regex.Matcher;
  * The class handles the logic for updating an existing income record in the system.
  * It processes the input command to extract relevant
  * income details (category, amount, date) and updates the
- * corresponding income entry in the list. It also saves the updated data to storage.
+ * corresponding income entry in the list. The change is recorded for the storage to persist.
  */
 public class UpdateIncomeCommand extends Command {
     private static final Logger logger = Logger.getLogger(UpdateIncomeCommand.class.getName());
@@ -37,15 +42,11 @@ public class UpdateIncomeCommand extends Command {
     private static final String ASSERT_POSITIVE_AMOUNT = "Amount must be a positive number.";
     private static final String ASSERT_VALID_DATE = "Date must be valid.";
 
-    private static final String CATEGORY_PATTERN = "category/([^ ]+)";
-    private static final String AMT_PATTERN = "amt/([^ ]+)";
-    private static final String DATE_PATTERN = "d/([^ ]+)";
-    private static final String CORRECT_DATE_PATTERN = "\\d{2}-\\d{2}-\\d{4}";
-    private static final String CORRECT_AMOUNT_PATTERN = "[0-9]+(\\.[0-9]*)?";
+    private static final Pattern CORRECT_DATE_PATTERN = ArgumentPatterns.DATE_VALUE;
+    private static final Pattern CORRECT_AMOUNT_PATTERN = ArgumentPatterns.AMOUNT_VALUE;
 
     private static final int INDEX_POSITION_IN_1_INDEX = 0;
     private static final int MINIMUM_INDEX = 0;
-    private static final int UPDATE_PARAMETER_GROUP = 1;
     private static final int MINIMUM_PARTS_FOR_UPDATE = 2;
 
     /**
@@ -64,7 +65,7 @@ public class UpdateIncomeCommand extends Command {
      * and updating the corresponding income in the list.
      *
      * @param incomes The list of existing incomes.
-     * @param expenseList The expense list (not used in this method, but passed to storage).
+     * @param expenseList The expense list (not used in this command).
      * @throws MissingDateException If the provided date is invalid or missing.
      * @throws InvalidNumberFormatException If the index is in an invalid format.
      * @throws MissingAmountException If the amount is missing in the update input.
@@ -77,6 +78,8 @@ public class UpdateIncomeCommand extends Command {
             throw new InvalidNumberFormatException(ERROR_MISSING_INDEX);
         }
 
+        // The index refers to the whole list, so every month must be in memory before it is resolved
+        expenseList.loadAllMonths();
         if (incomes.isEmpty()) {
             throw new InvalidNumberFormatException(ERROR_EMPTY_INCOME_LIST);
         }
@@ -92,31 +95,19 @@ public class UpdateIncomeCommand extends Command {
         }
 
         Income existingIncome = incomes.get(index);
-        Income updatedIncome = extractUpdatedIncome(parts[1], existingIncome);
+        Income updatedIncome = extractUpdatedIncome(input, existingIncome);
         incomes.set(index, updatedIncome);
-
-        updateStorage(incomes, expenseList);
+        journalRecords.add(JournalRecord.updateIncome(index, updatedIncome));
 
         this.outputMessage = "Income updated: " + updatedIncome.getCategory() + ", Amount: $" +
-                String.format("%.2f", updatedIncome.getAmount()) + ", Date: " + updatedIncome.getDate();
+                Money.format(updatedIncome.getCents()) + ", Date: " + updatedIncome.getDate();
         logger.info("Income updated successfully: " + updatedIncome);
     }
 
-    /**
-     * Saves the updated incomes and expense list to storage.
-     *
-     * @param incomes The updated list of incomes.
-     * @param expenseList The expense list to be saved.
-     */
-    private static void updateStorage(List<Income> incomes, ExpenseList expenseList) {
-        Storage storage = new Storage();
-        storage.saveData(incomes, expenseList);
-    }
-
     /**
      * Extracts the updated income details from the input and creates a new Income object.
      *
-     * @param input The input string containing the updated income details.
+     * @param input The full update-income command containing the updated income details.
      * @param existingIncome The existing income entry to use for any missing information.
      * @return The updated Income object.
      * @throws MissingAmountException If the amount is missing in the input.
@@ -129,17 +120,13 @@ public class UpdateIncomeCommand extends Command {
         Double amount = existingIncome.getAmount();
         String date = existingIncome.getDate();
 
+        CommandArguments arguments = ArgumentTokenizer.tokenize(input, UPDATE_COMMAND_PREFIX_LENGTH);
 
-        Pattern categoryPattern = Pattern.compile(CATEGORY_PATTERN);
-        Pattern amtPattern = Pattern.compile(AMT_PATTERN);
-        Pattern datePattern = Pattern.compile(DATE_PATTERN);
-
+        category = getUpdatedCategory(arguments, category);
 
-        category = getUpdatedCategory(input, categoryPattern, category);
+        amount = getUpdatedAmount(arguments, amount);
 
-        amount = getUpdatedAmount(input, amtPattern, amount);
-
-        date = getUpdatedDate(input, datePattern, date);
+        date = getUpdatedDate(arguments, date);
 
         assert !category.isEmpty() : ASSERT_EMPTY_CATEGORY;
         assert amount > 0 : ASSERT_POSITIVE_AMOUNT;
@@ -151,19 +138,18 @@ public class UpdateIncomeCommand extends Command {
     /**
      * Extracts and validates the updated date from the input string.
      *
-     * @param input The input string containing the updated date.
-     * @param datePattern The compiled regular expression pattern for the date.
+     * @param arguments The fields of the input.
      * @param date The current date to fall back on if not updated.
      * @return The updated date as a String.
      * @throws MissingDateException If the date is invalid.
      */
-    private static String getUpdatedDate(String input, Pattern datePattern, String date)
+    private static String getUpdatedDate(CommandArguments arguments, String date)
             throws MissingDateException {
-        Matcher matcher;
-        matcher = datePattern.matcher(input);
-        if (matcher.find()) {
-            String extractedDate = matcher.group(UPDATE_PARAMETER_GROUP).trim();
-            if (!extractedDate.matches(CORRECT_DATE_PATTERN)) {
+        String extractedDate = arguments.get(Field.DATE);
+        if (extractedDate != null && !extractedDate.isEmpty()) {
+            if (!CORRECT_DATE_PATTERN.matcher(extractedDate).matches()) {
+                logger.warning("Invalid date input at column " + arguments.columnOf(Field.DATE) + ": "
+                        + extractedDate);
                 throw new MissingDateException(ERROR_WRONG_DATE_FORMAT);
             }
             if (!DateValidator.isValidDate(extractedDate)) {
@@ -178,24 +164,21 @@ public class UpdateIncomeCommand extends Command {
     /**
      * Extracts and validates the updated amount from the input string.
      *
-     * @param input The input string containing the updated amount.
-     * @param amtPattern The compiled regular expression pattern for the amount.
+     * @param arguments The fields of the input.
      * @param amount The current amount to fall back on if not updated.
      * @return The updated amount as a Double.
      * @throws MissingAmountException If the amount is invalid.
      */
-    private static Double getUpdatedAmount(String input, Pattern amtPattern, Double amount)
+    private static Double getUpdatedAmount(CommandArguments arguments, Double amount)
             throws MissingAmountException {
-        Matcher matcher;
-        matcher = amtPattern.matcher(input);
-        if (matcher.find()) {
-
-            String extractedAmount = matcher.group(UPDATE_PARAMETER_GROUP).trim();
-            Pattern numericPattern = Pattern.compile(CORRECT_AMOUNT_PATTERN);
-            Matcher numericMatcher = numericPattern.matcher(extractedAmount);
+        String extractedAmount = arguments.get(Field.AMOUNT);
+        if (extractedAmount != null && !extractedAmount.isEmpty()) {
+            Matcher numericMatcher = CORRECT_AMOUNT_PATTERN.matcher(extractedAmount);
             if (numericMatcher.matches()) {
                 amount = Double.parseDouble(extractedAmount);
             } else{
+                logger.warning("Invalid amount input at column " + arguments.columnOf(Field.AMOUNT) + ": "
+                        + extractedAmount);
                 throw new MissingAmountException(ERROR_INVALID_AMOUNT);
             }
         }
@@ -205,17 +188,15 @@ public class UpdateIncomeCommand extends Command {
     /**
      * Extracts and validates the updated category from the input string.
      *
-     * @param input The input string containing the updated category.
-     * @param categoryPattern The compiled regular expression pattern for the category.
+     * @param arguments The fields of the input.
      * @param category The current category to fall back on if not updated.
      * @return The updated category as a String.
      */
-    private static String getUpdatedCategory(String input, Pattern categoryPattern, String category) {
+    private static String getUpdatedCategory(CommandArguments arguments, String category) {
         assert (!(category.isEmpty())) : ASSERT_EMPTY_CATEGORY;
-        Matcher matcher;
-        matcher = categoryPattern.matcher(input);
-        if (matcher.find()) {
-            category = matcher.group(UPDATE_PARAMETER_GROUP).trim();
+        String extractedCategory = arguments.get(Field.CATEGORY);
+        if (extractedCategory != null && !extractedCategory.isEmpty()) {
+            category = extractedCategory;
         }
         return category;
     }
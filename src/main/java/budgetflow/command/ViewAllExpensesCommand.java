@@ -1,57 +1,111 @@
 package budgetflow.command;
 
+import budgetflow.exception.FinanceException;
 import budgetflow.expense.Expense;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.money.Money;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.logging.Logger;
 
 //@@author QuyDatNguyen
 /**
- * Represents a command to view all logged expenses.
+ * Represents a command to view all logged expenses, or one page, the first or the last rows of them.
  * If no expenses have been recorded, an appropriate message is displayed.
+ * <p>
+ * The rows are written straight to the output when it is printed, so listing a large ledger takes time linear in
+ * the rows shown and no memory beyond the row being written.
  */
 public class ViewAllExpensesCommand extends Command {
     private static final Logger logger = Logger.getLogger(ViewAllExpensesCommand.class.getName());
 
+    private static final String COMMAND_PREFIX = "view-all-expense";
     private static final String EMPTY_EXPENSE_LIST_MESSAGE = "No expenses have been logged yet.";
+    private static final String ERROR_INVALID_FORMAT = "Invalid input format. Usage: view-all-expense "
+            + RowRange.OPTIONS_USAGE;
+
+    private ExpenseList expenseList;
+    private RowRange rowRange;
 
     /**
      * Constructs a ViewAllExpensesCommand.
      * This command is used to display all recorded expenses.
      */
     public ViewAllExpensesCommand() {
-        super();
+        this(COMMAND_PREFIX);
+    }
+
+    /**
+     * Constructs a ViewAllExpensesCommand that may display only some of the expenses.
+     *
+     * @param input The user input, optionally followed by <code>page/P size/S</code>, <code>head/N</code>
+     *     or <code>tail/N</code>.
+     */
+    public ViewAllExpensesCommand(String input) {
+        super(input);
         this.commandType = CommandType.READ;
     }
 
     /**
-     * Executes the command to list all logged expenses.
+     * Executes the command to list the logged expenses.
      * If the expense list is empty, a message indicating no expenses are recorded is displayed.
-     * Otherwise, all expenses along with their total amount are displayed.
+     * Otherwise, the selected expenses along with the total amount of all expenses are displayed.
      *
      * @param incomes     The list of incomes (not used in this command).
      * @param expenseList The list of expenses to be displayed.
+     * @throws FinanceException If the paging options are invalid.
      */
     @Override
-    public void execute(List<Income> incomes, ExpenseList expenseList) {
+    public void execute(List<Income> incomes, ExpenseList expenseList) throws FinanceException {
+        this.rowRange = RowRange.parse(input.substring(COMMAND_PREFIX.length()), ERROR_INVALID_FORMAT);
+        this.expenseList = null;
+        this.outputMessage = null;
+        // Rows are numbered by their index in the whole list, so every month must be in memory
+        expenseList.loadAllMonths();
         if (expenseList.getSize() == 0) {
             logger.info("Viewing empty expense list");
             this.outputMessage = EMPTY_EXPENSE_LIST_MESSAGE + System.lineSeparator();
             return;
         }
         assert expenseList.getSize() > 0 : "List size must be positive";
-        String message = "Expenses log:" + System.lineSeparator();
-        for (int i = 0; i < expenseList.getSize(); i++) {
+        this.expenseList = expenseList;
+        logger.info("Viewing expense list of " + expenseList.getSize() + " expenses");
+    }
+
+    @Override
+    public String getOutputMessage() {
+        return expenseList == null ? outputMessage : renderOutput();
+    }
+
+    @Override
+    public void writeOutput(Appendable out) throws IOException {
+        if (expenseList == null) {
+            out.append(outputMessage);
+            return;
+        }
+        int size = expenseList.getSize();
+        int start = rowRange.start(size);
+        int end = rowRange.end(size);
+        out.append("Expenses log:").append(System.lineSeparator());
+        for (int i = start; i < end; i++) {
             Expense expense = expenseList.get(i);
-            message += (i + 1) + " | " + expense.getCategory() + " | " +
-                    expense.getDescription() + " | $" +
-                    String.format("%.2f", expense.getAmount()) + " | " +
-                    expense.getDate() + System.lineSeparator();
+            out.append(String.valueOf(i + 1)).append(" | ").append(expense.getCategory()).append(" | ")
+                    .append(expense.getDescription()).append(" | $").append(Money.format(expense.getCents()))
+                    .append(" | ").append(expense.getDate()).append(System.lineSeparator());
+        }
+        if (!rowRange.isAll()) {
+            out.append(getShownMessage(start, end, size)).append(System.lineSeparator());
+        }
+        out.append("Total Expenses: $").append(Money.format(expenseList.getTotalCents()))
+                .append(System.lineSeparator());
+    }
+
+    private static String getShownMessage(int start, int end, int size) {
+        if (start == end) {
+            return "No expenses on this page (" + size + " in total)";
         }
-        message += "Total Expenses: $" + String.format("%.2f", expenseList.getTotalExpenses()) + System.lineSeparator();
-        this.outputMessage = message;
-        logger.info("Viewing expense list: " + expenseList);
+        return "Showing expenses " + (start + 1) + "-" + end + " of " + size;
     }
 }
@@ -0,0 +1,10 @@
+package budgetflow.exception;
+
+/**
+ * Raise error if changes that were already applied could not be saved to storage
+ */
+public class PersistenceException extends FinanceException {
+    public PersistenceException(String message) {
+        super(message);
+    }
+}
@@ -1,30 +1,91 @@
 package budgetflow.expense;
 
+import budgetflow.money.Money;
+import budgetflow.parser.DateParser;
+
+/**
+ * An expense. The amount is kept in whole cents. The date is parsed once, when it is set, and kept as an
+ * epoch day; a date that is not a valid dd-MM-yyyy date is kept as given instead.
+ */
 public class Expense {
     private String description;
-    private double amount;
-    private String date;
+    private long cents;
+    private int epochDay = DateParser.INVALID;
+    private String invalidDate;
     private String category;
 
     public Expense() {}
 
     public Expense(String category, String description, double amount, String date) {
         this.description = description;
-        this.amount = amount;
-        this.date = date;
+        this.cents = Money.toCents(amount);
+        setDate(date);
+        this.category = category;
+    }
+
+    /**
+     * Creates an expense from an amount already in cents and a date already parsed
+     *
+     * @param category the category
+     * @param description the description
+     * @param cents the amount in cents
+     * @param epochDay the date as an epoch day
+     * @throws IllegalArgumentException if the day is {@link DateParser#INVALID}, as the date as given would be lost;
+     *     such expenses are created with {@link #fromCents} instead
+     */
+    public Expense(String category, String description, long cents, int epochDay) {
+        this(category, description, cents, epochDay, null);
+        if (epochDay == DateParser.INVALID) {
+            throw new IllegalArgumentException("An expense with an invalid date needs the date as given");
+        }
+    }
+
+    private Expense(String category, String description, long cents, int epochDay, String invalidDate) {
+        this.description = description;
+        this.cents = cents;
+        this.epochDay = epochDay;
+        this.invalidDate = invalidDate;
         this.category = category;
     }
 
+    /**
+     * Creates an expense from an amount already in cents and a date that is not parsed yet
+     *
+     * @param category the category
+     * @param description the description
+     * @param cents the amount in cents
+     * @param date the date in dd-MM-yyyy format, kept as given if it is not a valid date
+     * @return the expense
+     */
+    public static Expense fromCents(String category, String description, long cents, String date) {
+        int epochDay = DateParser.parseDate(date);
+        return new Expense(category, description, cents, epochDay, epochDay == DateParser.INVALID ? date : null);
+    }
+
     public String getDescription() {
         return description;
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toDollars(cents);
+    }
+
+    public long getCents() {
+        return cents;
     }
 
+    /**
+     * Returns the date in dd-MM-yyyy format, or the date as given if it was not a valid date
+     */
     public String getDate() {
-        return date;
+        return epochDay == DateParser.INVALID ? invalidDate : DateParser.formatDate(epochDay);
+    }
+
+    /**
+     * Returns the date as an epoch day, or {@link DateParser#INVALID} if it is not a valid date
+     */
+    public int getEpochDay() {
+        return epochDay;
     }
 
     public String getCategory() {
@@ -37,7 +98,7 @@ public class Expense {
 
     @Override
     public String toString() {
-        return category + " | " + description + " | $" + String.format("%.2f", amount) + " | " + date;
+        return category + " | " + description + " | $" + Money.format(cents) + " | " + getDate();
     }
 
     public void setDescription(String description) {
@@ -45,10 +106,11 @@ public class Expense {
     }
 
     public void setAmount(double amount) {
-        this.amount = amount;
+        this.cents = Money.toCents(amount);
     }
 
     public void setDate(String date) {
-        this.date = date;
+        this.epochDay = DateParser.parseDate(date);
+        this.invalidDate = epochDay == DateParser.INVALID ? date : null;
     }
 }
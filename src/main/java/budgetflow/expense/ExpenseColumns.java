@@ -0,0 +1,226 @@
+package budgetflow.expense;
+
+import budgetflow.money.Money;
+import budgetflow.parser.DateParser;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The fields of a list of expenses, stored column by column in primitive arrays.
+ * <p>
+ * Amounts are kept in whole cents, dates as epoch days and categories as ids into a dictionary of category names,
+ * so aggregations walk plain arrays instead of expense objects. Dates that are not valid dd-MM-yyyy dates are kept
+ * as they were given in an overflow column that is only allocated once such a date is stored.
+ * {@link Expense} objects are created only when a row is read back.
+ */
+class ExpenseColumns {
+    static final int INVALID_DAY = DateParser.INVALID;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private String[] dateTexts;
+    private int size;
+    private int modCount;
+
+    private final ArrayList<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryIdsByName = new HashMap<>();
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of changes made to the rows so far, for views to detect that they are out of date
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    long centsAt(int position) {
+        return cents[position];
+    }
+
+    int dayAt(int position) {
+        return days[position];
+    }
+
+    int categoryIdAt(int position) {
+        return categoryIds[position];
+    }
+
+    String descriptionAt(int position) {
+        return descriptions[position];
+    }
+
+    String categoryAt(int position) {
+        return categoryNames.get(categoryIds[position]);
+    }
+
+    /**
+     * Returns the date of a row exactly as it was stored
+     */
+    String dateAt(int position) {
+        if (dateTexts != null && dateTexts[position] != null) {
+            return dateTexts[position];
+        }
+        return days[position] == INVALID_DAY ? null : formatDay(days[position]);
+    }
+
+    /**
+     * Returns the id of a category, or -1 if no row has ever had that category
+     */
+    int categoryIdOf(String category) {
+        return categoryIdsByName.getOrDefault(category, -1);
+    }
+
+    Expense materialize(int position) {
+        if (days[position] == INVALID_DAY) {
+            return Expense.fromCents(categoryAt(position), descriptions[position], cents[position], dateAt(position));
+        }
+        return new Expense(categoryAt(position), descriptions[position], cents[position], days[position]);
+    }
+
+    /**
+     * Writes a row in the same format as {@link Expense#toString}, without creating the expense
+     */
+    void appendRow(Appendable out, int position) throws IOException {
+        out.append(categoryAt(position)).append(" | ").append(descriptions[position]).append(" | $")
+                .append(Money.format(cents[position])).append(" | ").append(dateAt(position));
+    }
+
+    /**
+     * Copies the columns array by array, without reading the rows one by one
+     */
+    ExpenseColumns copy() {
+        ExpenseColumns copy = new ExpenseColumns();
+        int length = Math.max(size, 1);
+        copy.cents = Arrays.copyOf(cents, length);
+        copy.days = Arrays.copyOf(days, length);
+        copy.categoryIds = Arrays.copyOf(categoryIds, length);
+        copy.descriptions = Arrays.copyOf(descriptions, length);
+        copy.dateTexts = dateTexts == null ? null : Arrays.copyOf(dateTexts, length);
+        copy.size = size;
+        copy.categoryNames.addAll(categoryNames);
+        copy.categoryIdsByName.putAll(categoryIdsByName);
+        return copy;
+    }
+
+    void add(Expense expense) {
+        ensureCapacity(size + 1);
+        size++;
+        set(size - 1, expense);
+    }
+
+    /**
+     * Appends a copy of a row of another set of columns without going through an {@link Expense}
+     */
+    void addRowOf(ExpenseColumns source, int position) {
+        ensureCapacity(size + 1);
+        int target = size++;
+        modCount++;
+        cents[target] = source.cents[position];
+        days[target] = source.days[position];
+        categoryIds[target] = idOfCategory(source.categoryAt(position));
+        descriptions[target] = source.descriptions[position];
+        setDateText(target, source.dateTexts == null ? null : source.dateTexts[position]);
+    }
+
+    /**
+     * Inserts copies of a range of rows of another set of columns at the given position, shifting the following
+     * rows up
+     */
+    void insertRowsOf(int position, ExpenseColumns source, int from, int to) {
+        int count = to - from;
+        ensureCapacity(size + count);
+        int moved = size - position;
+        System.arraycopy(cents, position, cents, position + count, moved);
+        System.arraycopy(days, position, days, position + count, moved);
+        System.arraycopy(categoryIds, position, categoryIds, position + count, moved);
+        System.arraycopy(descriptions, position, descriptions, position + count, moved);
+        if (dateTexts != null) {
+            System.arraycopy(dateTexts, position, dateTexts, position + count, moved);
+        }
+        size += count;
+        modCount++;
+        for (int i = 0; i < count; i++) {
+            int target = position + i;
+            cents[target] = source.cents[from + i];
+            days[target] = source.days[from + i];
+            categoryIds[target] = idOfCategory(source.categoryAt(from + i));
+            descriptions[target] = source.descriptions[from + i];
+            setDateText(target, source.dateTexts == null ? null : source.dateTexts[from + i]);
+        }
+    }
+
+    void set(int position, Expense expense) {
+        modCount++;
+        cents[position] = expense.getCents();
+        days[position] = expense.getEpochDay();
+        setDateText(position, days[position] == INVALID_DAY ? expense.getDate() : null);
+        categoryIds[position] = idOfCategory(expense.getCategory());
+        descriptions[position] = expense.getDescription();
+    }
+
+    void remove(int position) {
+        int moved = size - position - 1;
+        System.arraycopy(cents, position + 1, cents, position, moved);
+        System.arraycopy(days, position + 1, days, position, moved);
+        System.arraycopy(categoryIds, position + 1, categoryIds, position, moved);
+        System.arraycopy(descriptions, position + 1, descriptions, position, moved);
+        if (dateTexts != null) {
+            System.arraycopy(dateTexts, position + 1, dateTexts, position, moved);
+        }
+        size--;
+        modCount++;
+        descriptions[size] = null;
+        if (dateTexts != null) {
+            dateTexts[size] = null;
+        }
+    }
+
+    private void setDateText(int position, String dateText) {
+        if (dateTexts == null) {
+            if (dateText == null) {
+                return;
+            }
+            dateTexts = new String[cents.length];
+        }
+        dateTexts[position] = dateText;
+    }
+
+    private int idOfCategory(String category) {
+        Integer id = categoryIdsByName.get(category);
+        if (id == null) {
+            id = categoryNames.size();
+            categoryNames.add(category);
+            categoryIdsByName.put(category, id);
+        }
+        return id;
+    }
+
+    private static String formatDay(int day) {
+        return DateParser.formatDate(day);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= cents.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, cents.length * 2);
+        cents = Arrays.copyOf(cents, newLength);
+        days = Arrays.copyOf(days, newLength);
+        categoryIds = Arrays.copyOf(categoryIds, newLength);
+        descriptions = Arrays.copyOf(descriptions, newLength);
+        if (dateTexts != null) {
+            dateTexts = Arrays.copyOf(dateTexts, newLength);
+        }
+    }
+}
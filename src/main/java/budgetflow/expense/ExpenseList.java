@@ -3,62 +3,188 @@ package budgetflow.expense;
 import budgetflow.exception.InvalidDateException;
 import budgetflow.exception.InvalidNumberFormatException;
 import budgetflow.exception.InvalidTagException;
-import budgetflow.parser.DateValidator;
+import budgetflow.index.CaseInsensitiveIndex;
+import budgetflow.index.PrefixSumIndex;
+import budgetflow.index.RowIds;
+import budgetflow.index.SortedKeyIndex;
+import budgetflow.index.SubstringIndex;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.DateParser;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.time.Year;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
 
+/**
+ * The list of recorded expenses.
+ * <p>
+ * Every expense gets a row id that never changes while it is in the list, and row ids increase in list order,
+ * so the position of a row is a binary search over the ids. Secondary indexes map keys to row ids; they are
+ * built by the first lookup that needs them and then kept up to date by {@link #add}, {@link #set} and
+ * {@link #delete}, so expenses in the list must be replaced through {@link #set} rather than modified in place.
+ * Lists that are never searched, such as lookup results, never pay for indexing.
+ * <p>
+ * The expenses themselves are stored column by column (see {@link ExpenseColumns}); {@link #get} creates a new
+ * {@link Expense} from the columns on every call.
+ */
 public class ExpenseList {
-    private static final String AMT_PATTERN = "[0-9]+(\\.[0-9]*)?";
-    private static final String DATE_PATTERN = "dd-MM-yyyy";
+    static final Pattern AMT_PATTERN = ArgumentPatterns.AMOUNT_VALUE;
     private static final String EMPTY_EXPENSE_LIST_MESSAGE =
             "There is currently no expense in your list right now. Please add more expenses to continue";
-    private static final String ERROR_INVALID_DATE_FORMAT = "Please enter valid date format: dd-MM-yyyy";
-    private static final String ASSERT_FAIL_INCORRECT_DATE_FORMAT =
-            "Date inside the list is at incorrect date format";
-    private static final String TAG_DESCRIPTION = "/desc";
-    private static final String TAG_CATEGORY = "/category";
-    private static final String TAG_AMOUNT = "/amt";
-    private static final String TAG_DATE = "/d";
-    private static final String TAG_AMOUNT_RANGE = "/amtrange";
-    private static final String TAG_DATE_RANGE = "/drange";
-    private static final String ERROR_INVALID_TAG = "Please enter valid tag: /desc | /amt| /d| /category";
-    private static final String ERROR_INVALID_AMOUNT_FORMAT = "Please enter valid float number after /amt";
-    private final ArrayList<Expense> innerList = new ArrayList<>();
-    private double totalExpenses;
+    static final String ERROR_INVALID_DATE_FORMAT = "Please enter valid date format: dd-MM-yyyy";
+    static final String TAG_DESCRIPTION = "/desc";
+    static final String TAG_CATEGORY = "/category";
+    static final String TAG_AMOUNT = "/amt";
+    static final String TAG_DATE = "/d";
+    static final String TAG_AMOUNT_RANGE = "/amtrange";
+    static final String TAG_DATE_RANGE = "/drange";
+    static final String TAG_TOP = "/top";
+    static final String ERROR_INVALID_TAG = "Please enter valid tag: /desc | /amt| /d| /category";
+    static final String ERROR_INVALID_AMOUNT_FORMAT = "Please enter valid float number after /amt";
+    private static final String ERROR_INVALID_TOP_COUNT = "Please enter a positive whole number after /top";
+    private final ExpenseColumns columns;
+    private final RowIds rowIds;
+    private final SortedKeyIndex dateIndex = new SortedKeyIndex();
+    private final SortedKeyIndex amountIndex = new SortedKeyIndex();
+    private final CaseInsensitiveIndex categoryIndex = new CaseInsensitiveIndex();
+    private final SubstringIndex descriptionIndex = new SubstringIndex();
+    private final CaseInsensitiveIndex descriptionKeyIndex = new CaseInsensitiveIndex();
+    private boolean isIndexed;
+    private boolean isTotaled;
+    private long totalCents;
+    private final MonthlyTotals monthlyTotals = new MonthlyTotals();
+    private final PrefixSumIndex dailyTotals = new PrefixSumIndex();
+    private MonthLoader monthLoader;
 
     public ExpenseList() {
+        this(new ExpenseColumns(), new RowIds(), true);
+    }
+
+    private ExpenseList(ExpenseColumns columns, RowIds rowIds, boolean isTotaled) {
+        this.columns = columns;
+        this.rowIds = rowIds;
+        this.isTotaled = isTotaled;
     }
 
     public ExpenseList(Expense... expenses) {
-        final List<Expense> initialExpenses = Arrays.asList(expenses);
-        innerList.addAll(initialExpenses);
+        this(Arrays.asList(expenses));
     }
 
     public ExpenseList(Collection<Expense> expenses) {
-        innerList.addAll(expenses);
+        this();
+        for (Expense expense : expenses) {
+            add(expense);
+        }
+    }
+
+    /**
+     * Sets the loader used to bring months that are not yet in memory into this list on demand
+     * @param monthLoader loader of stored months, or null if all data is always in memory
+     */
+    public void setMonthLoader(MonthLoader monthLoader) {
+        this.monthLoader = monthLoader;
+    }
+
+    /**
+     * Make sure every stored entry dated between the two dates is in memory
+     * @param startDate first date of the range
+     * @param endDate last date of the range
+     */
+    public void loadMonths(LocalDate startDate, LocalDate endDate) {
+        if (monthLoader == null || startDate.isAfter(endDate)) {
+            return;
+        }
+        monthLoader.loadMonths(YearMonth.from(startDate), YearMonth.from(endDate));
+    }
+
+    void loadMonths(int startDay, int endDay) {
+        if (monthLoader != null) {
+            loadMonths(LocalDate.ofEpochDay(startDay), LocalDate.ofEpochDay(endDay));
+        }
+    }
+
+    /**
+     * Make sure every stored entry is in memory, before a command that works on the whole ledger or
+     * addresses entries by their index
+     */
+    public void loadAllMonths() {
+        if (monthLoader != null) {
+            monthLoader.loadMonths(YearMonth.of(Year.MIN_VALUE, 1), YearMonth.of(Year.MAX_VALUE, 12));
+        }
+    }
+
+    /**
+     * Make sure every stored entry from the month of the given date is in memory
+     * @param date a date in dd-MM-yyyy format, ignored if invalid
+     */
+    public void loadMonthOf(String date) {
+        int day = DateParser.parseDate(date);
+        if (day != DateParser.INVALID) {
+            loadMonths(day, day);
+        }
     }
 
     public int getSize() {
-        return innerList.size();
+        return columns.size();
     }
 
     /**
      * Get expense object from the list using its index
      *
      * @param index of the desired expense to get
-     * @return the expense with matching index
+     * @return a new expense object holding the expense with matching index
      */
     public Expense get(int index) {
-        return innerList.get(index);
+        checkIndex(index);
+        return columns.materialize(index);
+    }
+
+    /*
+     * Read single fields of an expense straight from the columns, for writers that go through every row and do
+     * not need an expense object per row
+     */
+
+    public long getCentsAt(int index) {
+        checkIndex(index);
+        return columns.centsAt(index);
+    }
+
+    public int getEpochDayAt(int index) {
+        checkIndex(index);
+        return columns.dayAt(index);
+    }
+
+    public String getCategoryAt(int index) {
+        checkIndex(index);
+        return columns.categoryAt(index);
+    }
+
+    public String getDescriptionAt(int index) {
+        checkIndex(index);
+        return columns.descriptionAt(index);
+    }
+
+    /**
+     * Get the date of an expense exactly as it was stored, which is the date as given if it is not a valid date
+     */
+    public String getDateAt(int index) {
+        checkIndex(index);
+        return columns.dateAt(index);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= columns.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + columns.size());
+        }
     }
 
     /**
-     * Find all expenses by either description, category, amount or date
+     * Find all expenses by either description, category, amount or date, and copy them into a new list
      * @param tag indicates whether user wants to find expense
      *            based on the description, category, amount or date
      * @param keyword keyword to find expense from indicated tag
@@ -69,6 +195,21 @@ public class ExpenseList {
      */
     public ExpenseList getByTag(String tag, String keyword) throws InvalidTagException,
             InvalidNumberFormatException, InvalidDateException {
+        return findByTag(tag, keyword).toExpenseList();
+    }
+
+    /**
+     * Find all expenses by either description, category, amount or date, without copying them
+     * @param tag indicates whether user wants to find expense
+     *            based on the description, category, amount or date
+     * @param keyword keyword to find expense from indicated tag
+     * @return a view of the matching expenses, valid until this list is changed
+     * @throws InvalidTagException if user attempts to find expense from an unknown tag
+     * @throws InvalidNumberFormatException if keyword for tag /amt does not have valid double number format
+     * @throws InvalidDateException if keyword for tag /d does not follow dd-MM-yyyy format
+     */
+    public ExpenseView findByTag(String tag, String keyword) throws InvalidTagException,
+            InvalidNumberFormatException, InvalidDateException {
         return switch (tag) {
         case TAG_DESCRIPTION -> getExpenseByDesc(keyword);
         case TAG_CATEGORY -> getExpenseByCategory(keyword);
@@ -76,48 +217,37 @@ public class ExpenseList {
         case TAG_DATE -> getExpenseByDate(keyword);
         case TAG_AMOUNT_RANGE -> getExpenseByAmountRange(keyword);
         case TAG_DATE_RANGE -> getExpenseByDateRange(keyword);
+        case TAG_TOP -> getLargestExpenses(keyword);
         default -> throw new InvalidTagException(ERROR_INVALID_TAG);
         };
     }
 
-    private ExpenseList getExpenseByDateRange(String keyword) throws InvalidDateException {
-        String[] dateRange = keyword.split("\\s+");
-        if (!DateValidator.isValidDate(dateRange[0]) || !DateValidator.isValidDate(dateRange[1])) {
+    private ExpenseView getExpenseByDateRange(String keyword) throws InvalidDateException {
+        String[] dateRange = ArgumentPatterns.WHITESPACE.split(keyword);
+        int startDay = DateParser.parseDate(dateRange[0]);
+        int endDay = dateRange.length > 1 ? DateParser.parseDate(dateRange[1]) : DateParser.INVALID;
+        if (startDay == DateParser.INVALID || endDay == DateParser.INVALID) {
             throw new InvalidDateException(ERROR_INVALID_DATE_FORMAT);
         }
-        LocalDate startDate = parseLocalDateFromString(dateRange[0]);
-        LocalDate endDate = parseLocalDateFromString(dateRange[1]);
-        ExpenseList outExpenses = new ExpenseList();
-        for (int i = 0; i < this.getSize(); i++) {
-            assert DateValidator.isValidDate(this.get(i).getDate()) : ASSERT_FAIL_INCORRECT_DATE_FORMAT;
-            LocalDate date = parseLocalDateFromString(this.get(i).getDate());
-            if (!date.isBefore(startDate) && !date.isAfter(endDate)) {
-                outExpenses.add(this.get(i));
-            }
-        }
-        return outExpenses;
+        loadMonths(startDay, endDay);
+        ensureIndexed();
+        return getRows(dateIndex.rowsBetween(startDay, endDay));
     }
 
-    private ExpenseList getExpenseByAmountRange(String keyword) throws InvalidNumberFormatException {
-        ExpenseList outExpenses = new ExpenseList();
-
-        String[] amountRange = keyword.split("\\s+");
-        Double startAmount;
-        Double endAmount;
+    private ExpenseView getExpenseByAmountRange(String keyword) throws InvalidNumberFormatException {
+        loadAllMonths();
+        String[] amountRange = ArgumentPatterns.WHITESPACE.split(keyword);
+        long startCents;
+        long endCents;
         try {
-            startAmount = Double.parseDouble(amountRange[0]);
-            endAmount = Double.parseDouble(amountRange[1]);
+            startCents = Money.parseCents(amountRange[0]);
+            endCents = Money.parseCents(amountRange[1]);
         } catch (NumberFormatException e) {
             throw new InvalidNumberFormatException(ERROR_INVALID_AMOUNT_FORMAT);
         }
 
-        for (int i = 0; i < this.getSize(); i++) {
-            Double amount = this.get(i).getAmount();
-            if (amount.compareTo(startAmount) >= 0 && amount.compareTo(endAmount) <= 0) {
-                outExpenses.add(this.get(i));
-            }
-        }
-        return outExpenses;
+        ensureIndexed();
+        return getRows(amountIndex.rowsBetween(startCents, endCents));
     }
 
     /**
@@ -126,15 +256,13 @@ public class ExpenseList {
      * @param keyword keyword to find expense
      * @return expense with des description matching keyword or null expense object if not found
      */
-    private ExpenseList getExpenseByDesc(String keyword) {
-        ExpenseList outExpenses = new ExpenseList();
-        for (int i = 0; i < this.getSize(); i++) {
-            String desc = this.get(i).getDescription();
-            if (desc != null && desc.contains(keyword)) {
-                outExpenses.add(this.get(i));
-            }
-        }
-        return outExpenses;
+    private ExpenseView getExpenseByDesc(String keyword) {
+        loadAllMonths();
+        ensureIndexed();
+        return getRows(descriptionIndex.rowsContaining(keyword, rowIds, rowId -> {
+            String desc = columns.descriptionAt(getPosition(rowId));
+            return desc != null && desc.contains(keyword);
+        }));
     }
 
     /**
@@ -142,15 +270,23 @@ public class ExpenseList {
      * @param keyword the category user wishes to find from
      * @return all expenses from the category if found, null otherwise
      */
-    private ExpenseList getExpenseByCategory(String keyword) {
-        ExpenseList outExpenses = new ExpenseList();
-        for (int i = 0; i < this.getSize(); i++) {
-            String category = this.get(i).getCategory();
-            if (category.equals(keyword)) {
-                outExpenses.add(this.get(i));
+    private ExpenseView getExpenseByCategory(String keyword) {
+        loadAllMonths();
+        int categoryId = columns.categoryIdOf(keyword);
+        if (categoryId < 0) {
+            return new ExpenseView(columns, new int[0]);
+        }
+        ensureIndexed();
+        // The index ignores case, so keep only the rows whose category matches exactly
+        int[] positions = categoryIndex.rowsFor(keyword);
+        int count = 0;
+        for (int rowId : positions) {
+            int position = getPosition(rowId);
+            if (columns.categoryIdAt(position) == categoryId) {
+                positions[count++] = position;
             }
         }
-        return outExpenses;
+        return new ExpenseView(columns, Arrays.copyOf(positions, count));
     }
 
     /**
@@ -159,45 +295,204 @@ public class ExpenseList {
      * @return all expenses with matching amount
      * @throws InvalidNumberFormatException if amount keyword is not at valid amount format
      */
-    private ExpenseList getExpenseByAmount(String keyword) throws InvalidNumberFormatException {
-        if (!keyword.matches(AMT_PATTERN)) {
+    private ExpenseView getExpenseByAmount(String keyword) throws InvalidNumberFormatException {
+        loadAllMonths();
+        if (!AMT_PATTERN.matcher(keyword).matches()) {
             throw new InvalidNumberFormatException(ERROR_INVALID_AMOUNT_FORMAT);
         }
-        ExpenseList outExpenses = new ExpenseList();
-        Double keywordAmount;
+        long keywordCents;
         try {
-            keywordAmount = Double.parseDouble(keyword);
+            keywordCents = Money.parseCents(keyword);
         } catch (NumberFormatException e) {
             throw new InvalidNumberFormatException(ERROR_INVALID_AMOUNT_FORMAT);
         }
-        for (int i = 0; i < this.getSize(); i++) {
-            Double amount = this.get(i).getAmount();
-            if (amount.compareTo(keywordAmount) == 0) {
-                outExpenses.add(this.get(i));
-            }
+        ensureIndexed();
+        return getRows(amountIndex.rowsEqualTo(keywordCents));
+    }
+
+    /**
+     * Find the expenses with the largest amounts
+     * @param keyword the number of expenses to return
+     * @return up to that many expenses, largest amount first
+     * @throws InvalidNumberFormatException if the number is not a positive whole number
+     */
+    private ExpenseView getLargestExpenses(String keyword) throws InvalidNumberFormatException {
+        loadAllMonths();
+        int count;
+        try {
+            count = Integer.parseInt(keyword.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidNumberFormatException(ERROR_INVALID_TOP_COUNT);
+        }
+        if (count <= 0) {
+            throw new InvalidNumberFormatException(ERROR_INVALID_TOP_COUNT);
         }
-        return outExpenses;
+        ensureIndexed();
+        return getRows(amountIndex.rowsWithLargestKeys(count));
     }
 
-    private ExpenseList getExpenseByDate(String keyword) throws InvalidDateException {
-        if (!DateValidator.isValidDate(keyword)) {
+    private ExpenseView getExpenseByDate(String keyword) throws InvalidDateException {
+        int keywordDay = DateParser.parseDate(keyword);
+        if (keywordDay == DateParser.INVALID) {
             throw new InvalidDateException(ERROR_INVALID_DATE_FORMAT);
         }
-        LocalDate keywordDate = parseLocalDateFromString(keyword);
-        ExpenseList outExpenses = new ExpenseList();
-        for (int i = 0; i < this.getSize(); i++) {
-            assert DateValidator.isValidDate(this.get(i).getDate()) : ASSERT_FAIL_INCORRECT_DATE_FORMAT;
-            LocalDate date = parseLocalDateFromString(this.get(i).getDate());
-            if (date.isEqual(keywordDate)) {
-                outExpenses.add(this.get(i));
-            }
+        loadMonths(keywordDay, keywordDay);
+        ensureIndexed();
+        return getRows(dateIndex.rowsEqualTo(keywordDay));
+    }
+
+
+    /**
+     * View the expenses with the given row ids, turning the ids into positions in place
+     * @param rowIdsInOrder row ids in the order the expenses should be read
+     * @return a view of the expenses in that order
+     */
+    private ExpenseView getRows(int[] rowIdsInOrder) {
+        for (int i = 0; i < rowIdsInOrder.length; i++) {
+            rowIdsInOrder[i] = getPosition(rowIdsInOrder[i]);
+        }
+        return new ExpenseView(columns, rowIdsInOrder);
+    }
+
+    /**
+     * Estimate how many expenses meet a query condition from the size of its index entries
+     * @param condition the condition
+     * @return an upper bound on the number of matching expenses
+     */
+    int estimateRows(ExpenseQuery.Condition condition) {
+        ensureIndexed();
+        return switch (condition.kind) {
+        case DESCRIPTION -> descriptionIndex.estimateRowsContaining(condition.text, columns.size());
+        case CATEGORY -> columns.categoryIdOf(condition.text) < 0 ? 0 : categoryIndex.countFor(condition.text);
+        case AMOUNT -> amountIndex.countBetween(condition.from, condition.to);
+        case DATE -> dateIndex.countBetween(condition.from, condition.to);
+        };
+    }
+
+    /**
+     * Find the expenses that meet a query condition through its index
+     * @param condition the condition
+     * @return row ids of the matching expenses in ascending order
+     */
+    int[] rowIdsMatching(ExpenseQuery.Condition condition) {
+        ensureIndexed();
+        return switch (condition.kind) {
+        case DESCRIPTION -> descriptionIndex.rowsContaining(condition.text, rowIds,
+                rowId -> matches(condition, getPosition(rowId)));
+        case CATEGORY -> Arrays.stream(categoryIndex.rowsFor(condition.text))
+                .filter(rowId -> matches(condition, getPosition(rowId)))
+                .toArray();
+        case AMOUNT -> amountIndex.rowsBetween(condition.from, condition.to);
+        case DATE -> dateIndex.rowsBetween(condition.from, condition.to);
+        };
+    }
+
+    /**
+     * Check a query condition against the columns of one expense
+     * @param condition the condition
+     * @param position the index of the expense in this list
+     * @return whether the expense meets the condition
+     */
+    boolean matches(ExpenseQuery.Condition condition, int position) {
+        return switch (condition.kind) {
+        case DESCRIPTION -> columns.descriptionAt(position) != null
+                && columns.descriptionAt(position).contains(condition.text);
+        case CATEGORY -> columns.categoryIdAt(position) == columns.categoryIdOf(condition.text);
+        case AMOUNT -> columns.centsAt(position) >= condition.from && columns.centsAt(position) <= condition.to;
+        case DATE -> columns.dayAt(position) >= condition.from && columns.dayAt(position) <= condition.to;
+        };
+    }
+
+    ExpenseView viewOf(int[] positions) {
+        return new ExpenseView(columns, positions);
+    }
+
+    int positionOf(int rowId) {
+        return getPosition(rowId);
+    }
+
+    private int getPosition(int rowId) {
+        int position = rowIds.positionOf(rowId);
+        assert position >= 0 : "Index refers to a row that is not in the list";
+        return position;
+    }
+
+    private void ensureIndexed() {
+        if (isIndexed) {
+            return;
+        }
+        isIndexed = true;
+        for (int i = 0; i < columns.size(); i++) {
+            addToIndexes(i, rowIds.get(i));
         }
-        return outExpenses;
     }
 
-    private LocalDate parseLocalDateFromString(String keyword) {
-        DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
-        return LocalDate.parse(keyword, inputFormatter);
+    private void addToIndexes(int position, int rowId) {
+        if (!isIndexed) {
+            return;
+        }
+        dateIndex.add(columns.dayAt(position), rowId);
+        amountIndex.add(columns.centsAt(position), rowId);
+        categoryIndex.add(columns.categoryAt(position), rowId);
+        descriptionIndex.add(columns.descriptionAt(position), rowId);
+        descriptionKeyIndex.add(columns.descriptionAt(position), rowId);
+    }
+
+    private void removeFromIndexes(int position, int rowId) {
+        if (!isIndexed) {
+            return;
+        }
+        dateIndex.remove(columns.dayAt(position), rowId);
+        amountIndex.remove(columns.centsAt(position), rowId);
+        categoryIndex.remove(columns.categoryAt(position), rowId);
+        descriptionIndex.remove(columns.descriptionAt(position), rowId);
+        descriptionKeyIndex.remove(columns.descriptionAt(position), rowId);
+    }
+
+    /**
+     * Builds the totals of a list copied without them, the first time they are asked for
+     */
+    private void ensureTotaled() {
+        if (isTotaled) {
+            return;
+        }
+        isTotaled = true;
+        for (int i = 0; i < columns.size(); i++) {
+            addToTotals(i);
+        }
+    }
+
+    private void addToTotals(int position) {
+        if (!isTotaled) {
+            return;
+        }
+        totalCents += columns.centsAt(position);
+        monthlyTotals.add(columns.dayAt(position), columns.centsAt(position));
+        if (columns.dayAt(position) != ExpenseColumns.INVALID_DAY) {
+            dailyTotals.add(columns.dayAt(position), columns.centsAt(position));
+        }
+    }
+
+    private void removeFromTotals(int position) {
+        if (!isTotaled) {
+            return;
+        }
+        totalCents -= columns.centsAt(position);
+        monthlyTotals.remove(columns.dayAt(position), columns.centsAt(position));
+        if (columns.dayAt(position) != ExpenseColumns.INVALID_DAY) {
+            dailyTotals.add(columns.dayAt(position), -columns.centsAt(position));
+        }
+    }
+
+    /**
+     * Find the first expense whose description matches the given description, ignoring case
+     * @param description the description to look for
+     * @return index of the first matching expense, or -1 if there is none
+     */
+    public int indexOfDescription(String description) {
+        ensureIndexed();
+        int[] matchingRows = descriptionKeyIndex.rowsFor(description);
+        return matchingRows.length == 0 ? -1 : getPosition(matchingRows[0]);
     }
 
     /**
@@ -205,13 +500,104 @@ public class ExpenseList {
      * @param expense the expense object to be added
      */
     public void add(Expense expense) {
-        innerList.add(expense);
-        totalExpenses += expense.getAmount();
+        int rowId = rowIds.append();
+        columns.add(expense);
+        addToIndexes(columns.size() - 1, rowId);
+        addToTotals(columns.size() - 1);
+    }
+
+    /**
+     * Append a copy of an expense from another list, copying its columns directly
+     * @param source the columns of the list holding the expense
+     * @param position the index of the expense in that list
+     */
+    void addRowOf(ExpenseColumns source, int position) {
+        int rowId = rowIds.append();
+        columns.addRowOf(source, position);
+        addToIndexes(columns.size() - 1, rowId);
+        addToTotals(columns.size() - 1);
     }
 
+    /**
+     * Copy the expenses into a new list by copying the column arrays. The copy builds its indexes and totals
+     * only when they are first used, so taking it costs no more than copying the arrays.
+     * @return a list holding the same expenses, unaffected by later changes to this list
+     */
+    public ExpenseList copy() {
+        return new ExpenseList(columns.copy(), rowIds.copy(), false);
+    }
+
+    /**
+     * Insert the expenses of months loaded from storage, each month before the first expense dated in a later
+     * month, so that loaded months take the place they would have had if they had been loaded at start-up.
+     * Row ids must increase in list order, so every row is renumbered and the indexes are rebuilt on next use.
+     * @param loaded the expenses of the loaded months, one month after another
+     */
+    public void insertMonths(ExpenseList loaded) {
+        int start = 0;
+        while (start < loaded.getSize()) {
+            int month = storedMonthOf(loaded.columns.dayAt(start));
+            int end = start + 1;
+            while (end < loaded.getSize() && storedMonthOf(loaded.columns.dayAt(end)) == month) {
+                end++;
+            }
+            int position = 0;
+            while (position < columns.size() && storedMonthOf(columns.dayAt(position)) <= month) {
+                position++;
+            }
+            columns.insertRowsOf(position, loaded.columns, start, end);
+            for (int i = position; i < position + end - start; i++) {
+                addToTotals(i);
+            }
+            start = end;
+        }
+        rowIds.clear();
+        for (int i = 0; i < columns.size(); i++) {
+            rowIds.append();
+        }
+        dateIndex.clear();
+        amountIndex.clear();
+        categoryIndex.clear();
+        descriptionIndex.clear();
+        descriptionKeyIndex.clear();
+        isIndexed = false;
+    }
+
+    /**
+     * Returns the month an expense is stored under; expenses without a valid date are stored in the epoch month
+     */
+    private static int storedMonthOf(int day) {
+        return DateParser.monthIndexOf(day == DateParser.INVALID ? 0 : day);
+    }
+
+    /**
+     * Replace the expense at the given index, keeping the total expenses up to date
+     * @param index the current index of the expense to be replaced
+     * @param expense the new expense to store at that index
+     */
+    public void set(int index, Expense expense) {
+        Objects.checkIndex(index, columns.size());
+        removeFromIndexes(index, rowIds.get(index));
+        removeFromTotals(index);
+        columns.set(index, expense);
+        addToIndexes(index, rowIds.get(index));
+        addToTotals(index);
+    }
+
+    /**
+     * Remove the first expense with the same category, description, amount and date as the given expense
+     * @param expense the expense to be deleted
+     */
     public void delete(Expense expense) {
-        totalExpenses -= expense.getAmount();
-        innerList.remove(expense);
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.centsAt(i) == expense.getCents()
+                    && Objects.equals(columns.descriptionAt(i), expense.getDescription())
+                    && Objects.equals(columns.categoryAt(i), expense.getCategory())
+                    && Objects.equals(columns.dateAt(i), expense.getDate())) {
+                delete(i);
+                return;
+            }
+        }
     }
 
     /**
@@ -219,34 +605,66 @@ public class ExpenseList {
      * @param index the current index of expense in the list to be deleted
      */
     public void delete(int index) {
-        Expense deleteExpense = this.get(index);
-        totalExpenses -= deleteExpense.getAmount();
-        innerList.remove(index);
+        Objects.checkIndex(index, columns.size());
+        removeFromTotals(index);
+        removeFromIndexes(index, rowIds.removeAt(index));
+        columns.remove(index);
     }
 
     @Override
     public String toString() {
-        if (innerList.isEmpty()) {
+        if (columns.size() == 0) {
             return EMPTY_EXPENSE_LIST_MESSAGE;
         }
         StringBuilder sb = new StringBuilder();
-        for (Expense expense : innerList) {
-            sb.append(expense.toString()).append(System.lineSeparator());
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append(columns.materialize(i).toString()).append(System.lineSeparator());
         }
         return sb.toString();
     }
 
     public double getTotalExpenses() {
-        return totalExpenses;
+        ensureTotaled();
+        return Money.toDollars(totalCents);
     }
 
     /**
-     * Recalculate the total expenses to be up to date
+     * Get the total of all expenses, kept exactly as every expense is added, replaced or deleted
+     * @return the total expenses in cents
      */
-    public void updateTotalExpenses() {
-        totalExpenses = 0.0;
-        for (Expense expense : innerList) {
-            totalExpenses += expense.getAmount();
-        }
+    public long getTotalCents() {
+        ensureTotaled();
+        return totalCents;
+    }
+
+    /**
+     * Get the total of the expenses in a month, kept up to date as expenses change
+     * @param month the month
+     * @return the total of the expenses dated in that month, in cents
+     */
+    public long getMonthTotalCents(YearMonth month) {
+        ensureTotaled();
+        return monthlyTotals.totalCents(month);
+    }
+
+    /**
+     * Get the number of expenses in a month, kept up to date as expenses change
+     * @param month the month
+     * @return the number of expenses dated in that month
+     */
+    public int getMonthCount(YearMonth month) {
+        ensureTotaled();
+        return monthlyTotals.count(month);
+    }
+
+    /**
+     * Get the total of the expenses dated between the two dates, answered from running totals per day
+     * @param startDate first date of the range
+     * @param endDate last date of the range
+     * @return the total of the expenses in the range in cents, skipping expenses without a valid date
+     */
+    public long getTotalCentsBetween(LocalDate startDate, LocalDate endDate) {
+        ensureTotaled();
+        return dailyTotals.sumBetween((int) startDate.toEpochDay(), (int) endDate.toEpochDay());
     }
 }
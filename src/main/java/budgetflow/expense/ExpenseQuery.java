@@ -0,0 +1,270 @@
+package budgetflow.expense;
+
+import budgetflow.exception.InvalidDateException;
+import budgetflow.exception.InvalidNumberFormatException;
+import budgetflow.exception.InvalidTagException;
+import budgetflow.money.Money;
+import budgetflow.parser.ArgumentPatterns;
+import budgetflow.parser.DateParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A search over an {@link ExpenseList} made of several tag conditions combined with AND and OR, where AND binds
+ * tighter than OR, for example <code>/category food AND /drange 01-03-2025 31-03-2025 OR /amt 5</code>.
+ * <p>
+ * Each group of conditions joined by AND is planned on its own. The condition whose index promises the fewest
+ * rows drives the group: its index supplies the candidate rows, and only those candidates are checked against
+ * the other conditions. The results of the groups are then merged in list order.
+ */
+public class ExpenseQuery {
+    private static final String ERROR_TOP_NOT_COMBINABLE = "/top cannot be combined with other tags";
+
+    private final List<List<Condition>> groups = new ArrayList<>();
+
+    enum Kind { DESCRIPTION, CATEGORY, AMOUNT, DATE }
+
+    /**
+     * One tag and keyword of a query, with the keyword already parsed into the values it is checked against
+     */
+    static final class Condition {
+        final Kind kind;
+        final String text;
+        final long from;
+        final long to;
+        final String label;
+
+        private Condition(Kind kind, String text, long from, long to, String label) {
+            this.kind = kind;
+            this.text = text;
+            this.from = from;
+            this.to = to;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Adds a condition that a matching expense must meet together with the conditions added since the last OR
+     *
+     * @param tag the tag of the condition, as for {@link ExpenseList#getByTag}
+     * @param keyword the keyword of the condition
+     * @return this query
+     * @throws InvalidTagException if the tag is unknown or cannot be combined
+     * @throws InvalidNumberFormatException if an amount keyword is not a valid amount
+     * @throws InvalidDateException if a date keyword does not follow dd-MM-yyyy format
+     */
+    public ExpenseQuery and(String tag, String keyword) throws InvalidTagException, InvalidNumberFormatException,
+            InvalidDateException {
+        if (groups.isEmpty()) {
+            groups.add(new ArrayList<>());
+        }
+        groups.get(groups.size() - 1).add(parseCondition(tag, keyword));
+        return this;
+    }
+
+    /**
+     * Adds a condition that starts a new group of conditions, any of which groups a matching expense may meet
+     *
+     * @param tag the tag of the condition, as for {@link ExpenseList#getByTag}
+     * @param keyword the keyword of the condition
+     * @return this query
+     * @throws InvalidTagException if the tag is unknown or cannot be combined
+     * @throws InvalidNumberFormatException if an amount keyword is not a valid amount
+     * @throws InvalidDateException if a date keyword does not follow dd-MM-yyyy format
+     */
+    public ExpenseQuery or(String tag, String keyword) throws InvalidTagException, InvalidNumberFormatException,
+            InvalidDateException {
+        groups.add(new ArrayList<>());
+        return and(tag, keyword);
+    }
+
+    /**
+     * Runs the query
+     *
+     * @param expenseList the list to search
+     * @return a view of the matching expenses in list order
+     */
+    public ExpenseView run(ExpenseList expenseList) {
+        return expenseList.viewOf(evaluate(expenseList, null));
+    }
+
+    /**
+     * Runs the query and describes how it was run
+     *
+     * @param expenseList the list to search
+     * @param plan where the chosen driver, the filters and the number of rows scanned for each group are written
+     * @return a view of the matching expenses in list order
+     */
+    public ExpenseView explain(ExpenseList expenseList, StringBuilder plan) {
+        return expenseList.viewOf(evaluate(expenseList, plan));
+    }
+
+    private int[] evaluate(ExpenseList expenseList, StringBuilder plan) {
+        // Bring in every month the query can match first, so that positions stay put while the groups run
+        boolean isDateBound = loadMonthsSearched(expenseList);
+        if (plan != null) {
+            plan.append("Months searched: ").append(isDateBound ? "those in the date conditions" : "all")
+                    .append(System.lineSeparator());
+        }
+        int[] result = new int[0];
+        for (int i = 0; i < groups.size(); i++) {
+            int[] groupResult = evaluateGroup(expenseList, groups.get(i), i + 1, plan);
+            result = i == 0 ? groupResult : union(result, groupResult);
+        }
+        if (plan != null && groups.size() > 1) {
+            plan.append("Matched ").append(result.length).append(" rows in total").append(System.lineSeparator());
+        }
+        return result;
+    }
+
+    /**
+     * Loads the months each group can match: only those of its date conditions, or every month if a group has
+     * no date condition to restrict it
+     *
+     * @return whether every group is restricted by a date condition
+     */
+    private boolean loadMonthsSearched(ExpenseList expenseList) {
+        for (List<Condition> conditions : groups) {
+            if (conditions.stream().noneMatch(condition -> condition.kind == Kind.DATE)) {
+                expenseList.loadAllMonths();
+                return false;
+            }
+        }
+        for (List<Condition> conditions : groups) {
+            for (Condition condition : conditions) {
+                if (condition.kind == Kind.DATE) {
+                    expenseList.loadMonths((int) condition.from, (int) condition.to);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int[] evaluateGroup(ExpenseList expenseList, List<Condition> conditions, int groupNumber,
+            StringBuilder plan) {
+        Condition driver = conditions.get(0);
+        int driverEstimate = expenseList.estimateRows(driver);
+        for (Condition condition : conditions.subList(1, conditions.size())) {
+            int estimate = expenseList.estimateRows(condition);
+            if (estimate < driverEstimate) {
+                driver = condition;
+                driverEstimate = estimate;
+            }
+        }
+
+        int[] candidates = expenseList.rowIdsMatching(driver);
+        int matched = 0;
+        for (int rowId : candidates) {
+            int position = expenseList.positionOf(rowId);
+            if (matchesAllExcept(expenseList, conditions, driver, position)) {
+                candidates[matched++] = position;
+            }
+        }
+        if (plan != null) {
+            describeGroup(plan, conditions, groupNumber, driver, driverEstimate, candidates.length, matched);
+        }
+        return Arrays.copyOf(candidates, matched);
+    }
+
+    private static boolean matchesAllExcept(ExpenseList expenseList, List<Condition> conditions, Condition driver,
+            int position) {
+        for (Condition condition : conditions) {
+            if (condition != driver && !expenseList.matches(condition, position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void describeGroup(StringBuilder plan, List<Condition> conditions, int groupNumber,
+            Condition driver, int driverEstimate, int scanned, int matched) {
+        plan.append("Group ").append(groupNumber).append(": ");
+        for (int i = 0; i < conditions.size(); i++) {
+            plan.append(i == 0 ? "" : " AND ").append(conditions.get(i).label);
+        }
+        plan.append(System.lineSeparator())
+                .append("  Driver: ").append(driver.label).append(" via the ")
+                .append(driver.kind.name().toLowerCase()).append(" index (estimate: ").append(driverEstimate)
+                .append(")").append(System.lineSeparator());
+        plan.append("  Filters: ");
+        if (conditions.size() == 1) {
+            plan.append("none");
+        }
+        boolean isFirst = true;
+        for (Condition condition : conditions) {
+            if (condition != driver) {
+                plan.append(isFirst ? "" : ", ").append(condition.label);
+                isFirst = false;
+            }
+        }
+        plan.append(System.lineSeparator())
+                .append("  Rows scanned: ").append(scanned).append(", matched: ").append(matched)
+                .append(System.lineSeparator());
+    }
+
+    /**
+     * Merges two ascending arrays of positions, keeping each position once
+     */
+    private static int[] union(int[] first, int[] second) {
+        int[] merged = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < first.length || j < second.length) {
+            if (j == second.length || (i < first.length && first[i] < second[j])) {
+                merged[count++] = first[i++];
+            } else if (i == first.length || second[j] < first[i]) {
+                merged[count++] = second[j++];
+            } else {
+                merged[count++] = first[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    private static Condition parseCondition(String tag, String keyword) throws InvalidTagException,
+            InvalidNumberFormatException, InvalidDateException {
+        String label = tag + " " + keyword;
+        String[] parts = ArgumentPatterns.WHITESPACE.split(keyword);
+        return switch (tag) {
+        case ExpenseList.TAG_DESCRIPTION -> new Condition(Kind.DESCRIPTION, keyword, 0, 0, label);
+        case ExpenseList.TAG_CATEGORY -> new Condition(Kind.CATEGORY, keyword, 0, 0, label);
+        case ExpenseList.TAG_AMOUNT -> {
+            long cents = parseAmount(keyword);
+            yield new Condition(Kind.AMOUNT, null, cents, cents, label);
+        }
+        case ExpenseList.TAG_AMOUNT_RANGE -> new Condition(Kind.AMOUNT, null, parseAmount(parts[0]),
+                parseAmount(parts.length > 1 ? parts[1] : ""), label);
+        case ExpenseList.TAG_DATE -> {
+            int day = parseDay(keyword);
+            yield new Condition(Kind.DATE, null, day, day, label);
+        }
+        case ExpenseList.TAG_DATE_RANGE -> new Condition(Kind.DATE, null, parseDay(parts[0]),
+                parseDay(parts.length > 1 ? parts[1] : ""), label);
+        case ExpenseList.TAG_TOP -> throw new InvalidTagException(ERROR_TOP_NOT_COMBINABLE);
+        default -> throw new InvalidTagException(ExpenseList.ERROR_INVALID_TAG);
+        };
+    }
+
+    private static long parseAmount(String amount) throws InvalidNumberFormatException {
+        if (!ExpenseList.AMT_PATTERN.matcher(amount).matches()) {
+            throw new InvalidNumberFormatException(ExpenseList.ERROR_INVALID_AMOUNT_FORMAT);
+        }
+        try {
+            return Money.parseCents(amount);
+        } catch (NumberFormatException e) {
+            throw new InvalidNumberFormatException(ExpenseList.ERROR_INVALID_AMOUNT_FORMAT);
+        }
+    }
+
+    private static int parseDay(String date) throws InvalidDateException {
+        int day = DateParser.parseDate(date);
+        if (day == DateParser.INVALID) {
+            throw new InvalidDateException(ExpenseList.ERROR_INVALID_DATE_FORMAT);
+        }
+        return day;
+    }
+}
@@ -0,0 +1,119 @@
+package budgetflow.expense;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ConcurrentModificationException;
+
+/**
+ * The result of a query on an {@link ExpenseList}, read straight from the list it was taken from.
+ * <p>
+ * A view only holds the positions of the matching rows, so counting, totalling or rendering the matches does not
+ * copy them into a second list or create an {@link Expense} per match. A view stays valid until its list is
+ * changed, after which reading it throws {@link ConcurrentModificationException}.
+ */
+public final class ExpenseView {
+    private final ExpenseColumns columns;
+    private final int[] positions;
+    private final int expectedModCount;
+
+    /**
+     * @param columns columns of the list the rows are in
+     * @param positions positions of the matching rows, in the order they should be read
+     */
+    ExpenseView(ExpenseColumns columns, int[] positions) {
+        this.columns = columns;
+        this.positions = positions;
+        this.expectedModCount = columns.modCount();
+    }
+
+    /**
+     * Returns the number of matching expenses
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    public boolean isEmpty() {
+        return positions.length == 0;
+    }
+
+    /**
+     * Get a matching expense
+     *
+     * @param index index of the expense among the matches
+     * @return a new expense object holding the expense
+     */
+    public Expense get(int index) {
+        checkForChange();
+        return columns.materialize(positions[index]);
+    }
+
+    /**
+     * Get the position of a matching expense in the list the view was taken from
+     *
+     * @param index index of the expense among the matches
+     * @return the index of the expense in its list
+     */
+    public int positionOf(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Get the total of the matching expenses, read from the amount column
+     *
+     * @return the total in cents
+     */
+    public long getTotalCents() {
+        checkForChange();
+        long total = 0;
+        for (int position : positions) {
+            total += columns.centsAt(position);
+        }
+        return total;
+    }
+
+    /**
+     * Write the matching expenses, one per line, in the same format as {@link Expense#toString}
+     *
+     * @param out where to write the expenses
+     * @throws IOException if the output cannot be written
+     */
+    public void writeTo(Appendable out) throws IOException {
+        checkForChange();
+        for (int position : positions) {
+            columns.appendRow(out, position);
+            out.append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Copy the matching expenses into a list of their own
+     *
+     * @return a new list holding the matching expenses in view order
+     */
+    public ExpenseList toExpenseList() {
+        checkForChange();
+        ExpenseList copy = new ExpenseList();
+        for (int position : positions) {
+            copy.addRowOf(columns, position);
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    private void checkForChange() {
+        if (columns.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException("The expense list changed after the query");
+        }
+    }
+}
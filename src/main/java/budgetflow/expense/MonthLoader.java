@@ -0,0 +1,17 @@
+package budgetflow.expense;
+
+import java.time.YearMonth;
+
+/**
+ * Loads the incomes and expenses of months that are stored but not yet held in memory.
+ */
+public interface MonthLoader {
+    /**
+     * Makes every month from {@code first} to {@code last} (inclusive) resident, inserting the entries
+     * of newly loaded months into the in-memory lists in date order
+     *
+     * @param first first month to load
+     * @param last last month to load
+     */
+    void loadMonths(YearMonth first, YearMonth last);
+}
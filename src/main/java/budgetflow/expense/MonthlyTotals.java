@@ -0,0 +1,59 @@
+package budgetflow.expense;
+
+import budgetflow.parser.DateParser;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The total amount and number of expenses in each month, kept up to date as expenses are added and removed
+ * so that the total of a month is a single lookup. Expenses without a valid date are not counted in any month.
+ */
+class MonthlyTotals {
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final Map<Integer, Month> monthsByIndex = new HashMap<>();
+
+    private static final class Month {
+        private long cents;
+        private int count;
+    }
+
+    void add(int epochDay, long cents) {
+        if (epochDay == DateParser.INVALID) {
+            return;
+        }
+        Month month = monthsByIndex.computeIfAbsent(DateParser.monthIndexOf(epochDay), index -> new Month());
+        month.cents += cents;
+        month.count++;
+    }
+
+    void remove(int epochDay, long cents) {
+        if (epochDay == DateParser.INVALID) {
+            return;
+        }
+        int index = DateParser.monthIndexOf(epochDay);
+        Month month = monthsByIndex.get(index);
+        assert month != null : "Removing an expense from a month without expenses";
+        month.cents -= cents;
+        month.count--;
+        if (month.count == 0) {
+            monthsByIndex.remove(index);
+        }
+    }
+
+    long totalCents(YearMonth yearMonth) {
+        Month month = monthsByIndex.get(indexOf(yearMonth));
+        return month == null ? 0 : month.cents;
+    }
+
+    int count(YearMonth yearMonth) {
+        Month month = monthsByIndex.get(indexOf(yearMonth));
+        return month == null ? 0 : month.count;
+    }
+
+    private static int indexOf(YearMonth yearMonth) {
+        return yearMonth.getYear() * MONTHS_PER_YEAR + yearMonth.getMonthValue() - 1;
+    }
+}
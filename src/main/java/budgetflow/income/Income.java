@@ -1,14 +1,59 @@
 package budgetflow.income;
 
+import budgetflow.money.Money;
+import budgetflow.parser.DateParser;
+
+/**
+ * An income. The amount is kept in whole cents. The date is parsed once, at construction, and kept as an
+ * epoch day; a date that is not a valid dd-MM-yyyy date is kept as given instead.
+ */
 public class Income {
     private String category;
-    private double amount;
-    private String date;
+    private long cents;
+    private int epochDay;
+    private String invalidDate;
 
     public Income(String category, double amount, String date) {
         this.category = category;
-        this.amount = amount;
-        this.date = date;
+        this.cents = Money.toCents(amount);
+        this.epochDay = DateParser.parseDate(date);
+        this.invalidDate = epochDay == DateParser.INVALID ? date : null;
+    }
+
+    /**
+     * Creates an income from an amount already in cents and a date already parsed
+     *
+     * @param category the category
+     * @param cents the amount in cents
+     * @param epochDay the date as an epoch day
+     * @throws IllegalArgumentException if the day is {@link DateParser#INVALID}, as the date as given would be lost;
+     *     such incomes are created with {@link #fromCents} instead
+     */
+    public Income(String category, long cents, int epochDay) {
+        this(category, cents, epochDay, null);
+        if (epochDay == DateParser.INVALID) {
+            throw new IllegalArgumentException("An income with an invalid date needs the date as given");
+        }
+    }
+
+    private Income(String category, long cents, int epochDay, String invalidDate) {
+        this.category = category;
+        this.cents = cents;
+        this.epochDay = epochDay;
+        this.invalidDate = invalidDate;
+    }
+
+    /**
+     * Creates an income from an amount already in cents and a date that is not parsed yet
+     *
+     * @param category the category
+     * @param cents the amount in cents
+     * @param date the date in dd-MM-yyyy format, kept as given if it is not a valid date
+     * @return the income
+     */
+    public static Income fromCents(String category, long cents, String date) {
+        int epochDay = DateParser.parseDate(date);
+        return new Income(category, cents, epochDay, epochDay == DateParser.INVALID ? date : null);
     }
 
     public String getCategory() {
@@ -16,10 +61,24 @@ public class Income {
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toDollars(cents);
+    }
+
+    public long getCents() {
+        return cents;
     }
 
+    /**
+     * Returns the date in dd-MM-yyyy format, or the date as given if it was not a valid date
+     */
     public String getDate() {
-        return date;
+        return epochDay == DateParser.INVALID ? invalidDate : DateParser.formatDate(epochDay);
+    }
+
+    /**
+     * Returns the date as an epoch day, or {@link DateParser#INVALID} if it is not a valid date
+     */
+    public int getEpochDay() {
+        return epochDay;
     }
 }
@@ -0,0 +1,235 @@
+package budgetflow.income;
+
+import budgetflow.index.CaseInsensitiveIndex;
+import budgetflow.index.RowIds;
+import budgetflow.index.SortedKeyIndex;
+import budgetflow.parser.DateParser;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The list of recorded incomes, with secondary indexes kept up to date on every change.
+ * <p>
+ * Like {@link budgetflow.expense.ExpenseList}, every income has a row id that increases in list order, and the
+ * total of all incomes is kept as incomes are added, replaced and removed. Commands that receive a plain
+ * {@link List} of incomes still work through the static helpers, which fall back to a linear scan.
+ */
+public class IncomeList extends AbstractList<Income> implements RandomAccess {
+    private final ArrayList<Income> innerList = new ArrayList<>();
+    private final RowIds rowIds = new RowIds();
+    private final CaseInsensitiveIndex categoryIndex = new CaseInsensitiveIndex();
+    private final SortedKeyIndex amountIndex = new SortedKeyIndex();
+    private long totalCents;
+
+    public IncomeList() {
+    }
+
+    @Override
+    public Income get(int index) {
+        return innerList.get(index);
+    }
+
+    @Override
+    public int size() {
+        return innerList.size();
+    }
+
+    @Override
+    public void add(int index, Income income) {
+        if (index != innerList.size()) {
+            // Row ids must increase in list order, so an insertion renumbers every row
+            innerList.add(index, income);
+            totalCents += income.getCents();
+            rebuildIndexes();
+            modCount++;
+            return;
+        }
+        int rowId = rowIds.append();
+        innerList.add(income);
+        totalCents += income.getCents();
+        addToIndexes(income, rowId);
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Income> incomes) {
+        if (index == innerList.size()) {
+            return super.addAll(index, incomes);
+        }
+        // Renumber the rows once for the whole insertion instead of once per income
+        innerList.addAll(index, incomes);
+        for (Income income : incomes) {
+            totalCents += income.getCents();
+        }
+        rebuildIndexes();
+        modCount++;
+        return !incomes.isEmpty();
+    }
+
+    @Override
+    public Income set(int index, Income income) {
+        Income oldIncome = innerList.set(index, income);
+        totalCents += income.getCents() - oldIncome.getCents();
+        removeFromIndexes(oldIncome, rowIds.get(index));
+        addToIndexes(income, rowIds.get(index));
+        return oldIncome;
+    }
+
+    @Override
+    public Income remove(int index) {
+        Income oldIncome = innerList.remove(index);
+        totalCents -= oldIncome.getCents();
+        removeFromIndexes(oldIncome, rowIds.removeAt(index));
+        modCount++;
+        return oldIncome;
+    }
+
+    @Override
+    public void clear() {
+        innerList.clear();
+        rowIds.clear();
+        categoryIndex.clear();
+        amountIndex.clear();
+        totalCents = 0;
+        modCount++;
+    }
+
+    private void rebuildIndexes() {
+        rowIds.clear();
+        categoryIndex.clear();
+        amountIndex.clear();
+        for (Income income : innerList) {
+            addToIndexes(income, rowIds.append());
+        }
+    }
+
+    private void addToIndexes(Income income, int rowId) {
+        categoryIndex.add(income.getCategory(), rowId);
+        amountIndex.add(income.getCents(), rowId);
+    }
+
+    private void removeFromIndexes(Income income, int rowId) {
+        categoryIndex.remove(income.getCategory(), rowId);
+        amountIndex.remove(income.getCents(), rowId);
+    }
+
+    /**
+     * Returns the total of all incomes
+     *
+     * @param incomes the incomes to total, read from the running total if they are an {@code IncomeList}
+     * @return the total of the incomes in cents
+     */
+    public static long getTotalCents(List<Income> incomes) {
+        if (incomes instanceof IncomeList incomeList) {
+            return incomeList.totalCents;
+        }
+        long total = 0;
+        for (Income income : incomes) {
+            total += income.getCents();
+        }
+        return total;
+    }
+
+    /**
+     * Inserts the incomes of months loaded from storage, each month before the first income dated in a later
+     * month, so that loaded months take the place they would have had if they had been loaded at start-up
+     *
+     * @param incomes the incomes to insert into
+     * @param loaded the incomes of the loaded months, one month after another
+     */
+    public static void insertMonths(List<Income> incomes, List<Income> loaded) {
+        int start = 0;
+        while (start < loaded.size()) {
+            int month = storedMonthOf(loaded.get(start));
+            int end = start + 1;
+            while (end < loaded.size() && storedMonthOf(loaded.get(end)) == month) {
+                end++;
+            }
+            int position = 0;
+            while (position < incomes.size() && storedMonthOf(incomes.get(position)) <= month) {
+                position++;
+            }
+            incomes.addAll(position, loaded.subList(start, end));
+            start = end;
+        }
+    }
+
+    /**
+     * Returns the month an income is stored under; incomes without a valid date are stored in the epoch month
+     */
+    private static int storedMonthOf(Income income) {
+        int day = income.getEpochDay();
+        return DateParser.monthIndexOf(day == DateParser.INVALID ? 0 : day);
+    }
+
+    /**
+     * Finds all incomes whose category matches the given category, ignoring case
+     *
+     * @param incomes the incomes to search, indexed if they are an {@code IncomeList}
+     * @param category the category to look for
+     * @return the matching incomes in list order
+     */
+    public static List<Income> getByCategory(List<Income> incomes, String category) {
+        List<Income> matches = new ArrayList<>();
+        if (incomes instanceof IncomeList incomeList) {
+            for (int rowId : incomeList.categoryIndex.rowsFor(category)) {
+                matches.add(incomeList.innerList.get(incomeList.rowIds.positionOf(rowId)));
+            }
+            return matches;
+        }
+        for (Income income : incomes) {
+            if (income.getCategory().equalsIgnoreCase(category)) {
+                matches.add(income);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds all incomes whose amount lies in the given range
+     *
+     * @param incomes the incomes to search, indexed if they are an {@code IncomeList}
+     * @param minCents smallest amount to include, in cents
+     * @param maxCents largest amount to include, in cents
+     * @return the matching incomes in list order
+     */
+    public static List<Income> getByAmountRange(List<Income> incomes, long minCents, long maxCents) {
+        List<Income> matches = new ArrayList<>();
+        if (incomes instanceof IncomeList incomeList) {
+            for (int rowId : incomeList.amountIndex.rowsBetween(minCents, maxCents)) {
+                matches.add(incomeList.innerList.get(incomeList.rowIds.positionOf(rowId)));
+            }
+            return matches;
+        }
+        for (Income income : incomes) {
+            if (income.getCents() >= minCents && income.getCents() <= maxCents) {
+                matches.add(income);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the first income whose category matches the given category, ignoring case
+     *
+     * @param incomes the incomes to search, indexed if they are an {@code IncomeList}
+     * @param category the category to look for
+     * @return index of the first matching income, or -1 if there is none
+     */
+    public static int indexOfCategory(List<Income> incomes, String category) {
+        if (incomes instanceof IncomeList incomeList) {
+            int[] rows = incomeList.categoryIndex.rowsFor(category);
+            return rows.length == 0 ? -1 : incomeList.rowIds.positionOf(rows[0]);
+        }
+        for (int i = 0; i < incomes.size(); i++) {
+            if (incomes.get(i).getCategory().equalsIgnoreCase(category)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,75 @@
+package budgetflow.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hash index from a text key, such as a category, to the rows with that key. Keys are compared ignoring
+ * case, with the same rules as {@link String#equalsIgnoreCase}.
+ */
+public class CaseInsensitiveIndex {
+    private final Map<String, PostingList> rowsByKey = new HashMap<>();
+
+    /**
+     * Folds the case of a key so that two keys are equal ignoring case exactly when their
+     * folded forms are equal
+     *
+     * @param key key to fold
+     * @return the case-folded key
+     */
+    public static String foldCase(String key) {
+        StringBuilder folded = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(key.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    public void add(String key, int rowId) {
+        if (key == null) {
+            return;
+        }
+        rowsByKey.computeIfAbsent(foldCase(key), k -> new PostingList()).add(rowId);
+    }
+
+    public void remove(String key, int rowId) {
+        if (key == null) {
+            return;
+        }
+        String foldedKey = foldCase(key);
+        PostingList rows = rowsByKey.get(foldedKey);
+        if (rows == null) {
+            return;
+        }
+        rows.remove(rowId);
+        if (rows.isEmpty()) {
+            rowsByKey.remove(foldedKey);
+        }
+    }
+
+    /**
+     * Returns the rows whose key equals the given one ignoring case
+     *
+     * @param key key to look up
+     * @return ids of the matching rows in ascending order
+     */
+    public int[] rowsFor(String key) {
+        PostingList rows = rowsByKey.get(foldCase(key));
+        return rows == null ? new int[0] : rows.toArray();
+    }
+
+    /**
+     * Counts the rows whose key equals the given one ignoring case, without collecting them
+     *
+     * @param key key to look up
+     * @return number of matching rows
+     */
+    public int countFor(String key) {
+        PostingList rows = rowsByKey.get(foldCase(key));
+        return rows == null ? 0 : rows.size();
+    }
+
+    public void clear() {
+        rowsByKey.clear();
+    }
+}
@@ -0,0 +1,81 @@
+package budgetflow.index;
+
+import java.util.Arrays;
+
+/**
+ * The row ids filed under one key of an index, kept sorted in a primitive array.
+ * <p>
+ * Rows are usually added in increasing id order, which makes adding an append.
+ */
+public class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] rowIds = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a row id, keeping the ids sorted
+     *
+     * @param rowId row id to add
+     * @return whether the id was not in the list yet
+     */
+    public boolean add(int rowId) {
+        int position = size == 0 || rowIds[size - 1] < rowId
+                ? -size - 1
+                : Arrays.binarySearch(rowIds, 0, size, rowId);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (size == rowIds.length) {
+            rowIds = Arrays.copyOf(rowIds, rowIds.length * 2);
+        }
+        System.arraycopy(rowIds, position, rowIds, position + 1, size - position);
+        rowIds[position] = rowId;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a row id
+     *
+     * @param rowId row id to remove
+     * @return whether the id was in the list
+     */
+    public boolean remove(int rowId) {
+        int position = Arrays.binarySearch(rowIds, 0, size, rowId);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(rowIds, position + 1, rowIds, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public int get(int position) {
+        return rowIds[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds a row id among the ids from the given position onwards
+     *
+     * @param fromPosition first position to search
+     * @param rowId row id to look for
+     * @return position of the id, or {@code -(insertion point) - 1} if it is not in the list
+     */
+    public int search(int fromPosition, int rowId) {
+        return Arrays.binarySearch(rowIds, fromPosition, size, rowId);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(rowIds, size);
+    }
+}
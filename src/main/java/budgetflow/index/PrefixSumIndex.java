@@ -0,0 +1,119 @@
+package budgetflow.index;
+
+import java.util.TreeMap;
+
+/**
+ * Running totals of a value per integer key, such as the cents spent per epoch day, that answer the sum over any
+ * key range in logarithmic time.
+ * <p>
+ * The totals are kept in a Fenwick tree over a window of consecutive keys, which is rebuilt at a larger size when
+ * a key falls outside it. Keys that would stretch the window past {@link #MAX_WINDOW} keys, such as a date typed
+ * centuries away from the others, are kept in a sorted map on the side instead.
+ */
+public class PrefixSumIndex {
+    private static final int INITIAL_WINDOW = 1 << 10;
+    private static final int MAX_WINDOW = 1 << 18;
+
+    // tree[i] holds the total of the (i & -i) keys ending at firstKey + i - 1
+    private long[] tree = new long[INITIAL_WINDOW + 1];
+    private int firstKey;
+    private boolean isEmpty = true;
+    private final TreeMap<Integer, Long> outliers = new TreeMap<>();
+
+    /**
+     * Adds a value to the total of a key
+     *
+     * @param key key to add to
+     * @param delta value to add, negative to subtract
+     */
+    public void add(int key, long delta) {
+        if (isEmpty) {
+            firstKey = key - INITIAL_WINDOW / 2;
+            isEmpty = false;
+        }
+        if (!isInWindow(key) && !growToInclude(key)) {
+            outliers.merge(key, delta, (total, value) -> total + value == 0 ? null : total + value);
+            return;
+        }
+        for (int i = key - firstKey + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the total of all keys in the given range
+     *
+     * @param fromKey smallest key to include
+     * @param toKey largest key to include
+     * @return sum of the totals of the keys in the range
+     */
+    public long sumBetween(int fromKey, int toKey) {
+        if (fromKey > toKey || isEmpty) {
+            return 0;
+        }
+        long sum = sumUpTo(toKey) - sumUpTo(fromKey - 1);
+        for (long total : outliers.subMap(fromKey, true, toKey, true).values()) {
+            sum += total;
+        }
+        return sum;
+    }
+
+    public void clear() {
+        tree = new long[INITIAL_WINDOW + 1];
+        isEmpty = true;
+        outliers.clear();
+    }
+
+    /**
+     * Returns the total of the keys in the window up to and including the given key
+     */
+    private long sumUpTo(int key) {
+        return prefixSum((int) Math.max(0, Math.min((long) key - firstKey + 1, tree.length - 1)));
+    }
+
+    private long prefixSum(int position) {
+        long sum = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private boolean isInWindow(int key) {
+        return key >= firstKey && (long) key - firstKey < tree.length - 1;
+    }
+
+    /**
+     * Rebuilds the tree over a window that includes both the current window and the given key
+     *
+     * @return whether the key now lies in the window, which is not the case if it would exceed {@link #MAX_WINDOW}
+     */
+    private boolean growToInclude(int key) {
+        long low = Math.min(firstKey, key);
+        long high = Math.max((long) firstKey + tree.length - 2, key);
+        long needed = high - low + 1;
+        if (needed > MAX_WINDOW) {
+            return false;
+        }
+        // Leave room on both sides so that keys added later rarely force another rebuild
+        int window = tree.length - 1;
+        while (window < needed * 2 && window < MAX_WINDOW) {
+            window *= 2;
+        }
+        int newFirstKey = (int) (low - (window - needed) / 2);
+        long[] newTree = new long[window + 1];
+        int shift = firstKey - newFirstKey;
+        for (int i = 1; i < tree.length; i++) {
+            newTree[i + shift] = prefixSum(i) - prefixSum(i - 1);
+        }
+        for (int i = 1; i < newTree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < newTree.length) {
+                newTree[parent] += newTree[i];
+            }
+        }
+        tree = newTree;
+        firstKey = newFirstKey;
+        return true;
+    }
+}
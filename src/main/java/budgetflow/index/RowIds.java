@@ -0,0 +1,78 @@
+package budgetflow.index;
+
+import java.util.Arrays;
+
+/**
+ * The row ids of a list, in list order.
+ * <p>
+ * Row ids are handed out in increasing order as rows are appended and stay with their row until it is removed,
+ * so the ids stay sorted and the position of a row is found by binary search.
+ */
+public class RowIds {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+    private int nextId;
+
+    /**
+     * Hands out the id of a row appended to the end of the list
+     *
+     * @return the id of the new row
+     */
+    public int append() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[size] = nextId++;
+        return ids[size++];
+    }
+
+    /**
+     * Removes the row at the given position, shifting the following rows down
+     *
+     * @param position position of the row in the list
+     * @return the id of the removed row
+     */
+    public int removeAt(int position) {
+        int id = ids[position];
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return id;
+    }
+
+    public int get(int position) {
+        return ids[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the position of a row
+     *
+     * @param id id of the row
+     * @return position of the row in the list, or a negative number if it is not in the list
+     */
+    public int positionOf(int id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * Copies the ids into a new, independent set of row ids
+     *
+     * @return a copy that continues numbering where this one does
+     */
+    public RowIds copy() {
+        RowIds copy = new RowIds();
+        copy.ids = Arrays.copyOf(ids, Math.max(size, 1));
+        copy.size = size;
+        copy.nextId = nextId;
+        return copy;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,133 @@
+package budgetflow.index;
+
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A secondary index that keeps row ids ordered by a numeric key, such as a date or an amount.
+ * <p>
+ * Lookups by key or key range are a tree search followed by a walk over the matching keys only.
+ * Rows with the same key are kept in ascending row id order.
+ */
+public class SortedKeyIndex {
+    private final TreeMap<Long, PostingList> rowsByKey = new TreeMap<>();
+    private int size;
+
+    /**
+     * Adds a row under the given key
+     *
+     * @param key key of the row
+     * @param rowId id of the row
+     */
+    public void add(long key, int rowId) {
+        if (rowsByKey.computeIfAbsent(key, k -> new PostingList()).add(rowId)) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes a row from the given key
+     *
+     * @param key key the row was added under
+     * @param rowId id of the row
+     */
+    public void remove(long key, int rowId) {
+        PostingList rows = rowsByKey.get(key);
+        if (rows == null) {
+            return;
+        }
+        if (rows.remove(rowId)) {
+            size--;
+        }
+        if (rows.isEmpty()) {
+            rowsByKey.remove(key);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        rowsByKey.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the rows whose key equals the given key
+     *
+     * @param key key to look up
+     * @return ids of the matching rows in ascending order
+     */
+    public int[] rowsEqualTo(long key) {
+        return rowsBetween(key, key);
+    }
+
+    /**
+     * Returns the rows whose key lies in the given range
+     *
+     * @param fromKey smallest key to include
+     * @param toKey largest key to include
+     * @return ids of the matching rows in ascending order
+     */
+    public int[] rowsBetween(long fromKey, long toKey) {
+        if (fromKey > toKey) {
+            return new int[0];
+        }
+        NavigableMap<Long, PostingList> range = rowsByKey.subMap(fromKey, true, toKey, true);
+        int count = 0;
+        for (PostingList rows : range.values()) {
+            count += rows.size();
+        }
+        int[] result = new int[count];
+        int next = 0;
+        for (PostingList rows : range.values()) {
+            for (int i = 0; i < rows.size(); i++) {
+                result[next++] = rows.get(i);
+            }
+        }
+        if (range.size() > 1) {
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the rows whose key lies in the given range, without collecting them
+     *
+     * @param fromKey smallest key to include
+     * @param toKey largest key to include
+     * @return number of matching rows
+     */
+    public int countBetween(long fromKey, long toKey) {
+        if (fromKey > toKey) {
+            return 0;
+        }
+        int count = 0;
+        for (PostingList rows : rowsByKey.subMap(fromKey, true, toKey, true).values()) {
+            count += rows.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows with the largest keys, largest key first
+     *
+     * @param limit maximum number of rows to return
+     * @return ids of up to {@code limit} rows in descending key order
+     */
+    public int[] rowsWithLargestKeys(int limit) {
+        int[] result = new int[Math.min(Math.max(limit, 0), size)];
+        int next = 0;
+        for (PostingList rows : rowsByKey.descendingMap().values()) {
+            for (int i = 0; i < rows.size() && next < result.length; i++) {
+                result[next++] = rows.get(i);
+            }
+            if (next == result.length) {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package budgetflow.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.LongStream;
+
+/**
+ * A trigram index for case-sensitive substring search over a text field, such as a description.
+ * <p>
+ * Every run of three characters of a text points to the rows containing it. A query longer than two characters
+ * intersects the postings of its trigrams to find candidate rows, and only those candidates are checked with
+ * {@link String#contains}. Shorter queries have no trigrams and check every row.
+ */
+public class SubstringIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, PostingList> rowsByTrigram = new HashMap<>();
+
+    /**
+     * Returns the distinct trigrams of a text, each packed into a long
+     */
+    private static long[] trigramsOf(String text) {
+        return LongStream.range(0, Math.max(0, text.length() - GRAM_LENGTH + 1))
+                .map(i -> ((long) text.charAt((int) i) << (2 * Character.SIZE))
+                        | ((long) text.charAt((int) i + 1) << Character.SIZE)
+                        | text.charAt((int) i + 2))
+                .distinct()
+                .toArray();
+    }
+
+    public void add(String text, int rowId) {
+        if (text == null) {
+            return;
+        }
+        for (long trigram : trigramsOf(text)) {
+            rowsByTrigram.computeIfAbsent(trigram, key -> new PostingList()).add(rowId);
+        }
+    }
+
+    public void remove(String text, int rowId) {
+        if (text == null) {
+            return;
+        }
+        for (long trigram : trigramsOf(text)) {
+            PostingList rows = rowsByTrigram.get(trigram);
+            if (rows == null) {
+                continue;
+            }
+            rows.remove(rowId);
+            if (rows.isEmpty()) {
+                rowsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the rows whose text contains the query
+     *
+     * @param query text to search for
+     * @param allRows ids of every row in ascending order, checked when the query is too short to use the index
+     * @param containsQuery checks whether the text of a row really contains the query
+     * @return ids of the matching rows in ascending order
+     */
+    public int[] rowsContaining(String query, RowIds allRows, IntPredicate containsQuery) {
+        long[] trigrams = trigramsOf(query);
+        int[] candidates;
+        if (trigrams.length == 0) {
+            candidates = new int[allRows.size()];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = allRows.get(i);
+            }
+        } else {
+            candidates = intersectPostings(trigrams);
+        }
+        return Arrays.stream(candidates).filter(containsQuery).toArray();
+    }
+
+    /**
+     * Returns an upper bound on the number of rows containing the query, without looking at any row
+     *
+     * @param query text to search for
+     * @param rowCount number of rows in total, returned when the query is too short to use the index
+     * @return the number of rows holding the rarest trigram of the query, or {@code rowCount}
+     */
+    public int estimateRowsContaining(String query, int rowCount) {
+        long[] trigrams = trigramsOf(query);
+        if (trigrams.length == 0) {
+            return rowCount;
+        }
+        int estimate = rowCount;
+        for (long trigram : trigrams) {
+            PostingList rows = rowsByTrigram.get(trigram);
+            estimate = Math.min(estimate, rows == null ? 0 : rows.size());
+        }
+        return estimate;
+    }
+
+    private int[] intersectPostings(long[] trigrams) {
+        PostingList[] postings = new PostingList[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            postings[i] = rowsByTrigram.get(trigrams[i]);
+            if (postings[i] == null) {
+                return new int[0];
+            }
+        }
+        // Start from the rarest trigram so the candidate set is as small as possible from the outset
+        Arrays.sort(postings, Comparator.comparingInt(PostingList::size));
+        int[] candidates = postings[0].toArray();
+        int count = candidates.length;
+        for (int p = 1; p < postings.length && count > 0; p++) {
+            PostingList rows = postings[p];
+            int kept = 0;
+            int next = 0;
+            for (int i = 0; i < count && next < rows.size(); i++) {
+                int found = rows.search(next, candidates[i]);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[i];
+                    next = found + 1;
+                } else {
+                    next = -found - 1;
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    public void clear() {
+        rowsByTrigram.clear();
+    }
+}
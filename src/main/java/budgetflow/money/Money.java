@@ -0,0 +1,70 @@
+package budgetflow.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions for amounts of money held as a {@code long} number of cents.
+ * <p>
+ * Whole cents add and subtract exactly, so totals kept in cents never drift and two amounts that print the same
+ * are also equal. Amounts with more than two decimals are rounded half up to the nearest cent.
+ */
+public final class Money {
+    private static final int CENTS_PER_DOLLAR = 100;
+    private static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount in dollars to cents
+     *
+     * @param amount the amount in dollars
+     * @return the amount in cents, rounded half up to the nearest cent
+     */
+    public static long toCents(double amount) {
+        long cents = Math.round(amount * CENTS_PER_DOLLAR);
+        if ((double) cents / CENTS_PER_DOLLAR == amount) {
+            return cents;
+        }
+        // More than two decimals: round the decimal digits the amount was written with, not its binary value
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    /**
+     * Converts an amount in cents to dollars
+     *
+     * @param cents the amount in cents
+     * @return the amount in dollars
+     */
+    public static double toDollars(long cents) {
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Parses an amount in dollars, such as {@code 12.5} or {@code 1.0E7}, into cents
+     *
+     * @param text the amount to parse
+     * @return the amount in cents, rounded half up to the nearest cent
+     * @throws NumberFormatException if the text is not a number or does not fit in a {@code long} of cents
+     */
+    public static long parseCents(String text) {
+        try {
+            return new BigDecimal(text.trim()).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    /**
+     * Formats an amount in cents as dollars with exactly two decimals, such as {@code 12.50}
+     *
+     * @param cents the amount in cents
+     * @return the formatted amount
+     */
+    public static String format(long cents) {
+        long whole = Math.abs(cents / CENTS_PER_DOLLAR);
+        long fraction = Math.abs(cents % CENTS_PER_DOLLAR);
+        return (cents < 0 ? "-" : "") + whole + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
@@ -0,0 +1,36 @@
+package budgetflow.parser;
+
+import java.util.regex.Pattern;
+
+/**
+ * The regular expressions of the command argument grammar, compiled once and shared by every command.
+ * <p>
+ * A compiled {@link Pattern} is immutable and safe to share between threads, so commands only create a
+ * matcher per input instead of compiling their patterns on every execution. The tagged fields of the add,
+ * log and update commands are split by {@link ArgumentTokenizer} and then checked against these patterns.
+ * Group 1 of each tag pattern holds the value of the tag.
+ */
+public final class ArgumentPatterns {
+    /** The start of a range */
+    public static final Pattern FROM = Pattern.compile("from/(\\S+)");
+    /** The end of a range */
+    public static final Pattern TO = Pattern.compile("to/(\\S+)");
+    /** The start of an amount range */
+    public static final Pattern FROM_AMOUNT = Pattern.compile("from/([0-9]+(\\.[0-9]+)?)");
+    /** The end of an amount range */
+    public static final Pattern TO_AMOUNT = Pattern.compile("to/([0-9]+(\\.[0-9]+)?)");
+
+    /** A whole amount, such as 12 or 12.50 */
+    public static final Pattern AMOUNT_VALUE = Pattern.compile("[0-9]+(\\.[0-9]*)?");
+    /** A whole date in DD-MM-YYYY format, which may still name a day that does not exist */
+    public static final Pattern DATE_VALUE = Pattern.compile("\\d{2}-\\d{2}-\\d{4}");
+    /** A whole four-digit year */
+    public static final Pattern YEAR_VALUE = Pattern.compile("\\d{4}");
+    /** A whole count of digits */
+    public static final Pattern COUNT_VALUE = Pattern.compile("\\d+");
+    /** The gap between the words of an argument */
+    public static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ArgumentPatterns() {
+    }
+}
@@ -0,0 +1,84 @@
+package budgetflow.parser;
+
+/**
+ * Splits the arguments of the add, log and update commands into their tagged fields in one pass.
+ * <p>
+ * A tag is only recognised at the start of a word, so <code>desc/cold drink d/01-01-2025</code> has the
+ * description <code>cold drink</code> and the date <code>01-01-2025</code>. Free-text fields run until the
+ * next tag, while single-word fields end at the first space, so trailing words such as
+ * <code>extra/parameter</code> are ignored. When a tag is repeated, its first occurrence is used.
+ */
+public final class ArgumentTokenizer {
+    /**
+     * The fields a command argument can hold, each introduced by its tag
+     */
+    public enum Field {
+        CATEGORY("category/", true),
+        DESCRIPTION("desc/", true),
+        AMOUNT("amt/", false),
+        DATE("d/", false);
+
+        private final String tag;
+        private final boolean isFreeText;
+
+        Field(String tag, boolean isFreeText) {
+            this.tag = tag;
+            this.isFreeText = isFreeText;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private ArgumentTokenizer() {
+    }
+
+    /**
+     * Tokenizes the arguments of a command
+     *
+     * @param input the full input of the command
+     * @param from index in the input where the arguments start
+     * @return the fields found in the input
+     */
+    public static CommandArguments tokenize(String input, int from) {
+        CommandArguments arguments = new CommandArguments(input);
+        Field open = null;
+        int length = input.length();
+        int i = from;
+        while (i < length) {
+            char c = input.charAt(i);
+            boolean isWordStart = i == from || Character.isWhitespace(input.charAt(i - 1));
+            Field field = isWordStart ? tagAt(input, i) : null;
+            if (field != null) {
+                if (open != null) {
+                    arguments.close(open, i);
+                }
+                // A repeated tag closes the open field but its own value is ignored
+                open = arguments.open(field, i, i + field.tag.length()) ? field : null;
+                i += field.tag.length();
+                continue;
+            }
+            if (open != null && !open.isFreeText && Character.isWhitespace(c)) {
+                arguments.close(open, i);
+                open = null;
+            }
+            i++;
+        }
+        if (open != null) {
+            arguments.close(open, length);
+        }
+        return arguments;
+    }
+
+    private static Field tagAt(String input, int index) {
+        for (Field field : FIELDS) {
+            if (input.startsWith(field.tag, index)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package budgetflow.parser;
+
+import budgetflow.parser.ArgumentTokenizer.Field;
+
+import java.util.Arrays;
+
+/**
+ * The fields of a command argument found by {@link ArgumentTokenizer}.
+ * <p>
+ * Each field has a fixed slot holding where its tag and its value are in the input, so a field is only copied
+ * out of the input when it is read, and errors can point at the exact column of the field they are about.
+ */
+public final class CommandArguments {
+    private static final int ABSENT = -1;
+
+    private final String input;
+    private final int[] tagStarts = new int[Field.values().length];
+    private final int[] valueStarts = new int[tagStarts.length];
+    private final int[] valueEnds = new int[tagStarts.length];
+
+    CommandArguments(String input) {
+        this.input = input;
+        Arrays.fill(tagStarts, ABSENT);
+    }
+
+    /**
+     * Starts the value of a field, unless the field was already given
+     *
+     * @return true if the field was started
+     */
+    boolean open(Field field, int tagStart, int valueStart) {
+        int slot = field.ordinal();
+        if (tagStarts[slot] != ABSENT) {
+            return false;
+        }
+        tagStarts[slot] = tagStart;
+        valueStarts[slot] = valueStart;
+        valueEnds[slot] = valueStart;
+        return true;
+    }
+
+    void close(Field field, int valueEnd) {
+        valueEnds[field.ordinal()] = valueEnd;
+    }
+
+    /**
+     * Checks whether the input has the tag of a field
+     */
+    public boolean has(Field field) {
+        return tagStarts[field.ordinal()] != ABSENT;
+    }
+
+    /**
+     * Get the value of a field
+     *
+     * @param field the field to read
+     * @return the trimmed value of the field, which is empty if its tag has no value, or null if the input does
+     *     not have the tag
+     */
+    public String get(Field field) {
+        int slot = field.ordinal();
+        if (tagStarts[slot] == ABSENT) {
+            return null;
+        }
+        return input.substring(valueStarts[slot], valueEnds[slot]).trim();
+    }
+
+    /**
+     * Get the position of a field for error reports
+     *
+     * @param field the field to locate
+     * @return the 1-based column of the tag of the field in the input, or 0 if the input does not have the tag
+     */
+    public int columnOf(Field field) {
+        return tagStarts[field.ordinal()] + 1;
+    }
+}
@@ -0,0 +1,122 @@
+package budgetflow.parser;
+
+import budgetflow.command.Command;
+
+import java.util.Arrays;
+
+/**
+ * A character trie from command keywords to the factories that create their commands.
+ * <p>
+ * Looking up an input walks its leading characters down the trie once and picks the longest keyword that
+ * matches, however many commands are registered and in whatever order. A keyword only matches up to a word
+ * boundary, so <code>help</code> matches <code>help</code> and <code>help me</code> but not
+ * <code>helpme</code>. Keywords that end with a space or a slash, such as <code>add category/</code>, already
+ * end at a boundary and match any input that starts with them.
+ */
+public class CommandTrie {
+    /**
+     * Creates a command from the full user input that selected it
+     */
+    @FunctionalInterface
+    public interface CommandFactory {
+        Command create(String input);
+    }
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private CommandFactory factory;
+        private boolean isExact;
+
+        private Node child(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(char label) {
+            Node child = child(label);
+            if (child != null) {
+                return child;
+            }
+            child = new Node();
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = label;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Registers a command that is selected by inputs starting with the keyword as a whole word
+     *
+     * @param keyword the keyword of the command, which may span several words
+     * @param factory creates the command from the input
+     * @throws IllegalArgumentException if the keyword is empty or already registered
+     */
+    public void register(String keyword, CommandFactory factory) {
+        add(keyword, factory, false);
+    }
+
+    /**
+     * Registers a command that is selected only by an input equal to the keyword
+     *
+     * @param keyword the whole input that selects the command
+     * @param factory creates the command from the input
+     * @throws IllegalArgumentException if the keyword is empty or already registered
+     */
+    public void registerExact(String keyword, CommandFactory factory) {
+        add(keyword, factory, true);
+    }
+
+    private void add(String keyword, CommandFactory factory, boolean isExact) {
+        if (keyword.isEmpty()) {
+            throw new IllegalArgumentException("Command keyword cannot be empty");
+        }
+        Node node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            node = node.addChild(keyword.charAt(i));
+        }
+        if (node.factory != null) {
+            throw new IllegalArgumentException("Command already registered: " + keyword);
+        }
+        node.factory = factory;
+        node.isExact = isExact;
+    }
+
+    /**
+     * Finds the command selected by an input
+     *
+     * @param input the user input
+     * @return the factory of the command with the longest matching keyword, or null if no keyword matches
+     */
+    public CommandFactory find(String input) {
+        CommandFactory match = null;
+        Node node = root;
+        for (int i = 0; i < input.length() && node != null; i++) {
+            node = node.child(input.charAt(i));
+            if (node != null && node.factory != null && isMatchEnd(node, input, i)) {
+                match = node.factory;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Checks whether a keyword ending at the given index of the input is a complete match
+     */
+    private static boolean isMatchEnd(Node node, String input, int lastIndex) {
+        boolean isEndOfInput = lastIndex == input.length() - 1;
+        if (node.isExact) {
+            return isEndOfInput;
+        }
+        char last = input.charAt(lastIndex);
+        return isEndOfInput || last == ' ' || last == '/' || Character.isWhitespace(input.charAt(lastIndex + 1));
+    }
+}
@@ -0,0 +1,177 @@
+package budgetflow.parser;
+
+/**
+ * Parses dd-MM-yyyy dates and MM-yyyy months straight into epoch days.
+ * <p>
+ * Validation and conversion happen in a single pass over the characters, without creating objects or throwing
+ * exceptions, so checking a date costs about as much as reading it. Invalid input, including days that do not
+ * exist in their month such as 31-02-2025, is reported as {@link #INVALID}.
+ */
+public final class DateParser {
+    /** Returned in place of an epoch day when the input is not a valid date. */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private static final int FULL_DATE_LENGTH = 10;
+    private static final int MONTH_YEAR_LENGTH = 7;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int MIN_YEAR = 1;
+    private static final int DAYS_PER_ERA = 146097;
+    private static final int YEARS_PER_ERA = 400;
+    // Days from 01-03-0000, the start of the proleptic Gregorian era used below, to 01-01-1970
+    private static final int DAYS_BEFORE_EPOCH = 719468;
+
+    private DateParser() {
+    }
+
+    /**
+     * Parses a date in dd-MM-yyyy format
+     *
+     * @param text the date to parse, may be null
+     * @return the epoch day of the date, or {@link #INVALID} if it is not a valid date
+     */
+    public static int parseDate(CharSequence text) {
+        if (text == null || text.length() != FULL_DATE_LENGTH || text.charAt(2) != '-' || text.charAt(5) != '-') {
+            return INVALID;
+        }
+        int day = parseDigits(text, 0, 2);
+        int month = parseDigits(text, 3, 5);
+        int year = parseDigits(text, 6, FULL_DATE_LENGTH);
+        if (year < MIN_YEAR || month < 1 || month > MONTHS_PER_YEAR || day < 1 || day > daysInMonth(year, month)) {
+            return INVALID;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Parses a month in MM-yyyy format
+     *
+     * @param text the month to parse, may be null
+     * @return the epoch day of the first day of the month, or {@link #INVALID} if it is not a valid month
+     */
+    public static int parseMonthYear(CharSequence text) {
+        if (text == null || text.length() != MONTH_YEAR_LENGTH || text.charAt(2) != '-') {
+            return INVALID;
+        }
+        int month = parseDigits(text, 0, 2);
+        int year = parseDigits(text, 3, MONTH_YEAR_LENGTH);
+        if (year < MIN_YEAR || month < 1 || month > MONTHS_PER_YEAR) {
+            return INVALID;
+        }
+        return toEpochDay(year, month, 1);
+    }
+
+    /**
+     * Returns the epoch day of the last day of the month containing the given day
+     *
+     * @param epochDay any day of the month
+     * @return the epoch day of the last day of that month
+     */
+    public static int lastDayOfMonth(int epochDay) {
+        int fields = toFields(epochDay);
+        return epochDay - dayOf(fields) + daysInMonth(yearOf(fields), monthOf(fields));
+    }
+
+    /**
+     * Returns the number of months from January of year 0 to the month containing the given day
+     *
+     * @param epochDay any day of the month
+     * @return {@code year * 12 + month - 1} of that day
+     */
+    public static int monthIndexOf(int epochDay) {
+        int fields = toFields(epochDay);
+        return yearOf(fields) * MONTHS_PER_YEAR + monthOf(fields) - 1;
+    }
+
+    /**
+     * Formats an epoch day in dd-MM-yyyy format
+     *
+     * @param epochDay the day to format, which must be in the years 1 to 9999
+     * @return the formatted date
+     */
+    public static String formatDate(int epochDay) {
+        int fields = toFields(epochDay);
+        char[] chars = new char[FULL_DATE_LENGTH];
+        writeDigits(chars, 0, 2, dayOf(fields));
+        chars[2] = '-';
+        writeDigits(chars, 3, 5, monthOf(fields));
+        chars[5] = '-';
+        writeDigits(chars, 6, FULL_DATE_LENGTH, yearOf(fields));
+        return new String(chars);
+    }
+
+    /**
+     * Returns the value of the digits between the two positions, or -1 if any of them is not a digit
+     */
+    private static int parseDigits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] chars, int from, int to, int value) {
+        for (int i = to - 1; i >= from; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+        case 2 -> isLeapYear(year) ? 29 : 28;
+        case 4, 6, 9, 11 -> 30;
+        default -> 31;
+        };
+    }
+
+    /**
+     * Converts a date to its epoch day, counting years from March so that February comes last
+     */
+    private static int toEpochDay(int year, int month, int day) {
+        int marchYear = month <= 2 ? year - 1 : year;
+        int era = marchYear / YEARS_PER_ERA;
+        int yearOfEra = marchYear - era * YEARS_PER_ERA;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_BEFORE_EPOCH;
+    }
+
+    /**
+     * Converts an epoch day to its year, month and day of month, the inverse of {@link #toEpochDay}
+     *
+     * @return the fields packed as {@code year * 10000 + month * 100 + day}
+     */
+    private static int toFields(int epochDay) {
+        int shiftedDay = epochDay + DAYS_BEFORE_EPOCH;
+        int era = Math.floorDiv(shiftedDay, DAYS_PER_ERA);
+        int dayOfEra = shiftedDay - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_ERA - 1)) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = era * YEARS_PER_ERA + yearOfEra + (month <= 2 ? 1 : 0);
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static int yearOf(int fields) {
+        return fields / 10000;
+    }
+
+    private static int monthOf(int fields) {
+        return fields / 100 % 100;
+    }
+
+    private static int dayOf(int fields) {
+        return fields % 100;
+    }
+}
@@ -3,12 +3,9 @@ import budgetflow.exception.MissingDateException;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.TemporalAdjusters;
 
 public class DateValidator {
     private static final DateTimeFormatter fullDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-    private static final DateTimeFormatter monthYearFormatter = DateTimeFormatter.ofPattern("MM-yyyy");
 
     /**
      * Validates a full date string in the format "dd-MM-yyyy".
@@ -17,12 +14,7 @@ public class DateValidator {
      * @return True if the date is valid, false otherwise.
      */
     public static boolean isValidDate(String dateStr) {
-        try {
-            LocalDate.parse(dateStr, fullDateFormatter);
-            return true;
-        } catch (DateTimeParseException e) {
-            return false;
-        }
+        return DateParser.parseDate(dateStr) != DateParser.INVALID;
     }
 
     /**
@@ -32,12 +24,7 @@ public class DateValidator {
      * @return True if the month-year is valid, false otherwise.
      */
     public static boolean isValidMonthYear(String monthYearStr) {
-        try {
-            LocalDate.parse("01-" + monthYearStr, fullDateFormatter);
-            return true;
-        } catch (DateTimeParseException e) {
-            return false;
-        }
+        return DateParser.parseMonthYear(monthYearStr) != DateParser.INVALID;
     }
 
     /**
@@ -48,11 +35,11 @@ public class DateValidator {
      * @throws MissingDateException If the input is not a valid month-year.
      */
     public static LocalDate parseMonthYear(String monthYearStr) throws MissingDateException {
-        try {
-            return LocalDate.parse("01-" + monthYearStr, fullDateFormatter);
-        } catch (DateTimeParseException e) {
+        int firstDay = DateParser.parseMonthYear(monthYearStr);
+        if (firstDay == DateParser.INVALID) {
             throw new MissingDateException("Invalid month-year format. Please use MM-yyyy.");
         }
+        return LocalDate.ofEpochDay(firstDay);
     }
 
     /**
@@ -62,8 +49,8 @@ public class DateValidator {
      * @return An array of two LocalDate objects: [firstDayOfMonth, lastDayOfMonth].
      */
     public static LocalDate[] getMonthRange(String monthYearStr) throws MissingDateException {
-        LocalDate firstDay = parseMonthYear(monthYearStr).with(TemporalAdjusters.firstDayOfMonth());
-        LocalDate lastDay = parseMonthYear(monthYearStr).with(TemporalAdjusters.lastDayOfMonth());
+        LocalDate firstDay = parseMonthYear(monthYearStr);
+        LocalDate lastDay = LocalDate.ofEpochDay(DateParser.lastDayOfMonth((int) firstDay.toEpochDay()));
         return new LocalDate[]{firstDay, lastDay};
     }
 
@@ -12,7 +12,9 @@ import budgetflow.command.FilterIncomeByDateCommand;
 import budgetflow.command.FindExpenseCommand;
 import budgetflow.command.ListIncomeCommand;
 import budgetflow.command.LogExpenseCommand;
+import budgetflow.command.SavingProgressCommand;
 import budgetflow.command.SetSavingGoalCommand;
+import budgetflow.command.TotalExpenseCommand;
 import budgetflow.command.UpdateExpenseCommand;
 import budgetflow.command.UpdateIncomeCommand;
 import budgetflow.command.ViewAllExpensesCommand;
@@ -41,19 +43,56 @@ public class Parser {
     private static final String COMMAND_FIND_EXPENSE = "find-expense";
     private static final String COMMAND_EXIT = "exit";
     private static final String COMMAND_COMPARE = "compare";
+    private static final String COMMAND_TOTAL_EXPENSE = "total-expense";
     private static final String COMMAND_UPDATE_EXPENSE = "update-expense";
     private static final String COMMAND_UPDATE_INCOME = "update-income";
     private static final String COMMAND_HELP = "help";
     // New command constants for filtering incomes
     private static final String COMMAND_FILTER_INCOME_DATE = "filter-income date";
     private static final String COMMAND_FILTER_INCOME_AMOUNT = "filter-income amount";
-    private static final String COMMAND_FILTER_INCOME_CATEGORY = "filter-income category";
+    private static final String COMMAND_FILTER_INCOME_CATEGORY = "filter-income category/";
     // New command constant for saving goal
     private static final String COMMAND_SET_SAVING_GOAL = "set-saving-goal";
+    private static final String COMMAND_SAVING_PROGRESS = "saving-progress";
     private static final String ERROR_UNKNOWN_COMMAND = "Unknown command received: ";
 
+    private static final CommandTrie COMMANDS = new CommandTrie();
+
+    static {
+        COMMANDS.register(COMMAND_ADD_INCOME, AddIncomeCommand::new);
+        COMMANDS.register(COMMAND_SET_SAVING_GOAL, SetSavingGoalCommand::new);
+        COMMANDS.registerExact(COMMAND_SAVING_PROGRESS, input -> new SavingProgressCommand());
+        COMMANDS.register(COMMAND_LOG_EXPENSE, LogExpenseCommand::new);
+        COMMANDS.register(COMMAND_DELETE_INCOME, DeleteIncomeCommand::new);
+        COMMANDS.register(COMMAND_LIST_INCOME, ListIncomeCommand::new);
+        COMMANDS.register(COMMAND_DELETE_EXPENSE, DeleteExpenseCommand::new);
+        COMMANDS.register(COMMAND_VIEW_ALL_EXPENSES, ViewAllExpensesCommand::new);
+        COMMANDS.register(COMMAND_FIND_EXPENSE, FindExpenseCommand::new);
+        COMMANDS.registerExact(COMMAND_EXIT, input -> new ExitCommand());
+        COMMANDS.register(COMMAND_COMPARE, CompareExpenseCommand::new);
+        COMMANDS.register(COMMAND_TOTAL_EXPENSE, TotalExpenseCommand::new);
+        COMMANDS.register(COMMAND_UPDATE_EXPENSE, UpdateExpenseCommand::new);
+        COMMANDS.register(COMMAND_UPDATE_INCOME, UpdateIncomeCommand::new);
+        COMMANDS.register(COMMAND_FILTER_INCOME_DATE, FilterIncomeByDateCommand::new);
+        COMMANDS.register(COMMAND_HELP, input -> new HelpCommand());
+        COMMANDS.register(COMMAND_FILTER_INCOME_AMOUNT, FilterIncomeByAmountCommand::new);
+        COMMANDS.register(COMMAND_FILTER_INCOME_CATEGORY, FilterIncomeByCategoryCommand::new);
+    }
+
+    /**
+     * Registers an additional command, selected by inputs that start with its keyword as a whole word.
+     * Commands should be registered before the first input is parsed.
+     *
+     * @param keyword the keyword of the command, which must not already be registered.
+     * @param factory creates the command from the full input.
+     */
+    public static void registerCommand(String keyword, CommandTrie.CommandFactory factory) {
+        COMMANDS.register(keyword, factory);
+    }
+
     /**
      * Parses the user's input and extracts the corresponding command.
+     * The command is found by walking the input once down a trie of the command keywords.
      *
      * @param input the user's input command.
      * @return the corresponding command for the user's input.
@@ -61,41 +100,11 @@ public class Parser {
      */
     public static Command getCommandFromInput(String input) throws UnknownCommandException {
         logger.info("Processing command: " + input);
-        if (input.startsWith(COMMAND_ADD_INCOME)) {
-            return new AddIncomeCommand(input);
-        } else if (input.startsWith(COMMAND_SET_SAVING_GOAL)) {
-            return new SetSavingGoalCommand(input);
-        } else if (input.startsWith(COMMAND_LOG_EXPENSE)) {
-            return new LogExpenseCommand(input);
-        } else if (input.startsWith(COMMAND_DELETE_INCOME)) {
-            return new DeleteIncomeCommand(input);
-        } else if (COMMAND_LIST_INCOME.equals(input)) {
-            return new ListIncomeCommand();
-        } else if (input.startsWith(COMMAND_DELETE_EXPENSE)) {
-            return new DeleteExpenseCommand(input);
-        } else if (input.equals(COMMAND_VIEW_ALL_EXPENSES)) {
-            return new ViewAllExpensesCommand();
-        } else if (input.startsWith(COMMAND_FIND_EXPENSE)) {
-            return new FindExpenseCommand(input);
-        } else if (input.equals(COMMAND_EXIT)) {
-            return new ExitCommand();
-        } else if (input.startsWith(COMMAND_COMPARE)) {
-            return new CompareExpenseCommand(input);
-        } else if (input.startsWith(COMMAND_UPDATE_EXPENSE)) {
-            return new UpdateExpenseCommand(input);
-        }else if (input.startsWith(COMMAND_UPDATE_INCOME)) {
-            return new UpdateIncomeCommand(input);
-        } else if (input.startsWith(COMMAND_FILTER_INCOME_DATE)) {
-            return new FilterIncomeByDateCommand(input);
-        }  else if (input.startsWith(COMMAND_HELP)) {
-            return new HelpCommand();
-        } else if (input.startsWith(COMMAND_FILTER_INCOME_AMOUNT)) {
-            return new FilterIncomeByAmountCommand(input);
-        } else if (input.startsWith(COMMAND_FILTER_INCOME_CATEGORY)) {
-            return new FilterIncomeByCategoryCommand(input);
-        } else {
+        CommandTrie.CommandFactory factory = COMMANDS.find(input);
+        if (factory == null) {
             logger.warning(ERROR_UNKNOWN_COMMAND + input);
             throw new UnknownCommandException();
         }
+        return factory.create(input);
     }
 }
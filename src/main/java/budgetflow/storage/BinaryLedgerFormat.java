@@ -0,0 +1,232 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.parser.DateParser;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A versioned, column-oriented binary encoding of the finance data, read back through a memory-mapped buffer.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version, long sequence
+ * int dictionarySize, then per string: int byteLength, UTF-8 bytes
+ * int incomeCount,  long[] amountCents, int[] epochDays, int[] categoryIds, invalid dates
+ * int expenseCount, long[] amountCents, int[] epochDays, int[] categoryIds, int[] descriptionIds, invalid dates
+ * int crc32c of all preceding bytes
+ * </pre>
+ * Categories and descriptions are stored once in the dictionary and referenced by id; a missing category or
+ * description is stored as the id {@value #NULL_ID}.
+ * <p>
+ * A date that is not a valid date is stored as {@link DateParser#INVALID} in the epoch day column, and the date as
+ * given is kept in the invalid dates section that follows the columns: int count, then per date: int row, int id
+ * of the date in the dictionary.
+ */
+public class BinaryLedgerFormat implements LedgerFormat {
+    private static final int MAGIC = 0x42464C42; // "BFLB"
+    private static final int VERSION = 2;
+    private static final int NULL_ID = -1;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+
+    @Override
+    public void write(File file, List<Income> incomes, ExpenseList expenseList, long sequence) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        Map<Integer, String> invalidIncomeDates = new LinkedHashMap<>();
+        for (int i = 0; i < incomes.size(); i++) {
+            Income income = incomes.get(i);
+            addToDictionary(dictionary, income.getCategory());
+            addInvalidDate(invalidIncomeDates, dictionary, i, income.getEpochDay(), income.getDate());
+        }
+        // Expenses are read field by field from the columns of the list, without creating an expense per row
+        int expenseCount = expenseList.getSize();
+        Map<Integer, String> invalidExpenseDates = new LinkedHashMap<>();
+        for (int i = 0; i < expenseCount; i++) {
+            addToDictionary(dictionary, expenseList.getCategoryAt(i));
+            addToDictionary(dictionary, expenseList.getDescriptionAt(i));
+            int epochDay = expenseList.getEpochDayAt(i);
+            if (epochDay == DateParser.INVALID) {
+                addInvalidDate(invalidExpenseDates, dictionary, i, epochDay, expenseList.getDateAt(i));
+            }
+        }
+
+        CRC32C crc = new CRC32C();
+        CheckedOutputStream checkedStream = new CheckedOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)), crc);
+        DataOutputStream out = new DataOutputStream(checkedStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sequence);
+
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(incomes.size());
+        for (Income income : incomes) {
+            out.writeLong(income.getCents());
+        }
+        for (Income income : incomes) {
+            out.writeInt(income.getEpochDay());
+        }
+        for (Income income : incomes) {
+            out.writeInt(idOf(dictionary, income.getCategory()));
+        }
+        writeInvalidDates(out, invalidIncomeDates, dictionary);
+
+        out.writeInt(expenseCount);
+        for (int i = 0; i < expenseCount; i++) {
+            out.writeLong(expenseList.getCentsAt(i));
+        }
+        for (int i = 0; i < expenseCount; i++) {
+            out.writeInt(expenseList.getEpochDayAt(i));
+        }
+        for (int i = 0; i < expenseCount; i++) {
+            out.writeInt(idOf(dictionary, expenseList.getCategoryAt(i)));
+        }
+        for (int i = 0; i < expenseCount; i++) {
+            out.writeInt(idOf(dictionary, expenseList.getDescriptionAt(i)));
+        }
+        writeInvalidDates(out, invalidExpenseDates, dictionary);
+
+        out.flush();
+        out.writeInt((int) crc.getValue());
+        out.close();
+    }
+
+    private static void addToDictionary(Map<String, Integer> dictionary, String value) {
+        if (value != null) {
+            dictionary.putIfAbsent(value, dictionary.size());
+        }
+    }
+
+    private static int idOf(Map<String, Integer> dictionary, String value) {
+        return value == null ? NULL_ID : dictionary.get(value);
+    }
+
+    private static String valueOf(String[] dictionary, int id) {
+        return id == NULL_ID ? null : dictionary[id];
+    }
+
+    private static void addInvalidDate(Map<Integer, String> invalidDates, Map<String, Integer> dictionary, int row,
+                                       int epochDay, String date) {
+        if (epochDay == DateParser.INVALID && date != null) {
+            invalidDates.put(row, date);
+            addToDictionary(dictionary, date);
+        }
+    }
+
+    private static void writeInvalidDates(DataOutputStream out, Map<Integer, String> invalidDates,
+                                          Map<String, Integer> dictionary) throws IOException {
+        out.writeInt(invalidDates.size());
+        for (Map.Entry<Integer, String> invalidDate : invalidDates.entrySet()) {
+            out.writeInt(invalidDate.getKey());
+            out.writeInt(dictionary.get(invalidDate.getValue()));
+        }
+    }
+
+    /**
+     * Reads the invalid dates section at the current position of the buffer
+     *
+     * @return the date as given of each row with an invalid date
+     */
+    private static Map<Integer, String> readInvalidDates(MappedByteBuffer buffer, String[] dictionary) {
+        Map<Integer, String> invalidDates = new HashMap<>();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int row = buffer.getInt();
+            invalidDates.put(row, dictionary[buffer.getInt()]);
+        }
+        return invalidDates;
+    }
+
+    @Override
+    public long read(File file, List<Income> incomes, ExpenseList expenseList) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            verifyChecksum(buffer, file);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(file.getName() + " is not a BudgetFlow binary ledger");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary ledger version " + version + " in " + file.getName());
+            }
+            long sequence = buffer.getLong();
+
+            String[] dictionary = new String[buffer.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int incomeCount = buffer.getInt();
+            int centsStart = buffer.position();
+            int daysStart = centsStart + incomeCount * Long.BYTES;
+            int categoriesStart = daysStart + incomeCount * Integer.BYTES;
+            buffer.position(categoriesStart + incomeCount * Integer.BYTES);
+            Map<Integer, String> invalidDates = readInvalidDates(buffer, dictionary);
+            for (int i = 0; i < incomeCount; i++) {
+                String category = valueOf(dictionary, buffer.getInt(categoriesStart + i * Integer.BYTES));
+                long cents = buffer.getLong(centsStart + i * Long.BYTES);
+                int epochDay = buffer.getInt(daysStart + i * Integer.BYTES);
+                incomes.add(epochDay == DateParser.INVALID
+                        ? Income.fromCents(category, cents, invalidDates.get(i))
+                        : new Income(category, cents, epochDay));
+            }
+
+            int expenseCount = buffer.getInt();
+            centsStart = buffer.position();
+            daysStart = centsStart + expenseCount * Long.BYTES;
+            categoriesStart = daysStart + expenseCount * Integer.BYTES;
+            int descriptionsStart = categoriesStart + expenseCount * Integer.BYTES;
+            buffer.position(descriptionsStart + expenseCount * Integer.BYTES);
+            invalidDates = readInvalidDates(buffer, dictionary);
+            for (int i = 0; i < expenseCount; i++) {
+                String category = valueOf(dictionary, buffer.getInt(categoriesStart + i * Integer.BYTES));
+                String description = valueOf(dictionary, buffer.getInt(descriptionsStart + i * Integer.BYTES));
+                long cents = buffer.getLong(centsStart + i * Long.BYTES);
+                int epochDay = buffer.getInt(daysStart + i * Integer.BYTES);
+                expenseList.add(epochDay == DateParser.INVALID
+                        ? Expense.fromCents(category, description, cents, invalidDates.get(i))
+                        : new Expense(category, description, cents, epochDay));
+            }
+            return sequence;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Binary ledger " + file.getName() + " is truncated");
+        }
+    }
+
+    private static void verifyChecksum(MappedByteBuffer buffer, File file) throws IOException {
+        int bodyLength = buffer.limit() - CHECKSUM_BYTES;
+        if (bodyLength < 0) {
+            throw new IOException("Binary ledger " + file.getName() + " is truncated");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(bodyLength));
+        if ((int) crc.getValue() != buffer.getInt(bodyLength)) {
+            throw new IOException("Checksum mismatch in " + file.getName());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package budgetflow.storage;
+
+import budgetflow.ui.Ui;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Protects line-based storage files with CRC32C checksums.
+ * <p>
+ * Lines are grouped into blocks, each followed by a {@code CRC|<checksum>|<line count>} line covering the
+ * UTF-8 bytes of the block. Blocks whose checksum does not match are dropped when the file is read back.
+ */
+public class ChecksummedLines {
+    public static final String CHECKSUM_TAG = "CRC";
+
+    private static final Logger logger = Logger.getLogger(ChecksummedLines.class.getName());
+    private static final String CHECKSUM_PREFIX = CHECKSUM_TAG + "|";
+    private static final int CHECKSUM_PART = 1;
+    private static final int COUNT_PART = 2;
+    private static final int CHECKSUM_LINE_PARTS = 3;
+    private static final int HEX_RADIX = 16;
+
+    /**
+     * Builds the checksum line that closes a block
+     *
+     * @param block the lines of the block, without line separators
+     * @return the checksum line for the block
+     */
+    public static String checksumLine(List<String> block) {
+        return CHECKSUM_PREFIX + Long.toHexString(checksumOf(block)) + "|" + block.size();
+    }
+
+    public static boolean isChecksumLine(String line) {
+        return line.startsWith(CHECKSUM_PREFIX);
+    }
+
+    private static long checksumOf(List<String> block) {
+        CRC32C crc = new CRC32C();
+        for (String line : block) {
+            crc.update(line.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the lines of every block whose checksum matches, dropping corrupted blocks.
+     * Trailing lines without a checksum are kept only for files written before checksums were added,
+     * otherwise they are treated as a torn write.
+     *
+     * @param lines all lines of the file, including checksum lines
+     * @param source name of the file, used in error messages
+     * @return the verified data lines in file order
+     */
+    public static List<String> verify(List<String> lines, String source) {
+        List<String> verified = new ArrayList<>();
+        List<String> block = new ArrayList<>();
+        boolean hasChecksums = false;
+        int blockNumber = 0;
+        for (String line : lines) {
+            if (!isChecksumLine(line)) {
+                block.add(line);
+                continue;
+            }
+            hasChecksums = true;
+            blockNumber++;
+            if (isValidBlock(block, line)) {
+                verified.addAll(block);
+            } else {
+                Ui.printStatus("Checksum mismatch in block " + blockNumber + " of " + source
+                        + ", skipped " + block.size() + " lines");
+                logger.severe("Corrupted block " + blockNumber + " in " + source);
+            }
+            block.clear();
+        }
+
+        if (!block.isEmpty()) {
+            if (hasChecksums) {
+                Ui.printStatus("Incomplete block at the end of " + source
+                        + ", skipped " + block.size() + " lines");
+                logger.warning("Torn write detected at the end of " + source);
+            } else {
+                verified.addAll(block);
+            }
+        }
+        return verified;
+    }
+
+    static boolean isValidBlock(List<String> block, String checksumLine) {
+        String[] parts = checksumLine.split("\\|");
+        if (parts.length != CHECKSUM_LINE_PARTS) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(parts[COUNT_PART]) == block.size()
+                    && Long.parseLong(parts[CHECKSUM_PART], HEX_RADIX) == checksumOf(block);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package budgetflow.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of {@link JournalRecord} lines kept next to the data snapshot.
+ * Every append is written as one block closed by a {@link ChecksummedLines} checksum line, so a write torn
+ * by a crash is detected and dropped on replay.
+ * <p>
+ * When the journal is compacted, the live file is rotated to a pending file so new records can keep
+ * being appended while the snapshot is written. The pending file is discarded once the snapshot is saved.
+ */
+public class Journal {
+    private final File journalFile;
+    private final File pendingFile;
+    private FileOutputStream outputStream;
+    private BufferedWriter writer;
+
+    public Journal(String journalPath, String pendingPath) {
+        this.journalFile = new File(journalPath);
+        this.pendingFile = new File(pendingPath);
+    }
+
+    /**
+     * Appends encoded records to the end of the journal as one checksummed block and flushes them to the file
+     *
+     * @param lines the encoded journal lines
+     * @throws IOException if the journal cannot be written
+     */
+    public void append(List<String> lines) throws IOException {
+        if (writer == null) {
+            repairTail();
+            outputStream = new FileOutputStream(journalFile, true);
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        }
+        for (String line : lines) {
+            writer.write(line);
+            writer.newLine();
+        }
+        writer.write(ChecksummedLines.checksumLine(lines));
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Makes sure new blocks start on a block boundary before appending to an existing journal.
+     * A block torn by a crash is cut off, and lines written before checksums existed are sealed with one.
+     */
+    private void repairTail() throws IOException {
+        if (!journalFile.exists()) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8);
+        lines.removeIf(String::isBlank);
+        int lastChecksumLine = -1;
+        for (int i = 0; i < lines.size(); i++) {
+            if (ChecksummedLines.isChecksumLine(lines.get(i))) {
+                lastChecksumLine = i;
+            }
+        }
+        if (lastChecksumLine == lines.size() - 1) {
+            return;
+        }
+        if (lastChecksumLine < 0) {
+            lines.add(ChecksummedLines.checksumLine(new ArrayList<>(lines)));
+        } else {
+            lines = lines.subList(0, lastChecksumLine + 1);
+        }
+        Files.write(journalFile.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Forces appended records to the storage device so they survive a crash
+     *
+     * @throws IOException if the journal cannot be synced
+     */
+    public void sync() throws IOException {
+        if (writer != null) {
+            writer.flush();
+            outputStream.getFD().sync();
+        }
+    }
+
+    public long size() {
+        return journalFile.length();
+    }
+
+    public boolean hasPending() {
+        return pendingFile.exists();
+    }
+
+    /**
+     * Moves the live journal aside so it can be folded into the next snapshot.
+     * If an earlier compaction never finished, the live journal is appended to the pending file instead.
+     *
+     * @throws IOException if the journal cannot be moved
+     */
+    public void rotate() throws IOException {
+        close();
+        if (!journalFile.exists()) {
+            return;
+        }
+        if (pendingFile.exists()) {
+            Files.write(pendingFile.toPath(), Files.readAllBytes(journalFile.toPath()), StandardOpenOption.APPEND);
+            Files.delete(journalFile.toPath());
+        } else {
+            Files.move(journalFile.toPath(), pendingFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes the pending file once its records are covered by a saved snapshot
+     *
+     * @throws IOException if the pending file cannot be deleted
+     */
+    public void discardPending() throws IOException {
+        Files.deleteIfExists(pendingFile.toPath());
+    }
+
+    /**
+     * Reads all journal lines with a valid checksum, oldest first, including those of an unfinished compaction
+     *
+     * @return the verified journal lines in the order they were appended
+     * @throws IOException if the journal cannot be read
+     */
+    public List<String> readLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.addAll(readVerifiedLines(pendingFile));
+        lines.addAll(readVerifiedLines(journalFile));
+        return lines;
+    }
+
+    /**
+     * Reads the journal lines with a valid checksum that were moved aside by the last rotation
+     *
+     * @return the verified pending lines in the order they were appended
+     * @throws IOException if the pending file cannot be read
+     */
+    public List<String> readPendingLines() throws IOException {
+        return readVerifiedLines(pendingFile);
+    }
+
+    private static List<String> readVerifiedLines(File file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (!file.exists()) {
+            return lines;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        }
+        return ChecksummedLines.verify(lines, file.getName());
+    }
+
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            outputStream = null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.money.Money;
+
+import java.util.List;
+
+/**
+ * Represents a single mutation of the finance data that can be appended to the storage journal
+ * and replayed on the next start-up.
+ * <p>
+ * A line is written as <code>sequence|version|OPERATION|values</code> with amounts in whole cents.
+ * Lines of the first version have no version field and hold amounts as decimal dollars; they are still read.
+ */
+public class JournalRecord {
+    private static final String SEPARATOR = "|";
+    private static final String SEPARATOR_PATTERN = "\\|";
+    private static final int SEQUENCE_PART = 0;
+    private static final int VERSION_PART = 1;
+    private static final int FIRST_VERSION = 1;
+    private static final int VERSION = 2;
+
+    /** Kinds of mutation that can be journaled */
+    public enum Operation {
+        ADD_INCOME,
+        UPDATE_INCOME,
+        DELETE_INCOME,
+        ADD_EXPENSE,
+        UPDATE_EXPENSE,
+        DELETE_EXPENSE,
+        SET_SAVING_GOAL
+    }
+
+    private final Operation operation;
+    private final int index;
+    private final String category;
+    private final String description;
+    private final long cents;
+    private final String date;
+
+    private JournalRecord(Operation operation, int index, String category, String description,
+                          long cents, String date) {
+        this.operation = operation;
+        this.index = index;
+        this.category = category;
+        this.description = description;
+        this.cents = cents;
+        this.date = date;
+    }
+
+    public static JournalRecord addIncome(Income income) {
+        return new JournalRecord(Operation.ADD_INCOME, -1, income.getCategory(), null,
+                income.getCents(), income.getDate());
+    }
+
+    public static JournalRecord updateIncome(int index, Income income) {
+        return new JournalRecord(Operation.UPDATE_INCOME, index, income.getCategory(), null,
+                income.getCents(), income.getDate());
+    }
+
+    public static JournalRecord deleteIncome(int index) {
+        return new JournalRecord(Operation.DELETE_INCOME, index, null, null, 0, null);
+    }
+
+    public static JournalRecord addExpense(Expense expense) {
+        return new JournalRecord(Operation.ADD_EXPENSE, -1, expense.getCategory(), expense.getDescription(),
+                expense.getCents(), expense.getDate());
+    }
+
+    public static JournalRecord updateExpense(int index, Expense expense) {
+        return new JournalRecord(Operation.UPDATE_EXPENSE, index, expense.getCategory(), expense.getDescription(),
+                expense.getCents(), expense.getDate());
+    }
+
+    public static JournalRecord deleteExpense(int index) {
+        return new JournalRecord(Operation.DELETE_EXPENSE, index, null, null, 0, null);
+    }
+
+    public static JournalRecord setSavingGoal(long savingGoalCents) {
+        return new JournalRecord(Operation.SET_SAVING_GOAL, -1, null, null, savingGoalCents, null);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * Checks whether this record changes the incomes or expenses, as opposed to the saving goal
+     *
+     * @return true if the record touches the income or expense list
+     */
+    public boolean isLedgerChange() {
+        return operation != Operation.SET_SAVING_GOAL;
+    }
+
+    /**
+     * Encodes the record into a single journal line
+     *
+     * @param sequence the sequence number of the record in the journal
+     * @return the pipe-delimited journal line
+     */
+    public String encode(long sequence) {
+        String prefix = sequence + SEPARATOR + VERSION + SEPARATOR + operation + SEPARATOR;
+        return switch (operation) {
+        case ADD_INCOME -> prefix + category + SEPARATOR + cents + SEPARATOR + date;
+        case UPDATE_INCOME -> prefix + index + SEPARATOR + category + SEPARATOR + cents + SEPARATOR + date;
+        case ADD_EXPENSE -> prefix + category + SEPARATOR + description + SEPARATOR + cents + SEPARATOR + date;
+        case UPDATE_EXPENSE -> prefix + index + SEPARATOR + category + SEPARATOR + description + SEPARATOR
+                + cents + SEPARATOR + date;
+        case DELETE_INCOME, DELETE_EXPENSE -> prefix + index;
+        case SET_SAVING_GOAL -> prefix + cents;
+        };
+    }
+
+    /**
+     * Reads the sequence number of a journal line without decoding the rest of it
+     *
+     * @param line a line written by {@link #encode(long)}
+     * @return the sequence number of the line
+     * @throws NumberFormatException if the line does not start with a sequence number
+     */
+    public static long decodeSequence(String line) {
+        return Long.parseLong(line.substring(0, line.indexOf(SEPARATOR)));
+    }
+
+    /**
+     * Decodes a journal line written by {@link #encode(long)}, or by the first version of the journal
+     *
+     * @param line the journal line
+     * @return the decoded record
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static JournalRecord decode(String line) {
+        String[] parts = line.split(SEPARATOR_PATTERN);
+        if (parts.length <= VERSION_PART + 1) {
+            throw new IllegalArgumentException("Malformed journal line: " + line);
+        }
+        Long.parseLong(parts[SEQUENCE_PART]);
+        // Lines of the first version have the operation where the version now is
+        boolean isFirstVersion = !parts[VERSION_PART].matches("\\d+");
+        int version = isFirstVersion ? FIRST_VERSION : Integer.parseInt(parts[VERSION_PART]);
+        if (version != FIRST_VERSION && version != VERSION) {
+            throw new IllegalArgumentException("Unsupported journal version " + version + ": " + line);
+        }
+        int operationPart = isFirstVersion ? VERSION_PART : VERSION_PART + 1;
+        Operation operation = Operation.valueOf(parts[operationPart]);
+        int v = operationPart + 1;
+        JournalRecord record = switch (operation) {
+        case ADD_INCOME -> parts.length == v + 3
+                ? new JournalRecord(operation, -1, parts[v], null, decodeCents(parts[v + 1], version), parts[v + 2])
+                : null;
+        case UPDATE_INCOME -> parts.length == v + 4
+                ? new JournalRecord(operation, Integer.parseInt(parts[v]), parts[v + 1], null,
+                        decodeCents(parts[v + 2], version), parts[v + 3])
+                : null;
+        case ADD_EXPENSE -> parts.length == v + 4
+                ? new JournalRecord(operation, -1, parts[v], parts[v + 1],
+                        decodeCents(parts[v + 2], version), parts[v + 3])
+                : null;
+        case UPDATE_EXPENSE -> parts.length == v + 5
+                ? new JournalRecord(operation, Integer.parseInt(parts[v]), parts[v + 1], parts[v + 2],
+                        decodeCents(parts[v + 3], version), parts[v + 4])
+                : null;
+        case DELETE_INCOME, DELETE_EXPENSE -> parts.length == v + 1
+                ? new JournalRecord(operation, Integer.parseInt(parts[v]), null, null, 0, null)
+                : null;
+        case SET_SAVING_GOAL -> parts.length == v + 1
+                ? new JournalRecord(operation, -1, null, null, decodeCents(parts[v], version), null)
+                : null;
+        };
+        if (record == null) {
+            throw new IllegalArgumentException("Malformed journal line: " + line);
+        }
+        return record;
+    }
+
+    private static long decodeCents(String amount, int version) {
+        return version == FIRST_VERSION ? Money.parseCents(amount) : Long.parseLong(amount);
+    }
+
+    /**
+     * Re-applies the mutation to the in-memory finance data. A saving goal record changes neither list and
+     * is left to the caller, which reads it with {@link #getCents()}.
+     *
+     * @param incomes list of incomes to apply the record to
+     * @param expenseList list of expenses to apply the record to
+     * @throws IndexOutOfBoundsException if the record refers to an entry that does not exist
+     */
+    public void applyTo(List<Income> incomes, ExpenseList expenseList) {
+        switch (operation) {
+        case ADD_INCOME -> incomes.add(Income.fromCents(category, cents, date));
+        case UPDATE_INCOME -> incomes.set(index, Income.fromCents(category, cents, date));
+        case DELETE_INCOME -> incomes.remove(index);
+        case ADD_EXPENSE -> expenseList.add(Expense.fromCents(category, description, cents, date));
+        case UPDATE_EXPENSE -> expenseList.set(index, Expense.fromCents(category, description, cents, date));
+        case DELETE_EXPENSE -> expenseList.delete(index);
+        case SET_SAVING_GOAL -> {
+        }
+        default -> throw new IllegalStateException("Unknown journal operation: " + operation);
+        }
+    }
+}
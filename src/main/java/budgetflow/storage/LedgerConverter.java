@@ -0,0 +1,81 @@
+package budgetflow.storage;
+
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.ui.Ui;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts a ledger snapshot between the text and binary formats.
+ * <p>
+ * Usage: {@code java budgetflow.storage.LedgerConverter to-binary|to-text <source> <target>}
+ */
+public class LedgerConverter {
+    private static final String TO_BINARY = "to-binary";
+    private static final String TO_TEXT = "to-text";
+    private static final String USAGE = "Usage: LedgerConverter to-binary|to-text <source> <target>";
+    private static final int DIRECTION_ARG = 0;
+    private static final int SOURCE_ARG = 1;
+    private static final int TARGET_ARG = 2;
+    private static final int ARG_COUNT = 3;
+
+    /**
+     * Reads a snapshot in one format and writes the same data and sequence number in another
+     *
+     * @param source file to read
+     * @param sourceFormat format of the source file
+     * @param target file to write
+     * @param targetFormat format of the target file
+     * @return number of incomes and expenses converted
+     * @throws IOException if either file cannot be accessed or the source is corrupted
+     */
+    public static int convert(File source, LedgerFormat sourceFormat,
+                              File target, LedgerFormat targetFormat) throws IOException {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        long sequence = sourceFormat.read(source, incomes, expenseList);
+        targetFormat.write(target, incomes, expenseList, sequence);
+        return incomes.size() + expenseList.getSize();
+    }
+
+    public static int textToBinary(File source, File target) throws IOException {
+        return convert(source, new TextLedgerFormat(), target, new BinaryLedgerFormat());
+    }
+
+    public static int binaryToText(File source, File target) throws IOException {
+        return convert(source, new BinaryLedgerFormat(), target, new TextLedgerFormat());
+    }
+
+    public static void main(String[] args) {
+        convertFromArguments(args);
+        // Reports of unreadable lines from the formats share the console buffer with the messages below
+        Ui.flushConsole();
+    }
+
+    private static void convertFromArguments(String[] args) {
+        if (args.length != ARG_COUNT) {
+            Ui.printStatus(USAGE);
+            return;
+        }
+        File source = new File(args[SOURCE_ARG]);
+        File target = new File(args[TARGET_ARG]);
+        try {
+            int converted = switch (args[DIRECTION_ARG]) {
+            case TO_BINARY -> textToBinary(source, target);
+            case TO_TEXT -> binaryToText(source, target);
+            default -> -1;
+            };
+            if (converted < 0) {
+                Ui.printStatus(USAGE);
+                return;
+            }
+            Ui.printStatus("Converted " + converted + " entries from " + source + " to " + target);
+        } catch (IOException | NumberFormatException e) {
+            Ui.printStatus("Error converting ledger: " + e.getMessage());
+        }
+    }
+}
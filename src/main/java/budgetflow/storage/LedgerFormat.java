@@ -0,0 +1,35 @@
+package budgetflow.storage;
+
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * On-disk encoding of a full snapshot of the incomes and expenses.
+ */
+public interface LedgerFormat {
+    /**
+     * Writes a snapshot of the finance data to the given file, replacing its content
+     *
+     * @param file the file to write to
+     * @param incomes the incomes to save
+     * @param expenseList the expenses to save
+     * @param sequence sequence number of the last journal record included in the snapshot
+     * @throws IOException if the file cannot be written
+     */
+    void write(File file, List<Income> incomes, ExpenseList expenseList, long sequence) throws IOException;
+
+    /**
+     * Reads a snapshot from the given file, appending its entries to the lists
+     *
+     * @param file the file to read from
+     * @param incomes list the incomes are added to
+     * @param expenseList list the expenses are added to
+     * @return sequence number of the last journal record included in the snapshot
+     * @throws IOException if the file cannot be read or is corrupted
+     */
+    long read(File file, List<Income> incomes, ExpenseList expenseList) throws IOException;
+}
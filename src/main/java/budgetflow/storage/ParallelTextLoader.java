@@ -0,0 +1,303 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.money.Money;
+import budgetflow.parser.DateParser;
+import budgetflow.ui.Ui;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Loads a text ledger by splitting it into byte ranges and parsing the ranges in parallel on a
+ * {@link ForkJoinPool}. Results are merged back in file order.
+ * <p>
+ * Ranges always end on a line boundary, and for checksummed files on a block boundary, so every range can
+ * verify its own blocks. Unreadable lines are skipped and collected into a summary instead of aborting the load.
+ * Amounts are parsed straight into cents and dates straight into epoch days. An entry whose date is not a valid
+ * date is still loaded with its date as written, and is listed in the summary apart from the skipped lines.
+ */
+public class ParallelTextLoader {
+    private static final Logger logger = Logger.getLogger(ParallelTextLoader.class.getName());
+    private static final int MIN_CHUNK_BYTES = 256 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final byte NEWLINE = '\n';
+    private static final byte[] CHECKSUM_PREFIX = (ChecksummedLines.CHECKSUM_TAG + "|")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final ForkJoinPool pool;
+
+    public ParallelTextLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelTextLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Entries and errors parsed from one byte range of the file */
+    private static class Chunk {
+        private final List<Income> incomes = new ArrayList<>();
+        private final List<Expense> expenses = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private final List<String> invalidDates = new ArrayList<>();
+        private long sequence = -1;
+        private int lineCount;
+    }
+
+    /**
+     * Loads the file into the given lists and prints a summary of any skipped lines and invalid dates
+     *
+     * @param file the text ledger to load
+     * @param incomes list the incomes are added to
+     * @param expenseList list the expenses are added to
+     * @return sequence number of the last journal record included in the file
+     * @throws IOException if the file cannot be read
+     */
+    public long load(File file, List<Income> incomes, ExpenseList expenseList) throws IOException {
+        return load(file, incomes, expenseList, Ui::printStatus);
+    }
+
+    /**
+     * Loads the file into the given lists and passes each part of the summary to the given consumer
+     */
+    long load(File file, List<Income> incomes, ExpenseList expenseList, Consumer<String> summaryPrinter)
+            throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+            boolean hasChecksums = containsChecksumLine(buffer, Math.min(buffer.limit(), getChunkBytes(buffer)));
+            int[] boundaries = splitIntoRanges(buffer, hasChecksums);
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                int start = boundaries[i];
+                int end = boundaries[i + 1];
+                tasks.add(pool.submit(() -> parseChunk(buffer, start, end, hasChecksums)));
+            }
+            for (ForkJoinTask<Chunk> task : tasks) {
+                chunks.add(task.join());
+            }
+        }
+
+        long sequence = 0;
+        int firstLine = 1;
+        List<String> errors = new ArrayList<>();
+        List<String> invalidDates = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            incomes.addAll(chunk.incomes);
+            for (Expense expense : chunk.expenses) {
+                expenseList.add(expense);
+            }
+            sequence = Math.max(sequence, chunk.sequence);
+            addWithFileLines(errors, chunk.errors, firstLine);
+            addWithFileLines(invalidDates, chunk.invalidDates, firstLine);
+            firstLine += chunk.lineCount;
+        }
+        printSummary(summaryPrinter, "Skipped " + errors.size() + " unreadable entries in " + file.getName(),
+                errors);
+        printSummary(summaryPrinter, "Loaded " + invalidDates.size() + " entries with an invalid date in "
+                + file.getName() + ", kept as written", invalidDates);
+        return sequence;
+    }
+
+    /**
+     * Adds problems numbered by their line in a chunk, numbered by their line in the file instead
+     */
+    private static void addWithFileLines(List<String> problems, List<String> chunkProblems, int firstLine) {
+        for (String problem : chunkProblems) {
+            int separator = problem.indexOf(':');
+            int line = firstLine + Integer.parseInt(problem.substring(0, separator));
+            problems.add("line " + line + problem.substring(separator));
+        }
+    }
+
+    private int getChunkBytes(MappedByteBuffer buffer) {
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        return Math.max(MIN_CHUNK_BYTES, buffer.limit() / Math.max(1, chunks));
+    }
+
+    /**
+     * Splits the file into byte ranges of roughly equal size. Every range ends after a line separator and,
+     * if the file has checksums, after a checksum line.
+     */
+    private int[] splitIntoRanges(MappedByteBuffer buffer, boolean hasChecksums) {
+        int size = buffer.limit();
+        int chunkBytes = getChunkBytes(buffer);
+
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        int position = 0;
+        while (position < size) {
+            int next = nextLineStart(buffer, Math.min(size, position + chunkBytes));
+            while (hasChecksums && next < size && !isChecksumLine(buffer, lineStartBefore(buffer, next))) {
+                next = nextLineStart(buffer, next);
+            }
+            boundaries.add(next);
+            position = next;
+        }
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int nextLineStart(MappedByteBuffer buffer, int position) {
+        int size = buffer.limit();
+        while (position < size && buffer.get(position) != NEWLINE) {
+            position++;
+        }
+        return Math.min(size, position + 1);
+    }
+
+    private static int lineStartBefore(MappedByteBuffer buffer, int lineEnd) {
+        int position = lineEnd - 1;
+        while (position > 0 && buffer.get(position - 1) != NEWLINE) {
+            position--;
+        }
+        return position;
+    }
+
+    private static boolean isChecksumLine(MappedByteBuffer buffer, int lineStart) {
+        if (lineStart + CHECKSUM_PREFIX.length > buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < CHECKSUM_PREFIX.length; i++) {
+            if (buffer.get(lineStart + i) != CHECKSUM_PREFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsChecksumLine(MappedByteBuffer buffer, int limit) {
+        for (int lineStart = 0; lineStart < limit; lineStart = nextLineStart(buffer, lineStart)) {
+            if (isChecksumLine(buffer, lineStart)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses the lines in one byte range. Errors are recorded as {@code <line index in chunk>: <message>}.
+     */
+    private static Chunk parseChunk(MappedByteBuffer buffer, int start, int end, boolean fileHasChecksums) {
+        byte[] bytes = new byte[end - start];
+        buffer.slice(start, end - start).get(bytes);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+
+        Chunk chunk = new Chunk();
+        List<String> block = new ArrayList<>();
+        int blockFirstLine = 0;
+        boolean hasChecksums = fileHasChecksums;
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            String line = text.substring(lineStart, lineEnd);
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            lineStart = lineEnd + 1;
+            int lineIndex = chunk.lineCount++;
+
+            if (!ChecksummedLines.isChecksumLine(line)) {
+                if (block.isEmpty()) {
+                    blockFirstLine = lineIndex;
+                }
+                block.add(line);
+                continue;
+            }
+            hasChecksums = true;
+            if (ChecksummedLines.isValidBlock(block, line)) {
+                parseBlock(block, blockFirstLine, chunk);
+            } else {
+                logger.severe("Corrupted block in " + (end - start) + " byte chunk at offset " + start);
+                chunk.errors.add(blockFirstLine + ": checksum mismatch, skipped block of " + block.size()
+                        + " lines");
+            }
+            block.clear();
+        }
+
+        if (!block.isEmpty()) {
+            if (hasChecksums) {
+                logger.warning("Torn write detected at offset " + start);
+                chunk.errors.add(blockFirstLine + ": incomplete block at end of file, skipped " + block.size()
+                        + " lines");
+            } else {
+                parseBlock(block, blockFirstLine, chunk);
+            }
+        }
+        return chunk;
+    }
+
+    private static void parseBlock(List<String> block, int firstLine, Chunk chunk) {
+        for (int i = 0; i < block.size(); i++) {
+            String line = block.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] parts = line.split("\\|");
+            try {
+                if (parts[0].equals("INCOME") && parts.length == 4) {
+                    long cents = Money.parseCents(parts[2]);
+                    int epochDay = parseDay(parts[3], firstLine + i, chunk);
+                    chunk.incomes.add(epochDay == DateParser.INVALID
+                            ? Income.fromCents(parts[1], cents, parts[3])
+                            : new Income(parts[1], cents, epochDay));
+                } else if (parts[0].equals("EXPENSE") && parts.length == 5) {
+                    long cents = Money.parseCents(parts[3]);
+                    int epochDay = parseDay(parts[4], firstLine + i, chunk);
+                    chunk.expenses.add(epochDay == DateParser.INVALID
+                            ? Expense.fromCents(parts[1], parts[2], cents, parts[4])
+                            : new Expense(parts[1], parts[2], cents, epochDay));
+                } else if (parts[0].equals(TextLedgerFormat.SEQUENCE_TAG) && parts.length == 2) {
+                    chunk.sequence = Long.parseLong(parts[1]);
+                } else {
+                    chunk.errors.add((firstLine + i) + ": unrecognised record");
+                }
+            } catch (NumberFormatException e) {
+                chunk.errors.add((firstLine + i) + ": invalid number in " + line);
+            }
+        }
+    }
+
+    /**
+     * Parses the date of an entry, recording the line if it is not a valid date
+     */
+    private static int parseDay(String date, int lineIndex, Chunk chunk) {
+        int epochDay = DateParser.parseDate(date);
+        if (epochDay == DateParser.INVALID) {
+            chunk.invalidDates.add(lineIndex + ": " + date);
+        }
+        return epochDay;
+    }
+
+    private static void printSummary(Consumer<String> summaryPrinter, String heading, List<String> problems) {
+        if (problems.isEmpty()) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder();
+        summary.append(heading).append(":");
+        for (int i = 0; i < problems.size() && i < MAX_REPORTED_ERRORS; i++) {
+            summary.append(System.lineSeparator()).append("  ").append(problems.get(i));
+        }
+        if (problems.size() > MAX_REPORTED_ERRORS) {
+            summary.append(System.lineSeparator()).append("  ... and ")
+                    .append(problems.size() - MAX_REPORTED_ERRORS).append(" more");
+        }
+        summaryPrinter.accept(summary.toString());
+    }
+}
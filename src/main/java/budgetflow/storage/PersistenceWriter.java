@@ -0,0 +1,296 @@
+package budgetflow.storage;
+
+import budgetflow.exception.PersistenceException;
+import budgetflow.expense.ExpenseList;
+import budgetflow.expense.MonthLoader;
+import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
+import budgetflow.ui.Ui;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Moves persistence off the command thread.
+ * <p>
+ * Commands hand their {@link JournalRecord}s to {@link #submit(List)}, which only enqueues them. A dedicated
+ * writer thread coalesces every burst of submissions into a single flush, waiting at most
+ * {@code persistenceMaxLatencyMs} after the first record and taking at most {@code persistenceMaxBatch}
+ * submissions per flush. {@link #close()} drains the queue and forces the data to disk.
+ * <p>
+ * The writer keeps no copy of the finance data of its own. In journaled mode a flush only appends the records.
+ * Otherwise the data is copied when a flush starts, while holding {@link #getDataLock()}, which the command thread
+ * holds while a command changes the data. Only the column arrays are copied under the lock, so a flush blocks
+ * commands for no more than an array copy, and the copy is dropped once it is saved.
+ * <p>
+ * A flush that fails is reported by the next call to {@link #submit(List)} or {@link #close()}. If the writer
+ * thread stops, the changes are saved on the calling thread from then on.
+ * <p>
+ * With the {@code syncPersistence} system property set, every submission is persisted on the calling
+ * thread before {@link #submit(List)} returns.
+ */
+public class PersistenceWriter implements MonthLoader {
+    private static final Logger logger = Logger.getLogger(PersistenceWriter.class.getName());
+    private static final long DEFAULT_MAX_LATENCY_MS = 50;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    private static final List<JournalRecord> CLOSE_MARKER = new ArrayList<>();
+
+    private final Storage storage;
+    private final SavingGoalManager savingGoalManager;
+    private final boolean isSynchronous;
+    private final long maxLatencyMs;
+    private final int maxBatchSize;
+    private final List<Income> incomes;
+    private final ExpenseList expenseList;
+    private final Object dataLock = new Object();
+    private final BlockingQueue<List<JournalRecord>> queue = new LinkedBlockingQueue<>();
+    private Thread writerThread;
+    private volatile boolean isClosed;
+    private volatile Throwable failure;
+
+    /**
+     * Creates a writer using the persistence settings given as system properties
+     *
+     * @param storage storage the records are persisted to
+     * @param savingGoalManager manager the saving goal is persisted to
+     * @param incomes the loaded list of incomes
+     * @param expenseList the loaded list of expenses
+     */
+    public PersistenceWriter(Storage storage, SavingGoalManager savingGoalManager,
+                             List<Income> incomes, ExpenseList expenseList) {
+        this(storage, savingGoalManager, incomes, expenseList, Boolean.getBoolean("syncPersistence"),
+                Long.getLong("persistenceMaxLatencyMs", DEFAULT_MAX_LATENCY_MS),
+                Integer.getInteger("persistenceMaxBatch", DEFAULT_MAX_BATCH_SIZE));
+    }
+
+    /**
+     * Creates a writer with explicit persistence settings
+     *
+     * @param storage storage the records are persisted to
+     * @param savingGoalManager manager the saving goal is persisted to
+     * @param incomes the loaded list of incomes
+     * @param expenseList the loaded list of expenses
+     * @param isSynchronous whether to persist on the calling thread instead of the writer thread
+     * @param maxLatencyMs longest time a submission waits for others to join its flush
+     * @param maxBatchSize largest number of submissions persisted by a single flush
+     */
+    public PersistenceWriter(Storage storage, SavingGoalManager savingGoalManager, List<Income> incomes,
+                             ExpenseList expenseList, boolean isSynchronous, long maxLatencyMs, int maxBatchSize) {
+        assert maxBatchSize > 0 : "Batch size must be positive";
+        this.storage = storage;
+        this.savingGoalManager = savingGoalManager;
+        this.isSynchronous = isSynchronous;
+        this.maxLatencyMs = maxLatencyMs;
+        this.maxBatchSize = maxBatchSize;
+        this.incomes = incomes;
+        this.expenseList = expenseList;
+        if (isSynchronous) {
+            return;
+        }
+
+        writerThread = new Thread(this::runWriter, "persistence-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeOnShutdown));
+    }
+
+    /**
+     * Get the lock that must be held while the finance data is changed, so that the writer never copies
+     * the data halfway through a command
+     */
+    public Object getDataLock() {
+        return dataLock;
+    }
+
+    /**
+     * Queues the mutations made by a command for persistence
+     *
+     * @param records mutations made by the command, in the order they were applied
+     * @throws PersistenceException if an earlier flush failed or the writer thread has stopped
+     */
+    public void submit(List<JournalRecord> records) throws PersistenceException {
+        if (!records.isEmpty()) {
+            if (isSynchronous) {
+                flushRecordingFailure(records);
+            } else {
+                queue.add(new ArrayList<>(records));
+                if (!writerThread.isAlive()) {
+                    persistQueued();
+                }
+            }
+        }
+        reportFailure();
+    }
+
+    /**
+     * Loads the stored months in the given range that are not in memory yet into the finance data
+     * given to the constructor, inserting each month in date order
+     *
+     * @param first first month to load
+     * @param last last month to load
+     */
+    @Override
+    public void loadMonths(YearMonth first, YearMonth last) {
+        List<Income> loadedIncomes = new ArrayList<>();
+        ExpenseList loadedExpenses = new ExpenseList();
+        if (!storage.loadMonths(first, last, loadedIncomes, loadedExpenses)) {
+            return;
+        }
+        synchronized (dataLock) {
+            IncomeList.insertMonths(incomes, loadedIncomes);
+            expenseList.insertMonths(loadedExpenses);
+        }
+    }
+
+    private void runWriter() {
+        try {
+            writeUntilClosed();
+        } catch (RuntimeException | Error e) {
+            // Later submissions see that the thread has stopped and persist on their own thread
+            logger.severe("Persistence writer stopped: " + e);
+            failure = e;
+            throw e;
+        }
+    }
+
+    private void writeUntilClosed() {
+        boolean isClosing = false;
+        while (!isClosing) {
+            List<JournalRecord> batch = new ArrayList<>();
+            try {
+                List<JournalRecord> next = queue.take();
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+                for (int submissions = 0; next != null; submissions++) {
+                    if (next == CLOSE_MARKER) {
+                        isClosing = true;
+                        break;
+                    }
+                    batch.addAll(next);
+                    if (submissions + 1 >= maxBatchSize) {
+                        break;
+                    }
+                    next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                isClosing = true;
+            }
+            if (!batch.isEmpty()) {
+                flushRecordingFailure(batch);
+            }
+        }
+    }
+
+    /**
+     * Persists everything left in the queue on the calling thread, once the writer thread is no longer running
+     */
+    private void persistQueued() {
+        List<JournalRecord> batch = new ArrayList<>();
+        List<JournalRecord> next;
+        while ((next = queue.poll()) != null) {
+            if (next != CLOSE_MARKER) {
+                batch.addAll(next);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushRecordingFailure(batch);
+        }
+    }
+
+    private void flushRecordingFailure(List<JournalRecord> records) {
+        try {
+            flush(records);
+        } catch (RuntimeException e) {
+            logger.severe("Unable to persist " + records.size() + " records: " + e);
+            failure = e;
+        }
+    }
+
+    private void flush(List<JournalRecord> records) {
+        if (Thread.currentThread() == writerThread && !storage.isJournaled() && hasLedgerChange(records)) {
+            // Commands keep changing the lists while the writer saves, so it saves a copy taken between commands
+            boolean isSaved;
+            do {
+                Storage.Snapshot snapshot;
+                synchronized (dataLock) {
+                    snapshot = storage.takeSnapshot(incomes, expenseList);
+                }
+                isSaved = storage.saveSnapshot(snapshot);
+            } while (!isSaved);
+        } else {
+            storage.persist(records, incomes, expenseList);
+        }
+        JournalRecord lastGoalChange = null;
+        for (JournalRecord record : records) {
+            if (!record.isLedgerChange()) {
+                lastGoalChange = record;
+            }
+        }
+        if (lastGoalChange != null) {
+            savingGoalManager.saveSavingGoal(lastGoalChange.getCents());
+        }
+    }
+
+    private static boolean hasLedgerChange(List<JournalRecord> records) {
+        for (JournalRecord record : records) {
+            if (record.isLedgerChange()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reportFailure() throws PersistenceException {
+        Throwable cause = failure;
+        if (cause == null) {
+            return;
+        }
+        failure = null;
+        String message = "Error saving data: " + cause;
+        if (writerThread != null && !writerThread.isAlive() && !isClosed) {
+            message += ". Changes are now saved as each command runs";
+        }
+        throw new PersistenceException(message);
+    }
+
+    /**
+     * Persists everything still queued, forces it to disk and stops the writer thread
+     *
+     * @throws PersistenceException if any change could not be saved since the last report
+     */
+    public synchronized void close() throws PersistenceException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        if (writerThread != null) {
+            queue.add(CLOSE_MARKER);
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Anything the writer left behind because it stopped early
+            persistQueued();
+        }
+        storage.sync();
+        savingGoalManager.syncSavingGoal();
+        reportFailure();
+    }
+
+    private void closeOnShutdown() {
+        try {
+            close();
+        } catch (PersistenceException e) {
+            logger.severe(e.getMessage());
+            Ui.printStatus(e.getMessage());
+        } finally {
+            // Nothing flushes the console after this, so reports printed while closing would otherwise be lost
+            Ui.flushConsole();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package budgetflow.storage;
 
 import budgetflow.command.ListIncomeCommand;
+import budgetflow.money.Money;
+import budgetflow.ui.Ui;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -17,7 +19,12 @@ public class SavingGoalManager {
     private static final Logger logger = Logger.getLogger(SavingGoalManager.class.getName());
     private static final String SAVING_GOAL_FILE_PATH = "./data/saving_goal.txt";
 
-    public void saveSavingGoal(double savingGoal) {
+    /**
+     * Writes the saving goal to the saving goal file as dollars with two decimals
+     *
+     * @param savingGoalCents the saving goal, in cents
+     */
+    public void saveSavingGoal(long savingGoalCents) {
         try {
             File directory = new File("./data");
             if (!directory.exists()) {
@@ -27,17 +34,28 @@ public class SavingGoalManager {
             FileWriter fileWriter = new FileWriter(SAVING_GOAL_FILE_PATH);
             BufferedWriter writer = new BufferedWriter(fileWriter);
 
-            writer.write(String.valueOf(savingGoal));
+            writer.write(Money.format(savingGoalCents));
             writer.newLine();
             writer.close();
 
-            logger.info("Saving goal saved successfully: " + savingGoal);
+            logger.info("Saving goal saved successfully: " + Money.format(savingGoalCents));
         } catch (IOException e) {
-            System.out.println("Error saving saving goal: " + e.getMessage());
+            Ui.printStatus("Error saving saving goal: " + e.getMessage());
             logger.severe("Error saving saving goal: " + e.getMessage());
         }
     }
 
+    /**
+     * Forces the saved saving goal to the storage device
+     */
+    public void syncSavingGoal() {
+        try {
+            Storage.forceToDisk(SAVING_GOAL_FILE_PATH);
+        } catch (IOException e) {
+            logger.severe("Error syncing saving goal: " + e.getMessage());
+        }
+    }
+
     public void loadSavingGoal() {
         File file = new File(SAVING_GOAL_FILE_PATH);
         if (!file.exists()) {
@@ -52,19 +70,20 @@ public class SavingGoalManager {
             String line = reader.readLine();
             if (line != null) {
                 try {
-                    double savingGoal = Double.parseDouble(line);
-                    ListIncomeCommand.setSavingGoal(savingGoal);
+                    // Files written before the goal was kept in cents hold it as "5000.0", which parses the same
+                    long savingGoalCents = Money.parseCents(line);
+                    ListIncomeCommand.setSavingGoalCents(savingGoalCents);
 
-                    logger.info("Saving goal loaded successfully: " + savingGoal);
-                } catch (NumberFormatException e) {
-                    System.out.println("Error parsing saving goal: " + e.getMessage());
+                    logger.info("Saving goal loaded successfully: " + Money.format(savingGoalCents));
+                } catch (IllegalArgumentException e) {
+                    Ui.printStatus("Error parsing saving goal: " + e.getMessage());
                     logger.warning("Error parsing saving goal: " + e.getMessage());
                 }
             }
 
             reader.close();
         } catch (IOException e) {
-            System.out.println("Error loading saving goal: " + e.getMessage());
+            Ui.printStatus("Error loading saving goal: " + e.getMessage());
             logger.severe("Error loading saving goal: " + e.getMessage());
         }
     }
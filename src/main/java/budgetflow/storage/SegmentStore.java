@@ -0,0 +1,295 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.parser.DateParser;
+import budgetflow.ui.Ui;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Stores the finance data as one file per month under {@code ./data/segments}, named {@code yyyy-MM}.
+ * <p>
+ * Only the most recent segments are read on start-up; older ("cold") segments are read when a command asks
+ * for one of their months. Each resident segment is fingerprinted, so saving only rewrites the segments
+ * whose entries changed. Cold segments are only rewritten if entries of their month are saved before the month
+ * is loaded; their stored entries are then read and kept with the new ones.
+ */
+public class SegmentStore {
+    private static final Logger logger = Logger.getLogger(SegmentStore.class.getName());
+    private static final DateTimeFormatter SEGMENT_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final File directory;
+    private final LedgerFormat format;
+    private final String extension;
+    private final TreeSet<YearMonth> coldMonths = new TreeSet<>();
+    private final Map<YearMonth, Long> fingerprints = new HashMap<>();
+    private final Map<YearMonth, Segment> heldColdSegments = new HashMap<>();
+
+    /** The entries stored in one segment file */
+    private static class Segment {
+        private final List<Income> incomes = new ArrayList<>();
+        private final ExpenseList expenseList = new ExpenseList();
+    }
+
+    /**
+     * Creates a store for the segments in the given directory
+     *
+     * @param directory directory holding the segment files
+     * @param format format of each segment file
+     * @param extension file name extension of the segment files, including the dot
+     */
+    public SegmentStore(File directory, LedgerFormat format, String extension) {
+        this.directory = directory;
+        this.format = format;
+        this.extension = extension;
+    }
+
+    /**
+     * Reads the newest segments and records the remaining ones as cold
+     *
+     * @param residentMonths number of most recent segments to read
+     * @param incomes list the incomes are added to
+     * @param expenseList list the expenses are added to
+     * @return number of segments read
+     */
+    public synchronized int loadRecent(int residentMonths, List<Income> incomes, ExpenseList expenseList) {
+        TreeSet<YearMonth> stored = listSegments();
+        List<YearMonth> recent = new ArrayList<>(stored.descendingSet()).subList(0,
+                Math.min(residentMonths, stored.size()));
+        coldMonths.addAll(stored);
+        // Oldest first, so the entries keep their chronological order in memory
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            readSegment(recent.get(i), incomes, expenseList);
+            coldMonths.remove(recent.get(i));
+        }
+        return recent.size();
+    }
+
+    /**
+     * Reads every cold segment between the two months (inclusive)
+     *
+     * @param first first month to load
+     * @param last last month to load
+     * @param incomes list the incomes are added to
+     * @param expenseList list the expenses are added to
+     * @return whether any segment was read
+     */
+    public synchronized boolean loadMonths(YearMonth first, YearMonth last, List<Income> incomes,
+                                           ExpenseList expenseList) {
+        List<YearMonth> months = new ArrayList<>(coldMonths.subSet(first, true, last, true));
+        for (YearMonth month : months) {
+            readSegment(month, incomes, expenseList);
+            coldMonths.remove(month);
+        }
+        if (!months.isEmpty()) {
+            logger.info("Loaded " + months.size() + " cold segments from " + first + " to " + last);
+        }
+        return !months.isEmpty();
+    }
+
+    /**
+     * Get the months that are stored but not loaded yet
+     */
+    public synchronized Set<YearMonth> getColdMonths() {
+        return new TreeSet<>(coldMonths);
+    }
+
+    private TreeSet<YearMonth> listSegments() {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(extension));
+        if (files == null) {
+            return months;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                months.add(YearMonth.parse(name.substring(0, name.length() - extension.length()),
+                        SEGMENT_NAME_FORMATTER));
+            } catch (DateTimeParseException e) {
+                logger.warning("Ignoring unexpected file in segment directory: " + name);
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Reads a cold segment into the lists. If entries of the month were saved while it was cold, only the
+     * entries stored before them are read, as the saved entries are already in memory.
+     */
+    private void readSegment(YearMonth month, List<Income> incomes, ExpenseList expenseList) {
+        Segment segment = heldColdSegments.remove(month);
+        if (segment == null) {
+            segment = new Segment();
+            try {
+                readSegmentFile(month, segment);
+            } catch (IOException | NumberFormatException e) {
+                Ui.printStatus("Error loading data: " + e.getMessage());
+            }
+        }
+        fingerprints.put(month, fingerprintOf(segment.incomes, segment.expenseList));
+        incomes.addAll(segment.incomes);
+        for (int i = 0; i < segment.expenseList.getSize(); i++) {
+            expenseList.add(segment.expenseList.get(i));
+        }
+    }
+
+    private void readSegmentFile(YearMonth month, Segment segment) throws IOException {
+        format.read(getSegmentFile(month), segment.incomes, segment.expenseList);
+    }
+
+    private File getSegmentFile(YearMonth month) {
+        return new File(directory, month.format(SEGMENT_NAME_FORMATTER) + extension);
+    }
+
+    /**
+     * Saves the resident entries, leaving every month that is not loaded as it is stored
+     *
+     * @param incomes all resident incomes
+     * @param expenseList all resident expenses
+     * @throws IOException if a segment cannot be written
+     */
+    public synchronized void save(List<Income> incomes, ExpenseList expenseList) throws IOException {
+        save(incomes, expenseList, coldMonths);
+    }
+
+    /**
+     * Rewrites the segments whose entries changed since they were last read or written, and removes
+     * the segments of resident months that no longer have any entries. Entries of a month that is not loaded
+     * are saved next to the entries already stored for it.
+     *
+     * @param incomes all resident incomes
+     * @param expenseList all resident expenses
+     * @param savedColdMonths the months that were not loaded yet when the lists were copied
+     * @return false if a month of the copied entries was loaded after the lists were copied, in which case that
+     *     month is left as it is stored and the lists must be copied and saved again
+     * @throws IOException if a segment cannot be read or written
+     */
+    public synchronized boolean save(List<Income> incomes, ExpenseList expenseList, Set<YearMonth> savedColdMonths)
+            throws IOException {
+        Map<YearMonth, List<Income>> incomesByMonth = new TreeMap<>();
+        Map<YearMonth, ExpenseList> expensesByMonth = new TreeMap<>();
+        for (Income income : incomes) {
+            YearMonth month = monthOf(income.getEpochDay());
+            incomesByMonth.computeIfAbsent(month, key -> new ArrayList<>()).add(income);
+            expensesByMonth.computeIfAbsent(month, key -> new ExpenseList());
+        }
+        for (int i = 0; i < expenseList.getSize(); i++) {
+            Expense expense = expenseList.get(i);
+            YearMonth month = monthOf(expense.getEpochDay());
+            incomesByMonth.computeIfAbsent(month, key -> new ArrayList<>());
+            expensesByMonth.computeIfAbsent(month, key -> new ExpenseList()).add(expense);
+        }
+
+        directory.mkdirs();
+        int written = 0;
+        boolean isComplete = true;
+        for (YearMonth month : incomesByMonth.keySet()) {
+            List<Income> monthIncomes = incomesByMonth.get(month);
+            ExpenseList monthExpenses = expensesByMonth.get(month);
+            if (coldMonths.contains(month)) {
+                saveColdMonth(month, monthIncomes, monthExpenses);
+                written++;
+                continue;
+            }
+            if (savedColdMonths.contains(month)) {
+                // The copy was taken before the month was loaded, so it lacks the stored entries of the month
+                isComplete = false;
+                continue;
+            }
+            long fingerprint = fingerprintOf(monthIncomes, monthExpenses);
+            Long storedFingerprint = fingerprints.get(month);
+            if (storedFingerprint == null || storedFingerprint != fingerprint) {
+                Storage.writeAtomically(format, getSegmentFile(month), monthIncomes, monthExpenses, 0);
+                fingerprints.put(month, fingerprint);
+                written++;
+            }
+        }
+        for (YearMonth month : new ArrayList<>(fingerprints.keySet())) {
+            if (!incomesByMonth.containsKey(month) && !savedColdMonths.contains(month)) {
+                Files.deleteIfExists(getSegmentFile(month).toPath());
+                fingerprints.remove(month);
+                written++;
+            }
+        }
+        for (YearMonth month : new ArrayList<>(heldColdSegments.keySet())) {
+            if (!incomesByMonth.containsKey(month)) {
+                // The entries saved while the month was cold are gone, so only its stored entries remain
+                Segment stored = heldColdSegments.remove(month);
+                Storage.writeAtomically(format, getSegmentFile(month), stored.incomes, stored.expenseList, 0);
+                written++;
+            }
+        }
+        if (written > 0) {
+            logger.info("Rewrote " + written + " changed segments");
+        }
+        return isComplete;
+    }
+
+    /**
+     * Writes the entries of a month that is not loaded after the entries already stored for it. The stored
+     * entries are held until the month is loaded, so that loading it does not add the new entries twice.
+     */
+    private void saveColdMonth(YearMonth month, List<Income> monthIncomes, ExpenseList monthExpenses)
+            throws IOException {
+        Segment stored = heldColdSegments.get(month);
+        if (stored == null) {
+            stored = new Segment();
+            readSegmentFile(month, stored);
+            heldColdSegments.put(month, stored);
+            logger.warning("Saving entries of segment " + month + " before it is loaded");
+        }
+        List<Income> mergedIncomes = new ArrayList<>(stored.incomes);
+        mergedIncomes.addAll(monthIncomes);
+        ExpenseList mergedExpenses = stored.expenseList.copy();
+        for (int i = 0; i < monthExpenses.getSize(); i++) {
+            mergedExpenses.add(monthExpenses.get(i));
+        }
+        Storage.writeAtomically(format, getSegmentFile(month), mergedIncomes, mergedExpenses, 0);
+    }
+
+    /**
+     * Returns the month an entry belongs to. Entries with unreadable dates are kept in the epoch month
+     * so that they are never lost.
+     */
+    private static YearMonth monthOf(int day) {
+        return YearMonth.from(LocalDate.ofEpochDay(day == DateParser.INVALID ? 0 : day));
+    }
+
+    private static long fingerprintOf(List<Income> incomes, ExpenseList expenseList) {
+        CRC32C crc = new CRC32C();
+        long length = 0;
+        List<String> lines = new ArrayList<>();
+        for (Income income : incomes) {
+            lines.add(TextLedgerFormat.formatIncome(income));
+        }
+        for (int i = 0; i < expenseList.getSize(); i++) {
+            lines.add(TextLedgerFormat.formatExpense(expenseList.get(i)));
+        }
+        for (String line : lines) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            crc.update(bytes);
+            crc.update('\n');
+            length += bytes.length + 1;
+        }
+        // The length makes an unnoticed change far less likely than the checksum alone
+        return (length << Integer.SIZE) ^ crc.getValue();
+    }
+}
@@ -1,94 +1,458 @@
 package budgetflow.storage;
 
-import budgetflow.expense.Expense;
+import budgetflow.command.ListIncomeCommand;
 import budgetflow.expense.ExpenseList;
 import budgetflow.income.Income;
+import budgetflow.ui.Ui;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
 
 /**
  * Handles the storage operations for the BudgetFlow application.
  * Responsible for saving and loading finance data to/from persistent storage.
+ * <p>
+ * In journaled mode (enabled with the {@code journaledStorage} system property) every mutation is appended
+ * to a journal instead of rewriting the whole data file. The journal is replayed on load and folded into
+ * a fresh snapshot in the background once it grows past {@code journalCompactionBytes}. Compaction rebuilds the
+ * snapshot from the data file and the rotated journal on disk, so it never needs a copy of the data in memory.
+ * <p>
+ * Snapshots are never written in place: they go to a temporary file that is synced and atomically renamed
+ * over the data file. Snapshots use the checksummed {@link TextLedgerFormat}, or the {@link BinaryLedgerFormat}
+ * in {@code budgetflow.bin} when the {@code storageFormat} system property is {@code binary}.
+ * <p>
+ * With the {@code storageLayout} system property set to {@code segmented}, the data is instead split into one
+ * {@link SegmentStore} file per month. Only the newest {@code residentMonths} segments are loaded on start-up and
+ * older months are loaded through {@link #loadMonths} when a command needs them. The segmented layout rewrites
+ * changed months directly and cannot be combined with journaled mode.
  */
 public class Storage {
-    private static final String DATA_FILE_PATH = "./data/budgetflow.txt";
+    private static final Logger logger = Logger.getLogger(Storage.class.getName());
+    private static final String DATA_DIRECTORY_PATH = "./data";
+    private static final String TEXT_DATA_FILE_NAME = "budgetflow.txt";
+    private static final String BINARY_DATA_FILE_NAME = "budgetflow.bin";
+    private static final String BINARY_FORMAT = "binary";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String JOURNAL_FILE_NAME = "budgetflow.journal";
+    private static final String PENDING_JOURNAL_FILE_NAME = "budgetflow.journal.compacting";
+    private static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 1024 * 1024;
+    private static final String SEGMENT_DIRECTORY_NAME = "segments";
+    private static final String SEGMENTED_LAYOUT = "segmented";
+    private static final String MIGRATED_FILE_SUFFIX = ".migrated";
+    private static final int DEFAULT_RESIDENT_MONTHS = 3;
+
+    private final File dataDirectory;
+    private final boolean isJournaled;
+    private final LedgerFormat format;
+    private final File dataFile;
+    private final long compactionThresholdBytes;
+    private final Journal journal;
+    private final SegmentStore segmentStore;
+    private final int residentMonths;
+    private ExecutorService compactor;
+    private Future<?> pendingCompaction;
+    private long lastSequence;
+
+    public Storage() {
+        this(Boolean.getBoolean("journaledStorage"),
+                Long.getLong("journalCompactionBytes", DEFAULT_COMPACTION_THRESHOLD_BYTES),
+                BINARY_FORMAT.equals(System.getProperty("storageFormat")),
+                SEGMENTED_LAYOUT.equals(System.getProperty("storageLayout")),
+                Integer.getInteger("residentMonths", DEFAULT_RESIDENT_MONTHS));
+    }
+
+    public Storage(boolean isJournaled, long compactionThresholdBytes, boolean isBinary) {
+        this(isJournaled, compactionThresholdBytes, isBinary, false, DEFAULT_RESIDENT_MONTHS);
+    }
+
+    /**
+     * Creates a storage with the given persistence mode
+     *
+     * @param isJournaled whether mutations are appended to the journal instead of rewriting the data file
+     * @param compactionThresholdBytes journal size after which it is compacted into a new snapshot
+     * @param isBinary whether snapshots use the binary columnar format instead of the text format
+     * @param isSegmented whether the data is stored as one file per month
+     * @param residentMonths number of most recent months loaded on start-up in the segmented layout
+     */
+    public Storage(boolean isJournaled, long compactionThresholdBytes, boolean isBinary, boolean isSegmented,
+                   int residentMonths) {
+        this(new File(DATA_DIRECTORY_PATH), isJournaled, compactionThresholdBytes, isBinary, isSegmented,
+                residentMonths);
+    }
+
+    /**
+     * Creates a storage that keeps its files in the given directory instead of {@code ./data}
+     */
+    Storage(File dataDirectory, boolean isJournaled, long compactionThresholdBytes, boolean isBinary,
+            boolean isSegmented, int residentMonths) {
+        if (isJournaled && isSegmented) {
+            logger.warning("Segmented layout is not supported in journaled mode, using a single data file");
+            isSegmented = false;
+        }
+        this.dataDirectory = dataDirectory;
+        this.isJournaled = isJournaled;
+        this.format = isBinary ? new BinaryLedgerFormat() : new TextLedgerFormat();
+        this.dataFile = new File(dataDirectory, isBinary ? BINARY_DATA_FILE_NAME : TEXT_DATA_FILE_NAME);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.journal = new Journal(new File(dataDirectory, JOURNAL_FILE_NAME).getPath(),
+                new File(dataDirectory, PENDING_JOURNAL_FILE_NAME).getPath());
+        this.segmentStore = isSegmented
+                ? new SegmentStore(new File(dataDirectory, SEGMENT_DIRECTORY_NAME), format, isBinary ? ".bin" : ".txt")
+                : null;
+        this.residentMonths = residentMonths;
+    }
+
+    public boolean isSegmented() {
+        return segmentStore != null;
+    }
+
+    public boolean isJournaled() {
+        return isJournaled;
+    }
+
+    /**
+     * A copy of the finance data taken while no command was changing it, so it can be saved on another thread
+     */
+    static final class Snapshot {
+        private final List<Income> incomes;
+        private final ExpenseList expenseList;
+        private final Set<YearMonth> coldMonths;
+
+        private Snapshot(List<Income> incomes, ExpenseList expenseList, Set<YearMonth> coldMonths) {
+            this.incomes = incomes;
+            this.expenseList = expenseList;
+            this.coldMonths = coldMonths;
+        }
+    }
+
+    /**
+     * Persists the mutations made by a single command.
+     * In journaled mode the records are appended to the journal and the lists are not read; otherwise the whole
+     * data file is rewritten.
+     *
+     * @param records mutations made by the command, in the order they were applied
+     * @param incomes the current list of incomes
+     * @param expenseList the current list of expenses
+     */
+    public void persist(List<JournalRecord> records, List<Income> incomes, ExpenseList expenseList) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (!isJournaled) {
+            if (records.stream().anyMatch(JournalRecord::isLedgerChange)) {
+                saveData(incomes, expenseList);
+            }
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (JournalRecord record : records) {
+            lines.add(record.encode(++lastSequence));
+        }
+        try {
+            createDataDirectory();
+            journal.append(lines);
+        } catch (IOException e) {
+            Ui.printStatus("Error saving data: " + e.getMessage());
+            return;
+        }
+        if (journal.size() >= compactionThresholdBytes && !isCompacting()) {
+            compactInBackground();
+        }
+    }
 
     public void saveData(List<Income> incomes, ExpenseList expenseList) {
+        saveData(incomes, expenseList, isSegmented() ? segmentStore.getColdMonths() : Set.of());
+    }
+
+    /**
+     * Copies the finance data for {@link #saveSnapshot} array by array, without building any index or total.
+     * Must be called while no command is changing the data.
+     */
+    Snapshot takeSnapshot(List<Income> incomes, ExpenseList expenseList) {
+        Set<YearMonth> coldMonths = isSegmented() ? segmentStore.getColdMonths() : Set.of();
+        return new Snapshot(new ArrayList<>(incomes), expenseList.copy(), coldMonths);
+    }
+
+    /**
+     * Saves a copy of the finance data
+     *
+     * @param snapshot the copy to save
+     * @return false if a month of the copy was loaded after the copy was taken, so a new copy must be saved
+     */
+    boolean saveSnapshot(Snapshot snapshot) {
+        return saveData(snapshot.incomes, snapshot.expenseList, snapshot.coldMonths);
+    }
+
+    private boolean saveData(List<Income> incomes, ExpenseList expenseList, Set<YearMonth> coldMonths) {
         try {
-            File directory = new File("./data");
-            if (!directory.exists()) {
-                directory.mkdirs();
+            createDataDirectory();
+            if (isSegmented()) {
+                return segmentStore.save(incomes, expenseList, coldMonths);
             }
+            writeSnapshot(incomes, expenseList, lastSequence);
+        } catch (IOException e) {
+            Ui.printStatus("Error saving data: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void createDataDirectory() {
+        if (!dataDirectory.exists()) {
+            dataDirectory.mkdirs();
+        }
+    }
+
+    /**
+     * Writes a snapshot to a temporary file, forces it to disk and atomically renames it over the data file,
+     * so a crash leaves either the old or the new snapshot intact.
+     */
+    private void writeSnapshot(List<Income> incomes, ExpenseList expenseList, long sequence) throws IOException {
+        writeAtomically(format, dataFile, incomes, expenseList, sequence);
+    }
+
+    static void writeAtomically(LedgerFormat format, File target, List<Income> incomes, ExpenseList expenseList,
+                                long sequence) throws IOException {
+        File tempFile = new File(target.getPath() + TEMP_FILE_SUFFIX);
+        format.write(tempFile, incomes, expenseList, sequence);
+        forceToDisk(tempFile.getPath());
+        moveAtomically(tempFile, target);
+    }
+
+    private static void moveAtomically(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            logger.warning("Atomic move not supported, replacing " + target + " non-atomically");
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 
-            FileWriter fileWriter = new FileWriter(DATA_FILE_PATH);
-            BufferedWriter writer = new BufferedWriter(fileWriter);
+    private boolean isCompacting() {
+        return pendingCompaction != null && !pendingCompaction.isDone();
+    }
 
-            for (Income income : incomes) {
-                writer.write("INCOME|" +
-                        income.getCategory() + "|" +
-                        income.getAmount() + "|" +
-                        income.getDate());
-                writer.newLine();
+    /**
+     * Rotates the journal and folds the rotated records into a new snapshot on a background thread.
+     * The snapshot is rebuilt from the files, so commands can keep changing the data while it is written.
+     */
+    private void compactInBackground() {
+        try {
+            journal.rotate();
+        } catch (IOException e) {
+            logger.warning("Unable to rotate journal: " + e.getMessage());
+            return;
+        }
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "storage-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        pendingCompaction = compactor.submit(() -> {
+            try {
+                long sequence = compactPending();
+                journal.discardPending();
+                logger.info("Journal compacted up to record " + sequence);
+            } catch (IOException | NumberFormatException e) {
+                logger.warning("Unable to compact journal: " + e.getMessage());
             }
+        });
+    }
 
-            for (int i = 0; i < expenseList.getSize(); i++) {
-                Expense expense = expenseList.get(i);
-                writer.write("EXPENSE|" +
-                        expense.getCategory() + "|" +
-                        expense.getDescription() + "|" +
-                        expense.getAmount() + "|" +
-                        expense.getDate());
-                writer.newLine();
+    /**
+     * Reads the data file, applies the rotated journal records that are newer than it and writes the result
+     * as the new data file
+     *
+     * @return sequence number of the last record included in the new snapshot
+     */
+    private long compactPending() throws IOException {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        long sequence = dataFile.exists() ? format.read(dataFile, incomes, expenseList) : 0;
+        for (String line : journal.readPendingLines()) {
+            try {
+                long recordSequence = JournalRecord.decodeSequence(line);
+                if (recordSequence > sequence) {
+                    // The saving goal is not part of the snapshot and the live goal may be newer than this record
+                    JournalRecord record = JournalRecord.decode(line);
+                    if (record.isLedgerChange()) {
+                        record.applyTo(incomes, expenseList);
+                    }
+                    sequence = recordSequence;
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                logger.warning("Skipping unreadable journal record: " + line);
             }
+        }
+        writeSnapshot(incomes, expenseList, sequence);
+        return sequence;
+    }
 
-            writer.close();
+    /**
+     * Forces everything persisted so far to the storage device
+     */
+    public void sync() {
+        try {
+            if (isJournaled) {
+                journal.sync();
+            } else if (!isSegmented()) {
+                forceToDisk(dataFile.getPath());
+            }
         } catch (IOException e) {
-            System.out.println("Error saving data: " + e.getMessage());
+            Ui.printStatus("Error saving data: " + e.getMessage());
         }
     }
 
-    public void loadData(List<Income> incomes, ExpenseList expenseList) {
-        File file = new File(DATA_FILE_PATH);
+    /**
+     * Flushes the operating system buffers of a file to the storage device
+     *
+     * @param path path of the file to flush
+     * @throws IOException if the file exists but cannot be synced
+     */
+    static void forceToDisk(String path) throws IOException {
+        File file = new File(path);
         if (!file.exists()) {
             return;
         }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
 
+    /**
+     * Waits for any background compaction to finish and releases the journal
+     */
+    public void close() {
         try {
-            FileReader fileReader = new FileReader(file);
-            BufferedReader reader = new BufferedReader(fileReader);
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split("\\|");
-
-                if (parts[0].equals("INCOME") && parts.length == 4) {
-                    String category = parts[1];
-                    double amount = Double.parseDouble(parts[2]);
-                    String date = parts[3];
-
-                    Income income = new Income(category, amount, date);
-                    incomes.add(income);
-                } else if (parts[0].equals("EXPENSE") && parts.length == 5) {
-                    String category = parts[1];
-                    String description = parts[2];
-                    double amount = Double.parseDouble(parts[3]);
-                    String date = parts[4];
-
-                    Expense expense = new Expense(category, description, amount, date);
-                    expenseList.add(expense);
-                }
+            if (pendingCompaction != null) {
+                pendingCompaction.get();
+            }
+            journal.close();
+        } catch (IOException | ExecutionException e) {
+            Ui.printStatus("Error saving data: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+    }
+
+    public void loadData(List<Income> incomes, ExpenseList expenseList) {
+        if (isSegmented()) {
+            loadSegments(incomes, expenseList);
+            return;
+        }
+        if (dataFile.exists()) {
+            loadSnapshot(incomes, expenseList);
+        }
+        replayJournal(incomes, expenseList);
+        if (isJournaled && journal.hasPending()) {
+            compactInBackground();
+        }
+    }
+
+    /**
+     * Loads the most recent segments. A data file left from the single-file layout is loaded in full and split
+     * into segments instead, and is only renamed once all segments are written.
+     */
+    private void loadSegments(List<Income> incomes, ExpenseList expenseList) {
+        if (dataFile.exists()) {
+            loadSnapshot(incomes, expenseList);
+            try {
+                createDataDirectory();
+                segmentStore.save(incomes, expenseList);
+                moveAtomically(dataFile, new File(dataFile.getPath() + MIGRATED_FILE_SUFFIX));
+                logger.info("Split " + dataFile + " into monthly segments");
+            } catch (IOException e) {
+                Ui.printStatus("Error saving data: " + e.getMessage());
             }
+            return;
+        }
+        int loaded = segmentStore.loadRecent(residentMonths, incomes, expenseList);
+        if (loaded > 0) {
+            Ui.printStatus("Data loaded successfully from " + loaded + " recent months in "
+                    + new File(dataDirectory, SEGMENT_DIRECTORY_NAME).getPath());
+        }
+    }
+
+    /**
+     * Loads the stored months in the given range that are not in memory yet.
+     * Does nothing unless the segmented layout is used.
+     *
+     * @param first first month to load
+     * @param last last month to load
+     * @param incomes list the loaded incomes are added to
+     * @param expenseList list the loaded expenses are added to
+     * @return whether any month was loaded
+     */
+    public boolean loadMonths(YearMonth first, YearMonth last, List<Income> incomes, ExpenseList expenseList) {
+        return isSegmented() && segmentStore.loadMonths(first, last, incomes, expenseList);
+    }
 
-            reader.close();
-            System.out.println("Data loaded successfully from " + DATA_FILE_PATH);
+    private void loadSnapshot(List<Income> incomes, ExpenseList expenseList) {
+        try {
+            lastSequence = format.read(dataFile, incomes, expenseList);
+            Ui.printStatus("Data loaded successfully from " + dataFile.getPath());
         } catch (IOException | NumberFormatException e) {
-            System.out.println("Error loading data: " + e.getMessage());
+            Ui.printStatus("Error loading data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Re-applies journal records that are newer than the loaded snapshot
+     */
+    private void replayJournal(List<Income> incomes, ExpenseList expenseList) {
+        List<String> lines;
+        try {
+            lines = journal.readLines();
+        } catch (IOException e) {
+            Ui.printStatus("Error loading journal: " + e.getMessage());
+            return;
+        }
+
+        int replayed = 0;
+        JournalRecord lastGoalChange = null;
+        for (String line : lines) {
+            try {
+                long sequence = JournalRecord.decodeSequence(line);
+                if (sequence <= lastSequence) {
+                    continue;
+                }
+                JournalRecord record = JournalRecord.decode(line);
+                if (record.isLedgerChange()) {
+                    record.applyTo(incomes, expenseList);
+                } else {
+                    lastGoalChange = record;
+                }
+                lastSequence = sequence;
+                replayed++;
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                logger.warning("Skipping unreadable journal record: " + line);
+            }
+        }
+        if (lastGoalChange != null) {
+            ListIncomeCommand.setSavingGoalCents(lastGoalChange.getCents());
+        }
+        if (replayed > 0) {
+            logger.info("Replayed " + replayed + " journal records");
         }
     }
 }
@@ -0,0 +1,87 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.money.Money;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The pipe-delimited text format of {@code budgetflow.txt}, with one INCOME or EXPENSE line per entry
+ * and a CRC32C checksum line after every block of entries.
+ */
+public class TextLedgerFormat implements LedgerFormat {
+    static final String SEQUENCE_TAG = "SEQ";
+    private static final int SNAPSHOT_BLOCK_SIZE = 256;
+
+    @Override
+    public void write(File file, List<Income> incomes, ExpenseList expenseList, long sequence) throws IOException {
+        FileOutputStream outputStream = new FileOutputStream(file);
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        List<String> block = new ArrayList<>();
+
+        block.add(SEQUENCE_TAG + "|" + sequence);
+        for (Income income : incomes) {
+            block.add(formatIncome(income));
+            writeBlockIfFull(writer, block);
+        }
+        for (int i = 0; i < expenseList.getSize(); i++) {
+            block.add(formatExpense(expenseList.get(i)));
+            writeBlockIfFull(writer, block);
+        }
+        writeBlock(writer, block);
+        writer.close();
+    }
+
+    private static void writeBlockIfFull(BufferedWriter writer, List<String> block) throws IOException {
+        if (block.size() >= SNAPSHOT_BLOCK_SIZE) {
+            writeBlock(writer, block);
+        }
+    }
+
+    private static void writeBlock(BufferedWriter writer, List<String> block) throws IOException {
+        if (block.isEmpty()) {
+            return;
+        }
+        for (String line : block) {
+            writer.write(line);
+            writer.newLine();
+        }
+        writer.write(ChecksummedLines.checksumLine(block));
+        writer.newLine();
+        block.clear();
+    }
+
+    static String formatIncome(Income income) {
+        return "INCOME|" +
+                income.getCategory() + "|" +
+                Money.format(income.getCents()) + "|" +
+                income.getDate();
+    }
+
+    static String formatExpense(Expense expense) {
+        return "EXPENSE|" +
+                expense.getCategory() + "|" +
+                expense.getDescription() + "|" +
+                Money.format(expense.getCents()) + "|" +
+                expense.getDate();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is parsed in parallel chunks; unreadable lines are reported and skipped.
+     */
+    @Override
+    public long read(File file, List<Income> incomes, ExpenseList expenseList) throws IOException {
+        return new ParallelTextLoader().load(file, incomes, expenseList);
+    }
+}
@@ -1,25 +1,84 @@
 package budgetflow.ui;
 
+import budgetflow.command.Command;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Scanner;
 
 //@@author QuyDatNguyen
 
 /**
  * Handle basic user interface interaction including reading command from user and printing message
+ * <p>
+ * Everything the user sees is written into one large buffer, which only reaches the console when the user is
+ * prompted for the next command or when {@link #flush()} is called, such as at the end of a batch. Long
+ * listings and replayed scripts are then written in a few large writes rather than one write per line.
+ * <p>
+ * Messages from outside the command loop, such as the load and save reports of the storage, go through
+ * {@link #printStatus(String)} into the same console buffer, so they reach the console in the order they were
+ * printed instead of overtaking the buffered command output.
  */
 public class Ui {
     private static final String WELCOME_MESSAGE = "Welcome to Finance Tracker!" + System.lineSeparator()
             + "You can track incomes and expenses here.";
+    private static final String PROMPT_MESSAGE = "What would you like to do?";
     private static final Scanner SCANNER = new Scanner(System.in);
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    // Write to the console directly, as System.out flushes every line on its own
+    private static final Writer CONSOLE = newBufferedWriter(new FileOutputStream(FileDescriptor.out));
+
+    private final Writer output;
+
+    /** Creates a user interface that writes to the console buffer shared with {@link #printStatus(String)} */
+    public Ui() {
+        this.output = CONSOLE;
+    }
+
+    /**
+     * Creates a user interface that writes to the given stream
+     *
+     * @param out where the output is written when it is flushed
+     */
+    public Ui(OutputStream out) {
+        this.output = newBufferedWriter(out);
+    }
+
+    private static Writer newBufferedWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE)),
+                OUTPUT_BUFFER_SIZE);
+    }
+
+    /**
+     * Print a message that does not come from a command, such as a storage report, into the console buffer.
+     * Safe to call from any thread.
+     *
+     * @param message the message to print
+     */
+    public static void printStatus(String message) {
+        writeLine(CONSOLE, message);
+    }
+
+    /** Write everything printed to the console buffer so far to the console */
+    public static void flushConsole() {
+        flush(CONSOLE);
+    }
 
     /** Generates and print out the program message at the beginning of application */
     public void showWelcome() {
-        System.out.println(WELCOME_MESSAGE);
+        printLine(WELCOME_MESSAGE);
     }
 
     /** Read the text entered by user, ignoring all leading and trailing whitespace */
     public String readCommand() {
-        System.out.println("What would you like to do?");
+        printLine(PROMPT_MESSAGE);
+        flush();
         String input = SCANNER.nextLine().trim();
         while (input.isEmpty()) {
             input = SCANNER.nextLine().trim();
@@ -29,13 +88,58 @@ public class Ui {
 
     /** Show error to user after failing to execute the command*/
     public void printError (String error) {
-        System.out.println(error);
+        printLine(error);
     }
 
     /** Print out the result/ message to use after successfully executing the command */
     public void printCommandMessage (String message) {
+        printLine(message);
+    }
 
-        System.out.println(message);
+    /**
+     * Print out the output of a successfully executed command, letting commands that list many rows write
+     * them one by one into the buffer instead of building one large message
+     */
+    public void printCommandOutput(Command command) {
+        try {
+            command.writeOutput(output);
+            output.write(System.lineSeparator());
+        } catch (IOException e) {
+            reportOutputError(e);
+        }
+    }
+
+    /** Write everything printed so far to the console */
+    public void flush() {
+        flush(output);
     }
-}
 
+    private void printLine(String message) {
+        writeLine(output, message);
+    }
+
+    private static void flush(Writer writer) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            reportOutputError(e);
+        }
+    }
+
+    /**
+     * Report that output could not be written. The buffer that failed cannot carry the report, and System.out
+     * would overtake whatever is still buffered, so it goes to the error stream.
+     */
+    private static void reportOutputError(IOException e) {
+        System.err.println("Error printing output: " + e.getMessage());
+    }
+
+    private static void writeLine(Writer writer, String message) {
+        try {
+            // One write per line, so that lines printed by other threads never end up in the middle of it
+            writer.write(message + System.lineSeparator());
+        } catch (IOException e) {
+            reportOutputError(e);
+        }
+    }
+}
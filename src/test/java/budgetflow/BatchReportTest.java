@@ -0,0 +1,32 @@
+package budgetflow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchReportTest {
+
+    @Test
+    void toString_listsCountsThroughputAndFailedLines() {
+        BatchReport report = new BatchReport();
+        report.recordSuccess();
+        report.recordError(2, "Error: Expense amount is required.");
+        report.recordSuccess();
+        report.recordSuccess();
+        report.recordCommit();
+        report.setElapsedNanos(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(4, report.getCommandCount());
+        assertEquals(1, report.getErrorCount());
+        assertEquals(8, report.getCommandsPerSecond());
+        assertEquals(List.of("Line 2: Error: Expense amount is required."), report.getErrors());
+        String summary = report.toString();
+        assertTrue(summary.startsWith("Batch finished: 4 commands, 3 succeeded, 1 failed"));
+        assertTrue(summary.contains("(8 commands/s), 1 commits"));
+        assertTrue(summary.endsWith("Line 2: Error: Expense amount is required."));
+    }
+}
@@ -2,15 +2,27 @@ package budgetflow;
 
 import budgetflow.expense.Expense;
 import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.storage.JournalRecord;
+import budgetflow.storage.Storage;
+import budgetflow.ui.Ui;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
 
-//Currently not used for testing
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FinanceTrackerTest {
     public static final String EMPTY_EXPENSE_LIST_MESSAGE =
@@ -54,4 +66,78 @@ class FinanceTrackerTest {
             // No static totalExpenses found.
         }
     }
+
+    /**
+     * A journaled storage that loads nothing and records the lines of the records it is asked to persist,
+     * without writing any file
+     */
+    private static class RecordingStorage extends Storage {
+        private final List<String> persistedLines = new ArrayList<>();
+
+        RecordingStorage() {
+            super(true, Long.MAX_VALUE, false);
+        }
+
+        @Override
+        public void loadData(List<Income> incomes, ExpenseList expenseList) {
+        }
+
+        @Override
+        public synchronized void persist(List<JournalRecord> records, List<Income> incomes,
+                                         ExpenseList expenseList) {
+            for (JournalRecord record : records) {
+                persistedLines.add(record.encode(0));
+            }
+        }
+    }
+
+    private static String logLunch(int day) {
+        return "log-expense category/food desc/Lunch" + day + " amt/5.00 d/0" + day + "-03-2025";
+    }
+
+    private static BatchReport runScript(RecordingStorage storage, ByteArrayOutputStream out, int commitInterval,
+                                         String... lines) throws IOException {
+        FinanceTracker financeTracker = new FinanceTracker(storage, new Ui(out));
+        String script = String.join(System.lineSeparator(), lines);
+        return financeTracker.runBatch(new BufferedReader(new StringReader(script)), commitInterval);
+    }
+
+    @Test
+    void runBatch_commitEveryTwo_commitsEachPairAndFinalPartialBatch() throws IOException {
+        RecordingStorage storage = new RecordingStorage();
+        BatchReport report = runScript(storage, new ByteArrayOutputStream(), 2,
+                logLunch(1), logLunch(2), "# a comment", "", logLunch(3), logLunch(4), logLunch(5));
+
+        assertEquals(5, report.getCommandCount());
+        assertEquals(0, report.getErrorCount());
+        assertEquals(3, report.getCommitCount());
+        assertEquals(5, storage.persistedLines.size());
+        assertTrue(storage.persistedLines.get(4).contains("Lunch5"));
+    }
+
+    @Test
+    void runBatch_noCommitInterval_commitsOnceAtEnd() throws IOException {
+        RecordingStorage storage = new RecordingStorage();
+        BatchReport report = runScript(storage, new ByteArrayOutputStream(), 0, logLunch(1), logLunch(2), logLunch(3));
+
+        assertEquals(1, report.getCommitCount());
+        assertEquals(3, storage.persistedLines.size());
+    }
+
+    @Test
+    void runBatch_errorLineMidScript_runsRemainingLinesAndReportsLine() throws IOException {
+        RecordingStorage storage = new RecordingStorage();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchReport report = runScript(storage, out, 2,
+                logLunch(1), "log-expense category/food desc/Lunch", logLunch(3), "exit", logLunch(4));
+
+        assertEquals(3, report.getCommandCount());
+        assertEquals(1, report.getErrorCount());
+        assertTrue(report.getErrors().get(0).startsWith("Line 2: "));
+        // The failed line counts towards the interval, so the first commit holds only the first expense
+        assertEquals(2, report.getCommitCount());
+        assertEquals(2, storage.persistedLines.size());
+        assertTrue(storage.persistedLines.get(1).contains("Lunch3"));
+        assertTrue(out.toString().contains("Batch finished: 3 commands, 2 succeeded, 1 failed"));
+    }
 }
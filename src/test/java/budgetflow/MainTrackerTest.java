@@ -0,0 +1,43 @@
+package budgetflow;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MainTrackerTest {
+
+    @Test
+    void parse_scriptWithCommitInterval_readsOptions() {
+        MainTracker.BatchOptions options = MainTracker.BatchOptions.parse(
+                new String[] {"--script", "commands.txt", "--commit-every", "50"});
+        assertEquals("commands.txt", options.getScriptFile());
+        assertEquals(50, options.getCommitInterval());
+    }
+
+    @Test
+    void parse_batchWithoutCommitInterval_readsStandardInput() {
+        MainTracker.BatchOptions options = MainTracker.BatchOptions.parse(new String[] {"--batch"});
+        assertNull(options.getScriptFile());
+        assertEquals(0, options.getCommitInterval());
+    }
+
+    @Test
+    void parse_invalidArguments_throwsUsage() {
+        String[][] invalidArguments = {
+            {"--script"},
+            {"--batch", "--commit-every"},
+            {"--batch", "--commit-every", "ten"},
+            {"--batch", "--commit-every", "-1"},
+            {"--script", "commands.txt", "--batch"},
+            {"--commit-every", "5"},
+            {"--batch", "--verbose"},
+        };
+        for (String[] args : invalidArguments) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> MainTracker.BatchOptions.parse(args));
+            assertEquals(MainTracker.USAGE, e.getMessage());
+        }
+    }
+}
@@ -23,6 +23,16 @@ class AddIncomeCommandTest {
         assertEquals(expectedOutput, c.getOutputMessage());
     }
 
+    @Test
+    void addIncome_trailingTextAfterAmount_addsLeadingNumber() throws FinanceException {
+        ExpenseList expenseList = new ExpenseList();
+        List<Income> incomes = new ArrayList<>();
+        Command c = new AddIncomeCommand("add category/Salary amt/12abc d/15-03-2025");
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Income added: Salary, Amount: $12.00, Date: 15-03-2025";
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
     @Test
     void addIncome_missingCategory_showsError() {
         ExpenseList expenseList = new ExpenseList();
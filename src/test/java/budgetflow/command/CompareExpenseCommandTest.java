@@ -63,4 +63,30 @@ public class CompareExpenseCommandTest {
             assertEquals(expectedError, e.getMessage());
         }
     }
+
+    @Test
+    public void testCompareExpenseCommand_threeMonthsAndWholeYear() throws FinanceException {
+        ExpenseList expenseList = new ExpenseList();
+        List<Income> incomes = new ArrayList<>();
+        new LogExpenseCommand("log-expense category/Dining desc/spendA amt/100 d/15-03-2025")
+                .execute(incomes, expenseList);
+        new LogExpenseCommand("log-expense category/Dining desc/spendB amt/500 d/15-04-2025")
+                .execute(incomes, expenseList);
+        new LogExpenseCommand("log-expense category/Dining desc/spendC amt/7.25 d/01-01-2026")
+                .execute(incomes, expenseList);
+
+        Command months = new CompareExpenseCommand("compare 03-2025 04-2025 01-2026");
+        months.execute(incomes, expenseList);
+        assertEquals("Total expenses for 03-2025: $100.00" + System.lineSeparator()
+                + "Total expenses for 04-2025: $500.00" + System.lineSeparator()
+                + "Total expenses for 01-2026: $7.25" + System.lineSeparator(), months.getOutputMessage());
+
+        Command year = new CompareExpenseCommand("compare 2025");
+        year.execute(incomes, expenseList);
+        String[] lines = year.getOutputMessage().split(System.lineSeparator());
+        assertEquals(13, lines.length);
+        assertEquals("Total expenses for 01-2025: $0.00", lines[0]);
+        assertEquals("Total expenses for 04-2025: $500.00", lines[3]);
+        assertEquals("Total expenses for 2025: $600.00", lines[12]);
+    }
 }
@@ -272,4 +272,105 @@ class FindExpenseCommandTest {
             assertEquals(expectedError, e.getMessage());
         }
     }
+
+    @Test
+    void findExpense_combinedTags_matchesAllOfAGroup() throws FinanceException {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = getListWith5Expenses();
+        Command c = new FindExpenseCommand("find-expense /category food AND /amtrange 13 26");
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Here are all matching expenses:" + System.lineSeparator()
+                + "food | LateLunch | $13.50 | 14-03-2025" + System.lineSeparator()
+                + "food | Groceries | $25.00 | 11-03-2025" + System.lineSeparator();
+        assertEquals(expectedOutput, c.getOutputMessage());
+
+        c = new FindExpenseCommand("find-expense /desc Transport OR /amt 30");
+        c.execute(incomes, expenseList);
+        expectedOutput = "Here are all matching expenses:" + System.lineSeparator()
+                + "transport | Transport | $3.20 | 12-03-2025" + System.lineSeparator()
+                + "food | ExpensiveLunch | $30.00 | 15-03-2025" + System.lineSeparator();
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
+    @Test
+    void findExpense_explain_showsPlanAndMatches() throws FinanceException {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = getListWith5Expenses();
+        Command c = new FindExpenseCommand("find-expense /explain /category food AND /d 14-03-2025");
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Query plan:" + System.lineSeparator()
+                + "Months searched: those in the date conditions" + System.lineSeparator()
+                + "Group 1: /category food AND /d 14-03-2025" + System.lineSeparator()
+                + "  Driver: /d 14-03-2025 via the date index (estimate: 1)" + System.lineSeparator()
+                + "  Filters: /category food" + System.lineSeparator()
+                + "  Rows scanned: 1, matched: 1" + System.lineSeparator()
+                + "Here are all matching expenses:" + System.lineSeparator()
+                + "food | LateLunch | $13.50 | 14-03-2025" + System.lineSeparator();
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
+    @Test
+    void findExpense_combinedWithTop_throwsException() {
+        ExpenseList expenseList = getListWith5Expenses();
+        List<Income> incomes = new ArrayList<>();
+        try {
+            new FindExpenseCommand("find-expense /top 2 AND /category food").execute(incomes, expenseList);
+            fail();
+        } catch (FinanceException e) {
+            assertEquals("/top cannot be combined with other tags", e.getMessage());
+        }
+        try {
+            new FindExpenseCommand("find-expense OR /category food /amt 5").execute(incomes, expenseList);
+            fail();
+        } catch (FinanceException e) {
+            assertEquals("Please combine tags as: find-expense [/explain] /TAG KEYWORD [AND|OR /TAG KEYWORD]...",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    void findExpense_tagsInsideDescription_searchesWholeDescription() throws FinanceException {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = getListWith5Expenses();
+        expenseList.add(new Expense("bills", "pay /amt later", 40.00, "16-03-2025"));
+        expenseList.add(new Expense("food", "Fish AND Chips", 9.00, "16-03-2025"));
+
+        Command c = new FindExpenseCommand("find-expense /desc pay /amt later");
+        c.execute(incomes, expenseList);
+        assertEquals("Here are all matching expenses:" + System.lineSeparator()
+                + "bills | pay /amt later | $40.00 | 16-03-2025" + System.lineSeparator(), c.getOutputMessage());
+
+        c = new FindExpenseCommand("find-expense /desc Fish AND Chips");
+        c.execute(incomes, expenseList);
+        assertEquals("Here are all matching expenses:" + System.lineSeparator()
+                + "food | Fish AND Chips | $9.00 | 16-03-2025" + System.lineSeparator(), c.getOutputMessage());
+    }
+
+    @Test
+    void findExpense_descriptionNamedExplain_searchesDescription() throws FinanceException {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = getListWith5Expenses();
+        expenseList.add(new Expense("misc", "explain", 2.00, "16-03-2025"));
+        Command c = new FindExpenseCommand("find-expense /desc explain");
+        c.execute(incomes, expenseList);
+        assertEquals("Here are all matching expenses:" + System.lineSeparator()
+                + "misc | explain | $2.00 | 16-03-2025" + System.lineSeparator(), c.getOutputMessage());
+
+        try {
+            new FindExpenseCommand("find-expense explain /desc Lunch").execute(incomes, expenseList);
+            fail();
+        } catch (FinanceException e) {
+            assertEquals("Error: Missing keyword", e.getMessage());
+        }
+    }
+
+    @Test
+    void findExpense_amountFollowedByTag_combinesWithAnd() throws FinanceException {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = getListWith5Expenses();
+        Command c = new FindExpenseCommand("find-expense /amt 13.5 /category food");
+        c.execute(incomes, expenseList);
+        assertEquals("Here are all matching expenses:" + System.lineSeparator()
+                + "food | LateLunch | $13.50 | 14-03-2025" + System.lineSeparator(), c.getOutputMessage());
+    }
 }
@@ -62,4 +62,19 @@ class ListIncomeCommandTest {
                 "Progress: 54.00%" + System.lineSeparator(); // The progress would now be less than 100%
         assertEquals(expectedOutput, c.getOutputMessage());
     }
+
+    @Test
+    void listIncomeTest_head_showsFirstRowsAndFullTotal() throws FinanceException {
+        List<Income> incomes = get3Incomes();
+        ExpenseList expenseList = new ExpenseList();
+        ListIncomeCommand.setSavingGoal(0);
+        Command c = new ListIncomeCommand("list income head/2");
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Income Log:" + System.lineSeparator() +
+                "Part-timeJob | $300.00 | 12-06-2025" + System.lineSeparator() +
+                "freelance | $100.00 | 29-05-2025" + System.lineSeparator() +
+                "Showing incomes 1-2 of 3" + System.lineSeparator() +
+                "Total Income: $5400.00";
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
 }
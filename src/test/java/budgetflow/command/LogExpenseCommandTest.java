@@ -34,6 +34,40 @@ class LogExpenseCommandTest {
         assertEquals(expectedOutput, c.getOutputMessage());
     }
 
+    @Test
+    void logExpense_multiWordFields_logsWholeFields() throws FinanceException {
+        ExpenseList expenseList = new ExpenseList();
+        List<Income> incomes = new ArrayList<>();
+        Command c = new LogExpenseCommand(
+                "log-expense category/Eating out desc/Dinner with friends amt/45.75 d/15-03-2025");
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Expense logged: Eating out | Dinner with friends | $45.75 | 15-03-2025";
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
+    @Test
+    void logExpense_trailingTextAfterAmountAndDate_logsLeadingValues() throws FinanceException {
+        ExpenseList expenseList = new ExpenseList();
+        List<Income> incomes = new ArrayList<>();
+        Command c = new LogExpenseCommand("log-expense category/Dining desc/Dinner amt/12abc d/15-03-2025xyz");
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Expense logged: Dining | Dinner | $12.00 | 15-03-2025";
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
+    @Test
+    void logExpense_dateTagInsideWord_isPartOfDescription() {
+        ExpenseList expenseList = new ExpenseList();
+        List<Income> incomes = new ArrayList<>();
+        Command c = new LogExpenseCommand("log-expense category/Dining desc/bread/d/15-03-2025 amt/3");
+        try {
+            c.execute(incomes, expenseList);
+            fail();
+        } catch (FinanceException e) {
+            assertEquals("Error: Expense date is required.", e.getMessage());
+        }
+    }
+
     /**
      * Tests handling of an empty input command.
      * Ensures that an appropriate exception is thrown.
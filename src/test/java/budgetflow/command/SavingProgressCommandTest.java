@@ -0,0 +1,59 @@
+package budgetflow.command;
+
+import budgetflow.exception.FinanceException;
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import budgetflow.income.IncomeList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SavingProgressCommandTest {
+
+    @AfterEach
+    void resetSavingGoal() {
+        ListIncomeCommand.setSavingGoal(0);
+    }
+
+    @Test
+    void savingProgress_withGoal_showsSavingsAndProgress() throws FinanceException {
+        List<Income> incomes = new IncomeList();
+        incomes.add(new Income("Salary", 3000.00, "01-03-2025"));
+        incomes.add(new Income("Bonus", 500.00, "02-03-2025"));
+        ExpenseList expenseList = new ExpenseList(new Expense("rent", "March rent", 1000.00, "01-03-2025"));
+        ListIncomeCommand.setSavingGoal(5000.00);
+        Command c = new SavingProgressCommand();
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Saving Goal: $5000.00" + System.lineSeparator() +
+                "Current Savings: $2500.00" + System.lineSeparator() +
+                "Progress: 50.00%" + System.lineSeparator();
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
+    @Test
+    void savingProgress_goalWithCents_keepsExactGoal() throws FinanceException {
+        List<Income> incomes = new IncomeList();
+        incomes.add(new Income("Salary", 0.30, "01-03-2025"));
+        new SetSavingGoalCommand("set-saving-goal 0.3").execute(incomes, new ExpenseList());
+        assertEquals(30, ListIncomeCommand.getSavingGoalCents());
+        Command c = new SavingProgressCommand();
+        c.execute(incomes, new ExpenseList());
+        String expectedOutput = "Saving Goal: $0.30" + System.lineSeparator() +
+                "Current Savings: $0.30" + System.lineSeparator() +
+                "Progress: 100.00%" + System.lineSeparator();
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
+    @Test
+    void savingProgress_noGoal_showsHint() throws FinanceException {
+        ListIncomeCommand.setSavingGoal(0);
+        Command c = new SavingProgressCommand();
+        c.execute(new IncomeList(), new ExpenseList());
+        assertEquals("No saving goal has been set. Use set-saving-goal [AMOUNT] to set one."
+                + System.lineSeparator(), c.getOutputMessage());
+    }
+}
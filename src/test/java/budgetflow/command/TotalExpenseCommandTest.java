@@ -0,0 +1,49 @@
+package budgetflow.command;
+
+import budgetflow.exception.FinanceException;
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TotalExpenseCommandTest {
+
+    private ExpenseList getExpenseList() {
+        return new ExpenseList(
+                new Expense("food", "Lunch", 12.50, "28-02-2025"),
+                new Expense("transport", "Bus", 2.20, "01-03-2025"),
+                new Expense("food", "Dinner", 20.00, "15-03-2025"),
+                new Expense("rent", "April rent", 800.00, "01-04-2025"));
+    }
+
+    @Test
+    void execute_validRange_totalsExpensesInRange() throws FinanceException {
+        Command command = new TotalExpenseCommand("total-expense from/01-03-2025 to/31-03-2025");
+        command.execute(new ArrayList<>(), getExpenseList());
+        assertEquals("Total expenses from 01-03-2025 to 31-03-2025: $22.20" + System.lineSeparator(),
+                command.getOutputMessage());
+    }
+
+    @Test
+    void execute_sameDay_includesBothEnds() throws FinanceException {
+        Command command = new TotalExpenseCommand("total-expense from/01-04-2025 to/01-04-2025");
+        command.execute(new ArrayList<>(), getExpenseList());
+        assertEquals("Total expenses from 01-04-2025 to 01-04-2025: $800.00" + System.lineSeparator(),
+                command.getOutputMessage());
+    }
+
+    @Test
+    void execute_invalidInput_throwsException() {
+        ExpenseList expenseList = getExpenseList();
+        assertThrows(FinanceException.class, () -> new TotalExpenseCommand("total-expense from/01-03-2025")
+                .execute(new ArrayList<>(), expenseList));
+        assertThrows(FinanceException.class, () -> new TotalExpenseCommand(
+                "total-expense from/30-02-2025 to/31-03-2025").execute(new ArrayList<>(), expenseList));
+        assertThrows(FinanceException.class, () -> new TotalExpenseCommand(
+                "total-expense from/31-03-2025 to/01-03-2025").execute(new ArrayList<>(), expenseList));
+    }
+}
@@ -187,6 +187,35 @@ public class UpdateExpenseCommandTest {
         assertEquals(10.50, updatedExpense.getAmount());
         assertEquals("01-01-2024", updatedExpense.getDate());
     }
+
+    @Test
+    void updateExpense_multiWordFields_updatesWholeFields() throws Exception {
+        UpdateExpenseCommand command = new UpdateExpenseCommand(
+                "update-expense 1 category/Eating out desc/Dinner with friends amt/12abc");
+        command.execute(incomes, expenseList);
+
+        Expense updatedExpense = expenseList.get(0);
+        assertEquals("Eating out", updatedExpense.getCategory());
+        assertEquals("Dinner with friends", updatedExpense.getDescription());
+        assertEquals(12.00, updatedExpense.getAmount());
+    }
+
+    @Test
+    void updateExpense_amountWithoutNumber_throwsErrorAndKeepsExpense() {
+        UpdateExpenseCommand command = new UpdateExpenseCommand("update-expense 1 amt/abc");
+        Exception exception = assertThrows(InvalidNumberFormatException.class, () ->
+                command.execute(incomes, expenseList));
+        assertEquals("Error: Invalid amount format.", exception.getMessage());
+        assertEquals(10.50, expenseList.get(0).getAmount());
+    }
+
+    @Test
+    void updateExpense_malformedDate_throwsErrorAndKeepsExpense() {
+        UpdateExpenseCommand command = new UpdateExpenseCommand("update-expense 1 d/2024-02-02");
+        Exception exception = assertThrows(InvalidDateException.class, () -> command.execute(incomes, expenseList));
+        assertEquals("Error: Invalid date format. Usage: DD-MM-YYYY", exception.getMessage());
+        assertEquals("01-01-2024", expenseList.get(0).getDate());
+    }
 }
 
 
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 //@@author QuyDatNguyen
 class ViewAllExpensesCommandTest {
@@ -57,4 +58,41 @@ class ViewAllExpensesCommandTest {
         String expectedOutput = "No expenses have been logged yet." + System.lineSeparator();
         assertEquals(expectedOutput, c.getOutputMessage());
     }
+
+    @Test
+    void viewAllExpenses_pageAndTail_showsSelectedRows() throws FinanceException {
+        ExpenseList expenseList = new ExpenseList();
+        List<Income> incomes = new ArrayList<>();
+        expenseList.add(new Expense("food", "Lunch", 12.50, "13-03-2025"));
+        expenseList.add(new Expense("transport", "Transport", 3.20, "12-03-2025"));
+        expenseList.add(new Expense("food", "Groceries", 25.0, "11-03-2025"));
+        Command c = new ViewAllExpensesCommand("view-all-expense page/2 size/2");
+        c.execute(incomes, expenseList);
+        String expectedOutput = "Expenses log:" + System.lineSeparator()
+                + "3 | food | Groceries | $25.00 | 11-03-2025" + System.lineSeparator()
+                + "Showing expenses 3-3 of 3" + System.lineSeparator()
+                + "Total Expenses: $40.70" + System.lineSeparator();
+        assertEquals(expectedOutput, c.getOutputMessage());
+
+        c = new ViewAllExpensesCommand("view-all-expense tail/2");
+        c.execute(incomes, expenseList);
+        expectedOutput = "Expenses log:" + System.lineSeparator()
+                + "2 | transport | Transport | $3.20 | 12-03-2025" + System.lineSeparator()
+                + "3 | food | Groceries | $25.00 | 11-03-2025" + System.lineSeparator()
+                + "Showing expenses 2-3 of 3" + System.lineSeparator()
+                + "Total Expenses: $40.70" + System.lineSeparator();
+        assertEquals(expectedOutput, c.getOutputMessage());
+    }
+
+    @Test
+    void viewAllExpenses_invalidOptions_throwsException() {
+        ExpenseList expenseList = new ExpenseList(new Expense("food", "Lunch", 12.50, "13-03-2025"));
+        List<Income> incomes = new ArrayList<>();
+        assertThrows(FinanceException.class, () -> new ViewAllExpensesCommand("view-all-expense page/0")
+                .execute(incomes, expenseList));
+        assertThrows(FinanceException.class, () -> new ViewAllExpensesCommand("view-all-expense size/5")
+                .execute(incomes, expenseList));
+        assertThrows(FinanceException.class, () -> new ViewAllExpensesCommand("view-all-expense head/1 tail/1")
+                .execute(incomes, expenseList));
+    }
 }
@@ -4,9 +4,15 @@ import budgetflow.exception.FinanceException;
 import budgetflow.exception.InvalidDateException;
 import budgetflow.exception.InvalidNumberFormatException;
 import budgetflow.exception.InvalidTagException;
+import budgetflow.parser.DateParser;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ConcurrentModificationException;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class ExpenseListTest {
@@ -73,4 +79,187 @@ class ExpenseListTest {
             assertEquals(expectedError, e.getMessage());
         }
     }
+
+    @Test
+    void getByTag_dateRangeAfterDeleteAndSet_keepsListOrder() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        testList.delete(1);
+        testList.set(2, new Expense("food", "Groceries", 25.0, "20-03-2025"));
+        ExpenseList matchingExpenses = testList.getByTag("/drange", "12-03-2025 15-03-2025");
+        ExpenseList expectedMatch = new ExpenseList();
+        expectedMatch.add(new Expense("food", "Lunch", 12.50, "13-03-2025"));
+        expectedMatch.add(new Expense("food", "LateLunch", 13.50, "14-03-2025"));
+        expectedMatch.add(new Expense("food", "ExpensiveLunch", 30.00, "15-03-2025"));
+        assertEquals(expectedMatch.toString(), matchingExpenses.toString());
+        assertEquals(1, testList.getByTag("/d", "20-03-2025").getSize());
+        assertEquals(0, testList.getByTag("/d", "12-03-2025").getSize());
+    }
+
+    @Test
+    void getByTag_descriptionAfterSetAndDelete_matchesSubstrings() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        assertEquals(3, testList.getByTag("/desc", "Lunch").getSize());
+        assertEquals(2, testList.getByTag("/desc", "r").getSize());
+        testList.set(0, new Expense("food", "Brunch", 12.50, "13-03-2025"));
+        testList.delete(2);
+        ExpenseList matchingExpenses = testList.getByTag("/desc", "unch");
+        ExpenseList expectedMatch = new ExpenseList();
+        expectedMatch.add(new Expense("food", "Brunch", 12.50, "13-03-2025"));
+        expectedMatch.add(new Expense("food", "ExpensiveLunch", 30.00, "15-03-2025"));
+        assertEquals(expectedMatch.toString(), matchingExpenses.toString());
+        assertEquals(0, testList.getByTag("/desc", "lunch").getSize());
+    }
+
+    @Test
+    void indexOfDescription_ignoresCase() {
+        ExpenseList testList = getListWith5Expenses();
+        assertEquals(3, testList.indexOfDescription("groceries"));
+        testList.delete(0);
+        assertEquals(2, testList.indexOfDescription("GROCERIES"));
+        assertEquals(-1, testList.indexOfDescription("Lunch"));
+    }
+
+    @Test
+    void getByTag_amountAfterSet_usesUpdatedAmount() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        testList.set(0, new Expense("food", "Lunch", 12.505, "13-03-2025"));
+        assertEquals(0, testList.getByTag("/amt", "12.50").getSize());
+        assertEquals(1, testList.getByTag("/amt", "12.51").getSize());
+        assertEquals(1, testList.getByTag("/amt", "12.505").getSize());
+        assertEquals(2, testList.getByTag("/amtrange", "12.51 13.50").getSize());
+        assertEquals(1, testList.getByTag("/amtrange", "12.52 13.50").getSize());
+    }
+
+    @Test
+    void getByTag_top_returnsLargestAmountsFirst() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        ExpenseList largest = testList.getByTag("/top", "2");
+        ExpenseList expectedMatch = new ExpenseList();
+        expectedMatch.add(new Expense("food", "ExpensiveLunch", 30.00, "15-03-2025"));
+        expectedMatch.add(new Expense("food", "Groceries", 25.0, "11-03-2025"));
+        assertEquals(expectedMatch.toString(), largest.toString());
+        assertEquals(5, testList.getByTag("/top", "10").getSize());
+        try {
+            testList.getByTag("/top", "0");
+            fail();
+        } catch (FinanceException e) {
+            assertEquals("Please enter a positive whole number after /top", e.getMessage());
+        }
+    }
+
+    @Test
+    void get_subCentAmountsAndInvalidDates_roundedAndKept() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        testList.add(new Expense("misc", "Odd", 1.005, "31-02-2025"));
+        testList.add(new Expense("misc", "Undated", 2.00, null));
+        assertEquals(1.01, testList.get(5).getAmount());
+        assertEquals("31-02-2025", testList.get(5).getDate());
+        assertEquals(null, testList.get(6).getDate());
+        assertEquals("13-03-2025", testList.get(0).getDate());
+        testList.delete(0);
+        assertEquals("Odd", testList.get(4).getDescription());
+        assertEquals(2, testList.getByTag("/category", "misc").getSize());
+        assertEquals(0, testList.getByTag("/category", "Misc").getSize());
+        assertEquals(7471, testList.getTotalCents());
+    }
+
+    @Test
+    void getTotalCentsBetween_sumsExpensesInRange() {
+        ExpenseList testList = getListWith5Expenses();
+        testList.add(new Expense("misc", "Undated", 2.00, "not a date"));
+        assertEquals(4070, testList.getTotalCentsBetween(LocalDate.of(2025, 3, 11), LocalDate.of(2025, 3, 13)));
+        assertEquals(0, testList.getTotalCentsBetween(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30)));
+    }
+
+    @Test
+    void getTotalCentsBetween_followsChangesAcrossDistantDates() {
+        ExpenseList testList = new ExpenseList();
+        testList.add(new Expense("food", "Lunch", 10.00, "13-03-2025"));
+        testList.add(new Expense("food", "Old", 1.25, "01-01-1990"));
+        testList.add(new Expense("food", "Typo", 5.00, "01-01-0025"));
+        testList.set(0, new Expense("food", "Lunch", 12.00, "14-03-2025"));
+        assertEquals(1200, testList.getTotalCentsBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        assertEquals(1325, testList.getTotalCentsBetween(LocalDate.of(1000, 1, 1), LocalDate.of(2025, 12, 31)));
+        assertEquals(1825, testList.getTotalCentsBetween(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)));
+        testList.delete(2);
+        assertEquals(1325, testList.getTotalCentsBetween(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)));
+    }
+
+    @Test
+    void expense_parsesDateOnConstruction() {
+        Expense expense = new Expense("food", "Lunch", 12.50, "13-03-2025");
+        assertEquals(LocalDate.of(2025, 3, 13).toEpochDay(), expense.getEpochDay());
+        assertEquals("13-03-2025", expense.getDate());
+        expense.setDate("tomorrow");
+        assertEquals(DateParser.INVALID, expense.getEpochDay());
+        assertEquals("tomorrow", expense.getDate());
+        assertEquals("food | Lunch | $12.50 | 01-01-1970", new Expense("food", "Lunch", 1250L, 0).toString());
+    }
+
+    @Test
+    void getMonthTotalCents_afterSetAndDelete_staysUpToDate() {
+        ExpenseList testList = getListWith5Expenses();
+        assertEquals(8420, testList.getMonthTotalCents(YearMonth.of(2025, 3)));
+        assertEquals(5, testList.getMonthCount(YearMonth.of(2025, 3)));
+        testList.set(0, new Expense("food", "Lunch", 12.50, "13-04-2025"));
+        testList.delete(1);
+        assertEquals(6850, testList.getMonthTotalCents(YearMonth.of(2025, 3)));
+        assertEquals(3, testList.getMonthCount(YearMonth.of(2025, 3)));
+        assertEquals(1250, testList.getMonthTotalCents(YearMonth.of(2025, 4)));
+        assertEquals(0, testList.getMonthCount(YearMonth.of(2025, 5)));
+    }
+
+    @Test
+    void findByTag_readsMatchesFromList() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        ExpenseView lunches = testList.findByTag("/desc", "Lunch");
+        assertEquals(3, lunches.size());
+        assertEquals(5600, lunches.getTotalCents());
+        assertEquals("food | LateLunch | $13.50 | 14-03-2025", lunches.get(1).toString());
+        assertEquals(testList.getByTag("/desc", "Lunch").toString(), lunches.toString());
+
+        ExpenseView top = testList.findByTag("/top", "2");
+        assertEquals(4, top.positionOf(0));
+        assertEquals(3, top.positionOf(1));
+
+        testList.delete(0);
+        assertThrows(ConcurrentModificationException.class, lunches::getTotalCents);
+    }
+
+    @Test
+    void findByTag_monthLoader_loadsEarlierMonthsInDateOrder() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        testList.setMonthLoader((first, last) -> {
+            ExpenseList loaded = new ExpenseList();
+            loaded.add(new Expense("food", "JanuaryLunch", 9.00, "10-01-2025"));
+            loaded.add(new Expense("food", "FebruaryLunch", 8.00, "10-02-2025"));
+            testList.setMonthLoader(null);
+            testList.insertMonths(loaded);
+        });
+
+        ExpenseView lunches = testList.findByTag("/desc", "Lunch");
+        assertEquals(5, lunches.size());
+        assertEquals("JanuaryLunch", testList.get(0).getDescription());
+        assertEquals("FebruaryLunch", testList.get(1).getDescription());
+        assertEquals("Lunch", testList.get(2).getDescription());
+        assertEquals(10120, testList.getTotalCents());
+        assertEquals(800, testList.getMonthTotalCents(YearMonth.of(2025, 2)));
+        assertEquals(1, testList.indexOfDescription("februarylunch"));
+    }
+
+    @Test
+    void copy_changedAfterCopy_copyKeepsRowsAndTotals() throws FinanceException {
+        ExpenseList testList = getListWith5Expenses();
+        ExpenseList copy = testList.copy();
+        testList.delete(0);
+        testList.add(new Expense("food", "Supper", 8.00, "16-03-2025"));
+        copy.add(new Expense("drink", "Coffee", 4.00, "16-03-2025"));
+
+        assertEquals(6, copy.getSize());
+        assertEquals("Lunch", copy.get(0).getDescription());
+        assertEquals(8820, copy.getTotalCents());
+        assertEquals(6, copy.getMonthCount(YearMonth.of(2025, 3)));
+        assertEquals(0, copy.indexOfDescription("lunch"));
+        assertEquals(7970, testList.getTotalCents());
+    }
 }
@@ -0,0 +1,104 @@
+package budgetflow.expense;
+
+import budgetflow.exception.FinanceException;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseQueryTest {
+
+    private static ExpenseList getListWith6Expenses() {
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.add(new Expense("food", "Lunch", 12.50, "13-03-2025"));
+        expenseList.add(new Expense("transport", "Bus", 3.20, "12-03-2025"));
+        expenseList.add(new Expense("food", "Dinner", 25.00, "14-03-2025"));
+        expenseList.add(new Expense("food", "Groceries", 25.00, "02-04-2025"));
+        expenseList.add(new Expense("Food", "Snack", 4.00, "15-03-2025"));
+        expenseList.add(new Expense("food", "Lunch", 30.00, "15-02-2025"));
+        return expenseList;
+    }
+
+    @Test
+    void run_andGroups_matchEveryCondition() throws FinanceException {
+        ExpenseView matches = new ExpenseQuery()
+                .and("/category", "food")
+                .and("/drange", "01-03-2025 31-03-2025")
+                .and("/amtrange", "20 100")
+                .run(getListWith6Expenses());
+        assertEquals(1, matches.size());
+        assertEquals("Dinner", matches.get(0).getDescription());
+    }
+
+    @Test
+    void run_orGroups_mergeInListOrderWithoutDuplicates() throws FinanceException {
+        ExpenseView matches = new ExpenseQuery()
+                .and("/desc", "Lunch")
+                .or("/amt", "25")
+                .or("/category", "food")
+                .and("/d", "13-03-2025")
+                .run(getListWith6Expenses());
+        assertEquals(4, matches.size());
+        assertEquals(0, matches.positionOf(0));
+        assertEquals(2, matches.positionOf(1));
+        assertEquals(3, matches.positionOf(2));
+        assertEquals(5, matches.positionOf(3));
+        assertEquals(9250, matches.getTotalCents());
+    }
+
+    @Test
+    void explain_drivesGroupWithMostSelectiveIndex() throws FinanceException {
+        StringBuilder plan = new StringBuilder();
+        ExpenseView matches = new ExpenseQuery()
+                .and("/category", "food")
+                .and("/amt", "25")
+                .explain(getListWith6Expenses(), plan);
+        assertEquals(2, matches.size());
+        assertTrue(plan.toString().contains("Driver: /amt 25 via the amount index (estimate: 2)"));
+        assertTrue(plan.toString().contains("Rows scanned: 2, matched: 2"));
+    }
+
+    @Test
+    void explain_groupWithoutDateCondition_loadsAllMonths() throws FinanceException {
+        ExpenseList expenseList = getListWith6Expenses();
+        List<YearMonth> loadedFirstMonths = new ArrayList<>();
+        expenseList.setMonthLoader((first, last) -> {
+            loadedFirstMonths.add(first);
+            ExpenseList loaded = new ExpenseList();
+            if (first.isBefore(YearMonth.of(2025, 1))) {
+                loaded.add(new Expense("food", "OldLunch", 5.00, "10-12-2024"));
+            }
+            expenseList.insertMonths(loaded);
+        });
+
+        StringBuilder plan = new StringBuilder();
+        ExpenseView matches = new ExpenseQuery()
+                .and("/category", "transport")
+                .or("/amt", "5")
+                .explain(expenseList, plan);
+        assertEquals(2, matches.size());
+        assertEquals("OldLunch", matches.get(0).getDescription());
+        assertEquals(1, loadedFirstMonths.size());
+        assertTrue(plan.toString().contains("Months searched: all"));
+    }
+
+    @Test
+    void explain_everyGroupDateBound_loadsOnlyTheirMonths() throws FinanceException {
+        ExpenseList expenseList = getListWith6Expenses();
+        List<YearMonth> loadedFirstMonths = new ArrayList<>();
+        expenseList.setMonthLoader((first, last) -> loadedFirstMonths.add(first));
+
+        StringBuilder plan = new StringBuilder();
+        new ExpenseQuery()
+                .and("/category", "food")
+                .and("/d", "13-03-2025")
+                .or("/drange", "01-02-2025 28-02-2025")
+                .explain(expenseList, plan);
+        assertEquals(List.of(YearMonth.of(2025, 3), YearMonth.of(2025, 2)), loadedFirstMonths);
+        assertTrue(plan.toString().contains("Months searched: those in the date conditions"));
+    }
+}
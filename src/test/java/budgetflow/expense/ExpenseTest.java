@@ -0,0 +1,30 @@
+package budgetflow.expense;
+
+import budgetflow.parser.DateParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpenseTest {
+
+    @Test
+    void fromCents_invalidDate_keepsDateAsGiven() {
+        Expense expense = Expense.fromCents("food", "Lunch", 1250, "31-02-2025");
+        assertEquals(DateParser.INVALID, expense.getEpochDay());
+        assertEquals("31-02-2025", expense.getDate());
+        assertEquals(12.50, expense.getAmount());
+    }
+
+    @Test
+    void fromCents_validDate_parsesDate() {
+        Expense expense = Expense.fromCents("food", "Lunch", 1250, "01-03-2025");
+        assertEquals(DateParser.parseDate("01-03-2025"), expense.getEpochDay());
+        assertEquals("01-03-2025", expense.getDate());
+    }
+
+    @Test
+    void constructor_invalidEpochDay_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new Expense("food", "Lunch", 1250, DateParser.INVALID));
+    }
+}
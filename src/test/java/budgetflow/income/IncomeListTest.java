@@ -0,0 +1,71 @@
+package budgetflow.income;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncomeListTest {
+
+    private static IncomeList getListWith4Incomes() {
+        IncomeList incomes = new IncomeList();
+        incomes.add(new Income("Salary", 3000.00, "01-03-2025"));
+        incomes.add(new Income("Bonus", 500.00, "02-03-2025"));
+        incomes.add(new Income("salary", 3100.00, "01-04-2025"));
+        incomes.add(new Income("Gift", 50.00, "03-04-2025"));
+        return incomes;
+    }
+
+    @Test
+    void getByCategory_ignoresCaseAndKeepsListOrder() {
+        List<Income> matches = IncomeList.getByCategory(getListWith4Incomes(), "SALARY");
+        assertEquals(2, matches.size());
+        assertEquals(3000.00, matches.get(0).getAmount());
+        assertEquals(3100.00, matches.get(1).getAmount());
+    }
+
+    @Test
+    void indexOfCategory_afterRemoveAndSet_staysConsistent() {
+        IncomeList incomes = getListWith4Incomes();
+        incomes.remove(0);
+        incomes.set(0, new Income("Salary", 600.00, "02-03-2025"));
+        assertEquals(0, IncomeList.indexOfCategory(incomes, "salary"));
+        assertEquals(-1, IncomeList.indexOfCategory(incomes, "bonus"));
+        incomes.add(0, new Income("Bonus", 10.00, "01-01-2025"));
+        assertEquals(0, IncomeList.indexOfCategory(incomes, "bonus"));
+        assertEquals(1, IncomeList.getByCategory(incomes, "gift").size());
+    }
+
+    @Test
+    void indexOfCategory_plainList_fallsBackToScan() {
+        List<Income> incomes = new ArrayList<>(getListWith4Incomes());
+        assertEquals(1, IncomeList.indexOfCategory(incomes, "bonus"));
+        assertEquals(-1, IncomeList.indexOfCategory(incomes, "rent"));
+    }
+
+    @Test
+    void getByAmountRange_indexedAndPlainList_agree() {
+        IncomeList incomes = getListWith4Incomes();
+        incomes.set(1, new Income("Bonus", 500.01, "02-03-2025"));
+        List<Income> matches = IncomeList.getByAmountRange(incomes, 5000, 50000);
+        assertEquals(1, matches.size());
+        assertEquals("Gift", matches.get(0).getCategory());
+        assertEquals(2, IncomeList.getByAmountRange(incomes, 50000, 300000).size());
+        assertEquals(2, IncomeList.getByAmountRange(new ArrayList<>(incomes), 50000, 300000).size());
+    }
+
+    @Test
+    void getTotalCents_followsAddSetAndRemove() {
+        IncomeList incomes = getListWith4Incomes();
+        assertEquals(665000, IncomeList.getTotalCents(incomes));
+        incomes.set(1, new Income("Bonus", 450.25, "02-03-2025"));
+        incomes.remove(3);
+        incomes.add(0, new Income("Refund", 0.10, "01-01-2025"));
+        assertEquals(655035, IncomeList.getTotalCents(incomes));
+        assertEquals(655035, IncomeList.getTotalCents(new ArrayList<>(incomes)));
+        incomes.clear();
+        assertEquals(0, IncomeList.getTotalCents(incomes));
+    }
+}
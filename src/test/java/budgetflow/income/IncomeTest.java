@@ -0,0 +1,30 @@
+package budgetflow.income;
+
+import budgetflow.parser.DateParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IncomeTest {
+
+    @Test
+    void fromCents_invalidDate_keepsDateAsGiven() {
+        Income income = Income.fromCents("salary", 300050, "31-02-2025");
+        assertEquals(DateParser.INVALID, income.getEpochDay());
+        assertEquals("31-02-2025", income.getDate());
+        assertEquals(3000.50, income.getAmount());
+    }
+
+    @Test
+    void fromCents_validDate_parsesDate() {
+        Income income = Income.fromCents("salary", 300050, "01-03-2025");
+        assertEquals(DateParser.parseDate("01-03-2025"), income.getEpochDay());
+        assertEquals("01-03-2025", income.getDate());
+    }
+
+    @Test
+    void constructor_invalidEpochDay_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new Income("salary", 100, DateParser.INVALID));
+    }
+}
@@ -0,0 +1,52 @@
+package budgetflow.money;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class MoneyTest {
+
+    @Test
+    void toCents_roundsHalfUpOnWrittenDigits() {
+        assertEquals(1250, Money.toCents(12.50));
+        assertEquals(30, Money.toCents(0.1 + 0.2));
+        assertEquals(101, Money.toCents(1.005));
+        assertEquals(100, Money.toCents(1.004));
+    }
+
+    @Test
+    void parseCents_acceptsPlainAndScientificNotation() {
+        assertEquals(1250, Money.parseCents("12.5"));
+        assertEquals(1000000000, Money.parseCents("1.0E7"));
+        assertEquals(101, Money.parseCents("1.005"));
+        try {
+            Money.parseCents("abc");
+            fail();
+        } catch (NumberFormatException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void format_alwaysShowsTwoDecimals() {
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-3.07", Money.format(-307));
+    }
+
+    @Test
+    void totalExpenses_addAndDeleteManyTimes_staysExact() {
+        ExpenseList expenseList = new ExpenseList();
+        for (int i = 0; i < 1000; i++) {
+            expenseList.add(new Expense("food", "Snack", 0.10, "01-03-2025"));
+        }
+        for (int i = 0; i < 999; i++) {
+            expenseList.delete(0);
+        }
+        assertEquals(10, expenseList.getTotalCents());
+        assertEquals(0.10, expenseList.getTotalExpenses());
+    }
+}
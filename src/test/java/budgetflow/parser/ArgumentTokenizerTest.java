@@ -0,0 +1,51 @@
+package budgetflow.parser;
+
+import budgetflow.parser.ArgumentTokenizer.Field;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ArgumentTokenizerTest {
+
+    @Test
+    void tokenize_allFields_splitsAtTags() {
+        String input = "log-expense category/Eating out desc/Dinner with friends amt/45.75 d/15-03-2025";
+        CommandArguments arguments = ArgumentTokenizer.tokenize(input, "log-expense ".length());
+        assertEquals("Eating out", arguments.get(Field.CATEGORY));
+        assertEquals("Dinner with friends", arguments.get(Field.DESCRIPTION));
+        assertEquals("45.75", arguments.get(Field.AMOUNT));
+        assertEquals("15-03-2025", arguments.get(Field.DATE));
+    }
+
+    @Test
+    void tokenize_tagInsideWord_staysInValue() {
+        CommandArguments arguments = ArgumentTokenizer.tokenize("desc/bread/d/milk amt/3", 0);
+        assertEquals("bread/d/milk", arguments.get(Field.DESCRIPTION));
+        assertFalse(arguments.has(Field.DATE));
+    }
+
+    @Test
+    void tokenize_singleWordField_ignoresTrailingWords() {
+        CommandArguments arguments = ArgumentTokenizer.tokenize("amt/5 d/15-03-2025 extra/parameter", 0);
+        assertEquals("5", arguments.get(Field.AMOUNT));
+        assertEquals("15-03-2025", arguments.get(Field.DATE));
+    }
+
+    @Test
+    void tokenize_missingAndEmptyFields_areTold() {
+        CommandArguments arguments = ArgumentTokenizer.tokenize("category/ amt/5", 0);
+        assertEquals("", arguments.get(Field.CATEGORY));
+        assertNull(arguments.get(Field.DATE));
+        assertEquals(0, arguments.columnOf(Field.DATE));
+    }
+
+    @Test
+    void tokenize_repeatedTag_keepsFirstAndReportsItsColumn() {
+        CommandArguments arguments = ArgumentTokenizer.tokenize("add category/Salary amt/5 amt/7 d/x", 4);
+        assertEquals("5", arguments.get(Field.AMOUNT));
+        assertEquals(21, arguments.columnOf(Field.AMOUNT));
+        assertEquals("x", arguments.get(Field.DATE));
+    }
+}
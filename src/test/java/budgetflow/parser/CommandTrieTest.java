@@ -0,0 +1,54 @@
+package budgetflow.parser;
+
+import budgetflow.command.Command;
+import budgetflow.command.ExitCommand;
+import budgetflow.command.FindExpenseCommand;
+import budgetflow.command.HelpCommand;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CommandTrieTest {
+
+    private static CommandTrie getTrie() {
+        CommandTrie trie = new CommandTrie();
+        trie.register("help", input -> new HelpCommand());
+        trie.register("help find", FindExpenseCommand::new);
+        trie.registerExact("exit", input -> new ExitCommand());
+        trie.register("add category/", FindExpenseCommand::new);
+        return trie;
+    }
+
+    private static Command create(CommandTrie trie, String input) {
+        return trie.find(input).create(input);
+    }
+
+    @Test
+    void find_longestWholeWordKeywordWins() {
+        CommandTrie trie = getTrie();
+        assertInstanceOf(HelpCommand.class, create(trie, "help"));
+        assertInstanceOf(HelpCommand.class, create(trie, "help me"));
+        assertInstanceOf(FindExpenseCommand.class, create(trie, "help find /desc x"));
+        assertInstanceOf(HelpCommand.class, create(trie, "help finder"));
+        assertNull(trie.find("helpme"));
+    }
+
+    @Test
+    void find_exactAndDelimitedKeywords() {
+        CommandTrie trie = getTrie();
+        assertInstanceOf(ExitCommand.class, create(trie, "exit"));
+        assertNull(trie.find("exit now"));
+        assertInstanceOf(FindExpenseCommand.class, create(trie, "add category/food amt/5 d/01-01-2025"));
+        assertNull(trie.find("add"));
+        assertNull(trie.find(""));
+    }
+
+    @Test
+    void register_duplicateKeyword_throwsException() {
+        CommandTrie trie = getTrie();
+        assertThrows(IllegalArgumentException.class, () -> trie.register("help", input -> new HelpCommand()));
+        assertThrows(IllegalArgumentException.class, () -> trie.register("", input -> new HelpCommand()));
+    }
+}
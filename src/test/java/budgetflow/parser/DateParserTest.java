@@ -0,0 +1,42 @@
+package budgetflow.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DateParserTest {
+
+    @Test
+    void parseDate_agreesWithLocalDate() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            String text = date.format(formatter);
+            assertEquals(date.toEpochDay(), DateParser.parseDate(text));
+            assertEquals(text, DateParser.formatDate((int) date.toEpochDay()));
+        }
+        assertEquals(LocalDate.of(1, 1, 1).toEpochDay(), DateParser.parseDate("01-01-0001"));
+        assertEquals(LocalDate.of(9999, 12, 31).toEpochDay(), DateParser.parseDate("31-12-9999"));
+    }
+
+    @Test
+    void parseDate_invalidInput_returnsInvalid() {
+        String[] invalidDates = {null, "", "1-03-2025", "01/03/2025", "00-03-2025", "32-01-2025", "31-04-2025",
+            "29-02-2025", "01-13-2025", "01-00-2025", "01-01-0000", "0a-01-2025", "01-01-20255", " 01-01-2025"};
+        for (String date : invalidDates) {
+            assertEquals(DateParser.INVALID, DateParser.parseDate(date));
+        }
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), DateParser.parseDate("29-02-2024"));
+    }
+
+    @Test
+    void parseMonthYear_returnsFirstDayOfMonth() {
+        assertEquals(LocalDate.of(2025, 2, 1).toEpochDay(), DateParser.parseMonthYear("02-2025"));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(),
+                DateParser.lastDayOfMonth(DateParser.parseMonthYear("02-2024")));
+        assertEquals(DateParser.INVALID, DateParser.parseMonthYear("13-2025"));
+        assertEquals(DateParser.INVALID, DateParser.parseMonthYear("2-2025"));
+    }
+}
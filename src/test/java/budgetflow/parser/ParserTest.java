@@ -1,12 +1,15 @@
 package budgetflow.parser;
 
 import budgetflow.command.Command;
+import budgetflow.command.FilterIncomeByCategoryCommand;
+import budgetflow.command.HelpCommand;
 import budgetflow.command.ListIncomeCommand;
 import budgetflow.exception.UnknownCommandException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class ParserTest {
@@ -29,4 +32,20 @@ class ParserTest {
             assertEquals(expectedError, e.getMessage());
         }
     }
+
+    @Test
+    void getCommandFromInput_keywordMustEndAtWordBoundary() throws UnknownCommandException {
+        assertInstanceOf(HelpCommand.class, Parser.getCommandFromInput("help"));
+        assertInstanceOf(FilterIncomeByCategoryCommand.class,
+                Parser.getCommandFromInput("filter-income category/Salary"));
+        assertThrows(UnknownCommandException.class, () -> Parser.getCommandFromInput("helpme"));
+        assertThrows(UnknownCommandException.class, () -> Parser.getCommandFromInput("exit now"));
+    }
+
+    @Test
+    void registerCommand_newKeyword_isDispatched() throws UnknownCommandException {
+        Parser.registerCommand("list income parser-test", input -> new HelpCommand());
+        assertInstanceOf(HelpCommand.class, Parser.getCommandFromInput("list income parser-test"));
+        assertInstanceOf(ListIncomeCommand.class, Parser.getCommandFromInput("list income head/2"));
+    }
 }
@@ -0,0 +1,110 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class BinaryLedgerFormatTest {
+
+    private static ExpenseList getListWith3Expenses() {
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.add(new Expense("food", "Lunch", 12.50, "13-03-2025"));
+        expenseList.add(new Expense("transport", "Transport", 3.20, "12-03-2025"));
+        expenseList.add(new Expense("food", "Lunch", 0.10, "29-02-2024"));
+        return expenseList;
+    }
+
+    @Test
+    void writeThenRead_sameEntriesAndSequence() throws IOException {
+        File file = Files.createTempFile("budgetflow", ".bin").toFile();
+        file.deleteOnExit();
+        List<Income> incomes = new ArrayList<>();
+        incomes.add(new Income("salary", 3000.00, "01-03-2025"));
+        ExpenseList expenseList = getListWith3Expenses();
+
+        BinaryLedgerFormat format = new BinaryLedgerFormat();
+        format.write(file, incomes, expenseList, 17);
+        List<Income> loadedIncomes = new ArrayList<>();
+        ExpenseList loadedExpenses = new ExpenseList();
+        long sequence = format.read(file, loadedIncomes, loadedExpenses);
+
+        assertEquals(17, sequence);
+        assertEquals(1, loadedIncomes.size());
+        assertEquals("salary", loadedIncomes.get(0).getCategory());
+        assertEquals(3000.00, loadedIncomes.get(0).getAmount());
+        assertEquals("01-03-2025", loadedIncomes.get(0).getDate());
+        assertEquals(expenseList.toString(), loadedExpenses.toString());
+    }
+
+    @Test
+    void writeThenRead_invalidDates_keepsDatesAsGiven() throws IOException {
+        File file = Files.createTempFile("budgetflow", ".bin").toFile();
+        file.deleteOnExit();
+        List<Income> incomes = new ArrayList<>();
+        incomes.add(new Income("salary", 3000.00, "31-02-2025"));
+        incomes.add(new Income("bonus", 500.00, "01-03-2025"));
+        ExpenseList expenseList = getListWith3Expenses();
+        expenseList.add(new Expense("food", "Dinner", 8.00, "2025-03-14"));
+
+        BinaryLedgerFormat format = new BinaryLedgerFormat();
+        format.write(file, incomes, expenseList, 0);
+        List<Income> loadedIncomes = new ArrayList<>();
+        ExpenseList loadedExpenses = new ExpenseList();
+        format.read(file, loadedIncomes, loadedExpenses);
+
+        assertEquals("31-02-2025", loadedIncomes.get(0).getDate());
+        assertEquals("01-03-2025", loadedIncomes.get(1).getDate());
+        assertEquals("2025-03-14", loadedExpenses.get(3).getDate());
+        assertEquals(expenseList.toString(), loadedExpenses.toString());
+    }
+
+    @Test
+    void writeThenRead_missingCategoryAndDescription_keepsThemMissing() throws IOException {
+        File file = Files.createTempFile("budgetflow", ".bin").toFile();
+        file.deleteOnExit();
+        List<Income> incomes = new ArrayList<>();
+        incomes.add(new Income(null, 3000.00, "01-03-2025"));
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.add(new Expense(null, null, 12.50, "13-03-2025"));
+        expenseList.add(new Expense("food", "Lunch", 8.00, "14-03-2025"));
+
+        BinaryLedgerFormat format = new BinaryLedgerFormat();
+        format.write(file, incomes, expenseList, 0);
+        List<Income> loadedIncomes = new ArrayList<>();
+        ExpenseList loadedExpenses = new ExpenseList();
+        format.read(file, loadedIncomes, loadedExpenses);
+
+        assertEquals(null, loadedIncomes.get(0).getCategory());
+        assertEquals(null, loadedExpenses.get(0).getCategory());
+        assertEquals(null, loadedExpenses.get(0).getDescription());
+        assertEquals(expenseList.toString(), loadedExpenses.toString());
+    }
+
+    @Test
+    void read_corruptedFile_throwsException() throws IOException {
+        File file = Files.createTempFile("budgetflow", ".bin").toFile();
+        file.deleteOnExit();
+        new BinaryLedgerFormat().write(file, new ArrayList<>(), getListWith3Expenses(), 0);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(20);
+            raf.write(0x7F);
+        }
+        try {
+            new BinaryLedgerFormat().read(file, new ArrayList<>(), new ExpenseList());
+            fail();
+        } catch (IOException e) {
+            assertEquals("Checksum mismatch in " + file.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package budgetflow.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChecksummedLinesTest {
+
+    private static List<String> getTwoBlocks() {
+        List<String> firstBlock = List.of("SEQ|0", "INCOME|salary|3000.0|01-03-2025");
+        List<String> secondBlock = List.of("EXPENSE|food|Lunch|12.5|13-03-2025");
+        List<String> lines = new ArrayList<>(firstBlock);
+        lines.add(ChecksummedLines.checksumLine(firstBlock));
+        lines.addAll(secondBlock);
+        lines.add(ChecksummedLines.checksumLine(secondBlock));
+        return lines;
+    }
+
+    @Test
+    void verify_validBlocks_keepsAllDataLines() {
+        List<String> verified = ChecksummedLines.verify(getTwoBlocks(), "test");
+        assertEquals(List.of("SEQ|0", "INCOME|salary|3000.0|01-03-2025", "EXPENSE|food|Lunch|12.5|13-03-2025"),
+                verified);
+    }
+
+    @Test
+    void verify_corruptedBlock_dropsOnlyThatBlock() {
+        List<String> lines = getTwoBlocks();
+        lines.set(1, "INCOME|salary|9000.0|01-03-2025");
+        List<String> verified = ChecksummedLines.verify(lines, "test");
+        assertEquals(List.of("EXPENSE|food|Lunch|12.5|13-03-2025"), verified);
+    }
+
+    @Test
+    void verify_tornLastBlock_dropsUnverifiedLines() {
+        List<String> lines = getTwoBlocks();
+        lines.add("EXPENSE|food|Din");
+        List<String> verified = ChecksummedLines.verify(lines, "test");
+        assertEquals(3, verified.size());
+    }
+
+    @Test
+    void verify_fileWithoutChecksums_keepsAllLines() {
+        List<String> lines = List.of("INCOME|salary|3000.0|01-03-2025", "EXPENSE|food|Lunch|12.5|13-03-2025");
+        assertEquals(lines, ChecksummedLines.verify(lines, "test"));
+    }
+}
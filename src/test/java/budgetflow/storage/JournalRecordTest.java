@@ -0,0 +1,73 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class JournalRecordTest {
+
+    @Test
+    void encode_decodeRoundTrip_sameLine() {
+        Expense expense = new Expense("food", "Lunch", 12.50, "13-03-2025");
+        String line = JournalRecord.updateExpense(3, expense).encode(42);
+        assertEquals("42|2|UPDATE_EXPENSE|3|food|Lunch|1250|13-03-2025", line);
+        assertEquals(42, JournalRecord.decodeSequence(line));
+        assertEquals(line, JournalRecord.decode(line).encode(42));
+    }
+
+    @Test
+    void applyTo_replayedRecords_rebuildsLists() {
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        List<String> lines = new ArrayList<>();
+        lines.add(JournalRecord.addIncome(new Income("salary", 3000.00, "01-03-2025")).encode(1));
+        lines.add(JournalRecord.addExpense(new Expense("food", "Lunch", 12.50, "13-03-2025")).encode(2));
+        lines.add(JournalRecord.addExpense(new Expense("transport", "Bus", 3.20, "12-03-2025")).encode(3));
+        lines.add(JournalRecord.updateExpense(0, new Expense("food", "Dinner", 20.00, "13-03-2025")).encode(4));
+        lines.add(JournalRecord.deleteExpense(1).encode(5));
+
+        for (String line : lines) {
+            JournalRecord.decode(line).applyTo(incomes, expenseList);
+        }
+
+        assertEquals(1, incomes.size());
+        assertEquals(1, expenseList.getSize());
+        assertEquals("Dinner", expenseList.get(0).getDescription());
+        assertEquals(20.00, expenseList.getTotalExpenses(), 0.001);
+    }
+
+    @Test
+    void decode_firstVersionLine_readsDecimalAmount() {
+        JournalRecord record = JournalRecord.decode("42|UPDATE_EXPENSE|3|food|Lunch|12.5|13-03-2025");
+        assertEquals(1250, record.getCents());
+        assertEquals("42|2|UPDATE_EXPENSE|3|food|Lunch|1250|13-03-2025", record.encode(42));
+        assertEquals(10000, JournalRecord.decode("7|SET_SAVING_GOAL|100.0").getCents());
+    }
+
+    @Test
+    void encode_largeAmount_keepsExactCents() {
+        Income income = Income.fromCents("salary", 1_000_000_000_001L, "01-03-2025");
+        String line = JournalRecord.addIncome(income).encode(1);
+        assertEquals("1|2|ADD_INCOME|salary|1000000000001|01-03-2025", line);
+        List<Income> incomes = new ArrayList<>();
+        JournalRecord.decode(line).applyTo(incomes, new ExpenseList());
+        assertEquals(1_000_000_000_001L, incomes.get(0).getCents());
+    }
+
+    @Test
+    void decode_truncatedLine_throwsException() {
+        try {
+            JournalRecord.decode("7|ADD_EXPENSE|food|Lun");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Malformed journal line: 7|ADD_EXPENSE|food|Lun", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelTextLoaderTest {
+
+    @Test
+    void load_largeFile_keepsFileOrderAcrossChunks() throws IOException {
+        File file = Files.createTempFile("budgetflow", ".txt").toFile();
+        file.deleteOnExit();
+        List<Income> incomes = new ArrayList<>();
+        incomes.add(new Income("salary", 3000.00, "01-03-2025"));
+        ExpenseList expenseList = new ExpenseList();
+        for (int i = 0; i < 20000; i++) {
+            expenseList.add(new Expense("food", "Meal " + i, i / 100.0, "13-03-2025"));
+        }
+        new TextLedgerFormat().write(file, incomes, expenseList, 42);
+
+        List<Income> loadedIncomes = new ArrayList<>();
+        ExpenseList loadedExpenses = new ExpenseList();
+        long sequence = new ParallelTextLoader(new ForkJoinPool(4)).load(file, loadedIncomes, loadedExpenses);
+
+        assertEquals(42, sequence);
+        assertEquals(1, loadedIncomes.size());
+        assertEquals(20000, loadedExpenses.getSize());
+        assertEquals("Meal 0", loadedExpenses.get(0).getDescription());
+        assertEquals("Meal 19999", loadedExpenses.get(19999).getDescription());
+        assertEquals(expenseList.getTotalExpenses(), loadedExpenses.getTotalExpenses(), 0.001);
+    }
+
+    @Test
+    void load_malformedLines_skipsOnlyThoseLines() throws IOException {
+        File file = Files.createTempFile("budgetflow", ".txt").toFile();
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "INCOME|salary|abc|01-03-2025\n"
+                + "EXPENSE|food|Lunch|12.5|13-03-2025\n"
+                + "GARBAGE\n"
+                + "EXPENSE|transport|Bus|3.2|14-03-2025\n", StandardCharsets.UTF_8);
+
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        List<String> summary = new ArrayList<>();
+        new ParallelTextLoader().load(file, incomes, expenseList, summary::add);
+
+        assertEquals(1, summary.size());
+        assertTrue(summary.get(0).startsWith("Skipped 2 unreadable entries in " + file.getName()));
+        assertEquals(0, incomes.size());
+        assertEquals(2, expenseList.getSize());
+        assertEquals("Bus", expenseList.get(1).getDescription());
+    }
+
+    @Test
+    void load_invalidDatesAndLongAmounts_keepsEntriesExactly() throws IOException {
+        File file = Files.createTempFile("budgetflow", ".txt").toFile();
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "INCOME|salary|3000.005|31-02-2025\n"
+                + "EXPENSE|food|Lunch|0.105|2025-03-13\n"
+                + "EXPENSE|transport|Bus|12345678901234.56|14-03-2025\n", StandardCharsets.UTF_8);
+
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        List<String> summary = new ArrayList<>();
+        new ParallelTextLoader().load(file, incomes, expenseList, summary::add);
+
+        // Entries kept with an invalid date are not counted as skipped lines
+        assertEquals(1, summary.size());
+        assertTrue(summary.get(0).startsWith("Loaded 2 entries with an invalid date in " + file.getName()));
+        assertTrue(summary.get(0).endsWith("line 2: 2025-03-13"));
+        assertEquals(300001, incomes.get(0).getCents());
+        assertEquals("31-02-2025", incomes.get(0).getDate());
+        assertEquals(11, expenseList.get(0).getCents());
+        assertEquals("2025-03-13", expenseList.get(0).getDate());
+        assertEquals(1234567890123456L, expenseList.get(1).getCents());
+    }
+}
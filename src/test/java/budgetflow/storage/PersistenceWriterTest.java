@@ -0,0 +1,134 @@
+package budgetflow.storage;
+
+import budgetflow.exception.PersistenceException;
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class PersistenceWriterTest {
+    private static final long LONG_LATENCY_MS = 500;
+
+    /**
+     * A journaled storage that records every batch it is asked to persist and the thread that asked,
+     * and fails the first batch with the given error
+     */
+    private static class RecordingStorage extends Storage {
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+        private Throwable firstFailure;
+
+        RecordingStorage(Throwable firstFailure) throws IOException {
+            super(Files.createTempDirectory("writer").toFile(), true, Long.MAX_VALUE, false, false, 3);
+            this.firstFailure = firstFailure;
+        }
+
+        @Override
+        public synchronized void persist(List<JournalRecord> records, List<Income> incomes,
+                                         ExpenseList expenseList) {
+            if (firstFailure != null) {
+                Throwable failure = firstFailure;
+                firstFailure = null;
+                if (failure instanceof Error) {
+                    throw (Error) failure;
+                }
+                throw (RuntimeException) failure;
+            }
+            batchSizes.add(records.size());
+            threads.add(Thread.currentThread());
+        }
+    }
+
+    private static List<JournalRecord> addLunch() {
+        return List.of(JournalRecord.addExpense(new Expense("food", "Lunch", 12.50, "13-03-2025")));
+    }
+
+    private static PersistenceWriter newWriter(Storage storage) {
+        return new PersistenceWriter(storage, new SavingGoalManager(), new ArrayList<>(), new ExpenseList(),
+                false, LONG_LATENCY_MS, 256);
+    }
+
+    @Test
+    void submit_burstOfCommands_persistedInOneBatch() throws IOException, PersistenceException {
+        RecordingStorage storage = new RecordingStorage(null);
+        PersistenceWriter writer = newWriter(storage);
+        writer.submit(addLunch());
+        writer.submit(addLunch());
+        writer.submit(addLunch());
+        writer.close();
+
+        assertEquals(List.of(3), storage.batchSizes);
+    }
+
+    @Test
+    void submit_afterWriterThreadStopped_persistsOnCallingThread() throws IOException, PersistenceException,
+            InterruptedException {
+        RecordingStorage storage = new RecordingStorage(new Error("disk controller gone"));
+        PersistenceWriter writer = newWriter(storage);
+        writer.submit(addLunch());
+        boolean isReported = false;
+        for (int attempt = 0; attempt < 100 && !isReported; attempt++) {
+            try {
+                writer.submit(List.of());
+                Thread.sleep(LONG_LATENCY_MS / 10);
+            } catch (PersistenceException e) {
+                assertTrue(e.getMessage().contains("disk controller gone"));
+                isReported = true;
+            }
+        }
+        assertTrue(isReported);
+
+        writer.submit(addLunch());
+        writer.close();
+        assertEquals(List.of(1), storage.batchSizes);
+        assertSame(Thread.currentThread(), storage.threads.get(0));
+    }
+
+    @Test
+    void close_afterUnreportedFailure_throwsException() throws IOException {
+        RecordingStorage storage = new RecordingStorage(new IllegalStateException("journal is read-only"));
+        PersistenceWriter writer = newWriter(storage);
+        try {
+            writer.submit(addLunch());
+            writer.close();
+            fail();
+        } catch (PersistenceException e) {
+            assertEquals("Error saving data: java.lang.IllegalStateException: journal is read-only",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    void loadMonths_olderMonth_insertedBeforeResidentMonths() throws IOException {
+        File directory = Files.createTempDirectory("writer").toFile();
+        ExpenseList stored = new ExpenseList();
+        stored.add(new Expense("food", "JanuaryLunch", 9.00, "10-01-2025"));
+        stored.add(new Expense("food", "MarchLunch", 8.00, "10-03-2025"));
+        new Storage(directory, false, Long.MAX_VALUE, false, true, 1).saveData(new ArrayList<>(), stored);
+
+        Storage storage = new Storage(directory, false, Long.MAX_VALUE, false, true, 1);
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        storage.loadData(incomes, expenseList);
+        PersistenceWriter writer = new PersistenceWriter(storage, new SavingGoalManager(), incomes, expenseList,
+                true, 0, 1);
+        writer.loadMonths(YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+
+        assertEquals(2, expenseList.getSize());
+        assertEquals("JanuaryLunch", expenseList.get(0).getDescription());
+        assertEquals("MarchLunch", expenseList.get(1).getDescription());
+        assertEquals(1700, expenseList.getTotalCents());
+    }
+}
@@ -0,0 +1,92 @@
+package budgetflow.storage;
+
+import budgetflow.expense.Expense;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentStoreTest {
+
+    private static File getDirectoryWith3Months() throws IOException {
+        File directory = Files.createTempDirectory("segments").toFile();
+        directory.deleteOnExit();
+        List<Income> incomes = new ArrayList<>();
+        incomes.add(new Income("salary", 3000.00, "01-01-2025"));
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.add(new Expense("food", "Lunch", 12.50, "13-01-2025"));
+        expenseList.add(new Expense("transport", "Bus", 3.20, "12-02-2025"));
+        expenseList.add(new Expense("food", "Dinner", 20.00, "05-03-2025"));
+        new SegmentStore(directory, new TextLedgerFormat(), ".txt").save(incomes, expenseList);
+        for (File file : directory.listFiles()) {
+            file.deleteOnExit();
+        }
+        return directory;
+    }
+
+    @Test
+    void loadRecent_oneMonth_loadsOnlyNewestSegment() throws IOException {
+        SegmentStore store = new SegmentStore(getDirectoryWith3Months(), new TextLedgerFormat(), ".txt");
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+
+        assertEquals(1, store.loadRecent(1, incomes, expenseList));
+        assertEquals(0, incomes.size());
+        assertEquals(1, expenseList.getSize());
+        assertEquals("Dinner", expenseList.get(0).getDescription());
+
+        assertTrue(store.loadMonths(YearMonth.of(2025, 1), YearMonth.of(2025, 2), incomes, expenseList));
+        assertEquals(1, incomes.size());
+        assertEquals(3, expenseList.getSize());
+    }
+
+    @Test
+    void save_afterChange_rewritesOnlyChangedSegment() throws IOException {
+        File directory = getDirectoryWith3Months();
+        File coldSegment = new File(directory, "2025-01.txt");
+        File changedSegment = new File(directory, "2025-03.txt");
+        coldSegment.setLastModified(0);
+        changedSegment.setLastModified(0);
+
+        SegmentStore store = new SegmentStore(directory, new TextLedgerFormat(), ".txt");
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        store.loadRecent(1, incomes, expenseList);
+        expenseList.add(new Expense("food", "Supper", 8.00, "06-03-2025"));
+        store.save(incomes, expenseList);
+
+        assertEquals(0, coldSegment.lastModified());
+        assertTrue(changedSegment.lastModified() > 0);
+        ExpenseList reloaded = new ExpenseList();
+        new SegmentStore(directory, new TextLedgerFormat(), ".txt").loadRecent(3, new ArrayList<>(), reloaded);
+        assertEquals(4, reloaded.getSize());
+    }
+
+    @Test
+    void save_entryInColdMonth_keepsStoredEntriesAndLoadsOnce() throws IOException {
+        File directory = getDirectoryWith3Months();
+        SegmentStore store = new SegmentStore(directory, new TextLedgerFormat(), ".txt");
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        store.loadRecent(1, incomes, expenseList);
+        expenseList.add(new Expense("food", "Snack", 2.00, "20-01-2025"));
+        store.save(incomes, expenseList);
+
+        ExpenseList reloaded = new ExpenseList();
+        new SegmentStore(directory, new TextLedgerFormat(), ".txt").loadRecent(3, new ArrayList<>(), reloaded);
+        assertEquals(4, reloaded.getSize());
+
+        store.loadMonths(YearMonth.of(2025, 1), YearMonth.of(2025, 1), incomes, expenseList);
+        assertEquals(1, incomes.size());
+        assertEquals(3, expenseList.getSize());
+    }
+}
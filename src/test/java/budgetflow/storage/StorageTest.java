@@ -0,0 +1,47 @@
+package budgetflow.storage;
+
+import budgetflow.command.ListIncomeCommand;
+import budgetflow.expense.ExpenseList;
+import budgetflow.income.Income;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class StorageTest {
+
+    @AfterEach
+    void resetSavingGoal() {
+        ListIncomeCommand.setSavingGoal(0);
+    }
+
+    @Test
+    void compaction_goalChangedAfterRotation_keepsNewGoal() throws IOException {
+        File directory = Files.createTempDirectory("storage").toFile();
+        Storage storage = new Storage(directory, true, 1, false, false, 3);
+        List<Income> incomes = new ArrayList<>();
+        ExpenseList expenseList = new ExpenseList();
+        Income salary = new Income("salary", 3000.00, "01-03-2025");
+        incomes.add(salary);
+        ListIncomeCommand.setSavingGoal(100);
+
+        // The journal is past the threshold after this append, so it is rotated and compacted in the background
+        storage.persist(List.of(JournalRecord.addIncome(salary), JournalRecord.setSavingGoal(10000)),
+                incomes, expenseList);
+        ListIncomeCommand.setSavingGoal(250);
+        storage.close();
+
+        assertEquals(250, ListIncomeCommand.getSavingGoal());
+        assertFalse(new File(directory, "budgetflow.journal.compacting").exists());
+        List<Income> reloaded = new ArrayList<>();
+        new Storage(directory, true, 1, false, false, 3).loadData(reloaded, new ExpenseList());
+        assertEquals(1, reloaded.size());
+    }
+}
@@ -0,0 +1,53 @@
+package budgetflow.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UiTest {
+
+    @Test
+    void printCommandMessage_holdsOutputUntilFlushed() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Ui ui = new Ui(out);
+        ui.printCommandMessage("Income added");
+        ui.printError("Error: Income amount is required.");
+        assertEquals(0, out.size());
+
+        ui.flush();
+        assertEquals("Income added" + System.lineSeparator() + "Error: Income amount is required."
+                + System.lineSeparator(), out.toString());
+    }
+
+    @Test
+    void flush_outputFails_reportsOnErrorStream() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("console closed");
+            }
+        };
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        PrintStream originalOut = System.out;
+        System.setErr(new PrintStream(err, true));
+        System.setOut(new PrintStream(out, true));
+        try {
+            Ui ui = new Ui(failing);
+            ui.printCommandMessage("Income added");
+            ui.flush();
+        } finally {
+            System.setErr(originalErr);
+            System.setOut(originalOut);
+        }
+        assertTrue(err.toString().startsWith("Error printing output: console closed"));
+        assertEquals(0, out.size());
+    }
+}